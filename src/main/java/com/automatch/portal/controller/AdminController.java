@@ -0,0 +1,40 @@
+package com.automatch.portal.controller;
+
+import com.automatch.portal.model.UserModel;
+import com.automatch.portal.records.BulkActionRequestRecord;
+import com.automatch.portal.records.BulkActionResultRecord;
+import com.automatch.portal.service.AdminBulkActionService;
+import com.automatch.portal.service.FleetUtilizationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/protected/admin")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class AdminController {
+    private final AdminBulkActionService adminBulkActionService;
+    private final FleetUtilizationService fleetUtilizationService;
+
+    @PostMapping("/bulk-actions")
+    public ResponseEntity<BulkActionResultRecord> executeBulkAction(
+            @RequestBody BulkActionRequestRecord request,
+            @AuthenticationPrincipal UserModel admin) {
+        BulkActionResultRecord result = adminBulkActionService.execute(request, admin.getId());
+        return ResponseEntity.ok(result);
+    }
+
+    // Backfill/reconciliação manual do agregado de utilização da frota
+    @PostMapping("/fleet-utilization/rebuild")
+    public ResponseEntity<Integer> rebuildFleetUtilization(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        int rows = fleetUtilizationService.rebuild(from, to);
+        return ResponseEntity.ok(rows);
+    }
+}
@@ -1,20 +1,16 @@
 package com.automatch.portal.controller;
 
-import com.automatch.portal.enums.UserRole;
-import com.automatch.portal.mapper.UserMapper;
-import com.automatch.portal.model.UserModel;
+import com.automatch.portal.infra.security.VerifiedToken;
 import com.automatch.portal.records.*;
-import com.automatch.portal.service.InstructorService;
+import com.automatch.portal.service.AuthTokenService;
 import com.automatch.portal.service.JwtService;
+import com.automatch.portal.service.RegistrationService;
 import com.automatch.portal.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
-
 @RestController
 @RequestMapping("/auth")
 @CrossOrigin(origins = "*")
@@ -22,68 +18,36 @@ import java.time.LocalDateTime;
 public class AuthController {
 
     private final UserService userService;
-    private final InstructorService instructorService;
+    private final RegistrationService registrationService;
     private final JwtService jwtService;
+    private final AuthTokenService authTokenService;
 
     @PostMapping("/register")
     public ResponseEntity<TokenResponse> register(@RequestBody UserRecord userRecord) {
-        try {
-            UserRecord savedUser = userService.save(userRecord);
-
-            if (savedUser.role() == UserRole.INSTRUCTOR) {
-                createInstructorProfile(savedUser);
-            }
-
-            UserModel userModel = UserMapper.fromRecord(savedUser);
-            String token = jwtService.generateToken(userModel);
-
-            return ResponseEntity.status(HttpStatus.CREATED).body(
-                    new TokenResponse(
-                            token,
-                            "Bearer",
-                            24 * 60 * 60L,
-                            savedUser
-                    )
-            );
-        } catch (Exception e) {
-            System.err.println("Erro no registro: " + e.getMessage());
-            throw e;
-        }
+        UserRecord savedUser = registrationService.register(userRecord);
+        return ResponseEntity.status(HttpStatus.CREATED).body(authTokenService.issue(savedUser));
     }
 
     @PostMapping("/login")
     public ResponseEntity<TokenResponse> login(@RequestBody LoginRequestRecord loginRequest) {
         UserRecord user = userService.login(loginRequest);
-        UserModel userModel = UserMapper.fromRecord(user);
-        String token = jwtService.generateToken(userModel);
-        return ResponseEntity.ok(
-                new TokenResponse(
-                        token,
-                        "Bearer",
-                        24 * 60 * 60L,
-                        user
-                )
-        );
+        return ResponseEntity.ok(authTokenService.issue(user));
     }
 
-    private void createInstructorProfile(UserRecord user) {
-        try {
-            InstructorRecord instructorRecord = new InstructorRecord(
-                    user,
-                    new BigDecimal("50.00"),
-                    "Instrutor de direção",
-                    0,
-                    false,
-                    new BigDecimal("0.00"),
-                    0,
-                    LocalDateTime.now(),
-                    LocalDateTime.now(),
-                    null
-            );
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenResponse> refresh(@RequestBody RefreshTokenRequestRecord request) {
+        return ResponseEntity.ok(authTokenService.refresh(request.refreshToken()));
+    }
 
-            instructorService.save(instructorRecord);
-        } catch (Exception e) {
-            System.err.println("Erro ao criar perfil de instrutor: " + e.getMessage());
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshTokenRequestRecord request,
+                                       @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        VerifiedToken accessToken = null;
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            accessToken = jwtService.verify(authHeader.substring(7)).orElse(null);
         }
+
+        authTokenService.logout(request.refreshToken(), accessToken);
+        return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.automatch.portal.controller;
+
+import com.automatch.portal.infra.storage.BlobContent;
+import com.automatch.portal.infra.storage.BlobDownloadWriter;
+import com.automatch.portal.model.BlobModel;
+import com.automatch.portal.model.UserModel;
+import com.automatch.portal.records.BlobRecord;
+import com.automatch.portal.service.BlobService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/protected/blob")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class BlobController {
+    private final BlobService blobService;
+    private final BlobDownloadWriter blobDownloadWriter;
+
+    // Corpo da requisição é o próprio arquivo (Content-Type do arquivo)
+    @PostMapping
+    public ResponseEntity<BlobRecord> upload(
+            @RequestParam(defaultValue = "false") boolean isPublic,
+            @AuthenticationPrincipal UserModel user,
+            HttpServletRequest request) throws IOException {
+        BlobRecord blob = blobService.upload(request.getInputStream(), request.getContentType(), isPublic, user);
+        return ResponseEntity.ok(blob);
+    }
+
+    @GetMapping("/{sha256}")
+    public void download(@PathVariable String sha256,
+                         @RequestParam(required = false) Integer width,
+                         @AuthenticationPrincipal UserModel user,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        BlobModel blob = blobService.findBlob(sha256)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found"));
+
+        // Sem permissão responde como inexistente, para não revelar quais hashes estão armazenados
+        if (!blobService.canRead(blob, user)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found");
+        }
+
+        // Com ?width= serve a versão redimensionada; enquanto não existir, serve o original sem cache longo
+        boolean immutable = true;
+        if (width != null) {
+            Optional<BlobModel> derivative = blobService.findDerivative(sha256, width);
+            immutable = derivative.isPresent();
+            blob = derivative.orElse(blob);
+        }
+
+        // Resposta depende de quem pede: nunca em cache compartilhado
+        try (BlobContent content = blobService.openContent(blob.getSha256())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found"))) {
+            blobDownloadWriter.write(blob.getSha256(), blob.getContentType(),
+                    BlobDownloadWriter.cacheControl(false, immutable), content, request, response);
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.automatch.portal.controller;
 
+import com.automatch.portal.model.UserModel;
+import com.automatch.portal.records.DocumentClaimRecord;
 import com.automatch.portal.records.DocumentRecord;
 import com.automatch.portal.service.DocumentService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -108,6 +113,31 @@ public class DocumentController {
         return ResponseEntity.ok(verifiedDocument);
     }
 
+    // Fila restrita a ADMIN no SecurityConfig; o revisor é sempre o usuário autenticado
+    @PostMapping("/verification-queue/claim")
+    public ResponseEntity<List<DocumentClaimRecord>> claimVerificationBatch(
+            @AuthenticationPrincipal UserModel reviewer,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<DocumentClaimRecord> claims = documentService.claimVerificationBatch(reviewer.getId(), limit);
+        return ResponseEntity.ok(claims);
+    }
+
+    @PutMapping("/verification-queue/{id}/release")
+    public ResponseEntity<Void> releaseVerificationClaim(
+            @PathVariable String id,
+            @AuthenticationPrincipal UserModel reviewer) {
+        documentService.releaseVerificationClaim(id, reviewer.getId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/{id}/image")
+    public ResponseEntity<DocumentRecord> updateDocumentImage(
+            @PathVariable String id,
+            HttpServletRequest request) throws IOException {
+        DocumentRecord document = documentService.updateDocumentImage(id, request.getInputStream(), request.getContentType());
+        return ResponseEntity.ok(document);
+    }
+
     @PutMapping("/{id}/unverify")
     public ResponseEntity<DocumentRecord> unverifyDocument(@PathVariable String id) {
         DocumentRecord unverifiedDocument = documentService.unverifyDocument(id);
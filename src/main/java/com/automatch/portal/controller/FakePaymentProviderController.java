@@ -0,0 +1,26 @@
+package com.automatch.portal.controller;
+
+import com.automatch.portal.records.FakePaymentRequestRecord;
+import com.automatch.portal.records.PaymentWebhookResultRecord;
+import com.automatch.portal.service.payment.FakePaymentProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/protected/admin/payments/fake")
+@CrossOrigin(origins = "*")
+@Profile("fake-payments")
+@RequiredArgsConstructor
+public class FakePaymentProviderController {
+    private final FakePaymentProvider fakePaymentProvider;
+
+    @PostMapping
+    public ResponseEntity<List<PaymentWebhookResultRecord>> simulateCallback(@RequestBody FakePaymentRequestRecord request) {
+        List<PaymentWebhookResultRecord> results = fakePaymentProvider.send(request);
+        return ResponseEntity.ok(results);
+    }
+}
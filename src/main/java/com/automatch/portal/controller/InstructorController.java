@@ -1,12 +1,16 @@
 package com.automatch.portal.controller;
 
+import com.automatch.portal.records.InstructorEarningsRecord;
 import com.automatch.portal.records.InstructorRecord;
+import com.automatch.portal.service.InstructorEarningsService;
 import com.automatch.portal.service.InstructorService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -17,6 +21,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class InstructorController {
     private final InstructorService instructorService;
+    private final InstructorEarningsService instructorEarningsService;
 
     @PostMapping
     public ResponseEntity<InstructorRecord> createInstructor(@RequestBody InstructorRecord instructorRecord) {
@@ -159,6 +164,16 @@ public class InstructorController {
         return ResponseEntity.ok(reviews);
     }
 
+    @GetMapping("/{userId}/earnings")
+    public ResponseEntity<List<InstructorEarningsRecord>> getInstructorEarnings(
+            @PathVariable String userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String granularity) {
+        List<InstructorEarningsRecord> earnings = instructorEarningsService.getEarnings(userId, from, to, granularity);
+        return ResponseEntity.ok(earnings);
+    }
+
 //    @GetMapping("/count")
 //    public ResponseEntity<Integer> countInstructors() {
 //        int count = instructorService.countInstructors();
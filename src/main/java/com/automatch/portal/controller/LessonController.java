@@ -26,6 +26,15 @@ public class LessonController {
         return ResponseEntity.ok(createdLesson);
     }
 
+    @PostMapping("/auto-assign-vehicle")
+    public ResponseEntity<LessonRecord> createLessonWithAutoAssignedVehicle(
+            @RequestBody LessonRecord lessonRecord,
+            @RequestParam(required = false) Integer transmissionTypeId,
+            @RequestParam(required = false) Integer categoryId) {
+        LessonRecord createdLesson = lessonService.createWithAutoAssignedVehicle(lessonRecord, transmissionTypeId, categoryId);
+        return ResponseEntity.ok(createdLesson);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<LessonRecord> getLessonById(@PathVariable String id) {
         LessonRecord lesson = lessonService.getById(id);
@@ -186,9 +195,10 @@ public class LessonController {
     @GetMapping("/conflict-check")
     public ResponseEntity<Boolean> checkScheduleConflict(
             @RequestParam String instructorId,
+            @RequestParam(required = false) String vehicleId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
             @RequestParam Integer durationMinutes) {
-        boolean hasConflict = lessonService.checkScheduleConflict(instructorId, startTime, durationMinutes);
+        boolean hasConflict = lessonService.checkScheduleConflict(instructorId, vehicleId, startTime, durationMinutes);
         return ResponseEntity.ok(hasConflict);
     }
 }
\ No newline at end of file
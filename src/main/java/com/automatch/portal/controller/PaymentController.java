@@ -0,0 +1,27 @@
+package com.automatch.portal.controller;
+
+import com.automatch.portal.records.PaymentRecord;
+import com.automatch.portal.service.payment.PaymentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/protected/payment")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class PaymentController {
+    private final PaymentService paymentService;
+
+    @GetMapping("/lesson/{lessonId}")
+    public ResponseEntity<PaymentRecord> getPaymentByLesson(@PathVariable String lessonId) {
+        PaymentRecord payment = paymentService.getByLessonId(lessonId);
+        return ResponseEntity.ok(payment);
+    }
+
+    @GetMapping("/transaction/{transactionId}")
+    public ResponseEntity<PaymentRecord> getPaymentByTransaction(@PathVariable String transactionId) {
+        PaymentRecord payment = paymentService.getByTransactionId(transactionId);
+        return ResponseEntity.ok(payment);
+    }
+}
@@ -53,6 +53,14 @@ public class StudentFavoriteController {
         return ResponseEntity.ok(isFavorite);
     }
 
+    @PutMapping("/student/{studentId}/sync")
+    public ResponseEntity<List<StudentFavoriteRecord>> syncFavorites(
+            @PathVariable String studentId,
+            @RequestBody List<String> instructorIds) {
+        List<StudentFavoriteRecord> favorites = studentFavoriteService.syncFavorites(studentId, instructorIds);
+        return ResponseEntity.ok(favorites);
+    }
+
     @GetMapping("/student/{studentId}/count")
     public ResponseEntity<Integer> countFavoritesByStudent(@PathVariable String studentId) {
         int count = studentFavoriteService.countByStudent(studentId);
@@ -3,10 +3,12 @@ package com.automatch.portal.controller;
 import com.automatch.portal.records.LoginRequestRecord;
 import com.automatch.portal.records.UserRecord;
 import com.automatch.portal.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -40,6 +42,14 @@ public class UserController {
         return ResponseEntity.ok(updatedUser);
     }
 
+    @PutMapping("/{id}/profile-image")
+    public ResponseEntity<UserRecord> updateProfileImage(
+            @PathVariable UUID id,
+            HttpServletRequest request) throws IOException {
+        UserRecord user = userService.updateProfileImage(id, request.getInputStream(), request.getContentType());
+        return ResponseEntity.ok(user);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable UUID id) {
         userService.delete(id);
@@ -1,11 +1,19 @@
 package com.automatch.portal.controller;
 
+import com.automatch.portal.records.PageRecord;
+import com.automatch.portal.records.VehicleDailyUtilizationRecord;
 import com.automatch.portal.records.VehicleRecord;
+import com.automatch.portal.records.VehicleSearchFilterRecord;
+import com.automatch.portal.records.VehicleUtilizationRecord;
+import com.automatch.portal.service.FleetUtilizationService;
 import com.automatch.portal.service.VehicleService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -15,6 +23,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class VehicleController {
     private final VehicleService vehicleService;
+    private final FleetUtilizationService fleetUtilizationService;
 
     @PostMapping
     public ResponseEntity<VehicleRecord> createVehicle(@RequestBody VehicleRecord vehicleRecord) {
@@ -46,6 +55,44 @@ public class VehicleController {
         return ResponseEntity.ok(vehicles);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<PageRecord<VehicleRecord>> searchVehicles(
+            @RequestParam(required = false) Integer transmissionTypeId,
+            @RequestParam(required = false) Integer categoryId,
+            @RequestParam(required = false) Boolean hasDualControls,
+            @RequestParam(required = false) Boolean hasAirConditioning,
+            @RequestParam(defaultValue = "true") Boolean isApproved,
+            @RequestParam(defaultValue = "true") Boolean isAvailable,
+            @RequestParam(required = false) Integer minYear,
+            @RequestParam(required = false) Integer maxYear,
+            @RequestParam(required = false) String city,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        VehicleSearchFilterRecord filter = new VehicleSearchFilterRecord(
+                transmissionTypeId, categoryId, hasDualControls, hasAirConditioning,
+                isApproved, isAvailable, minYear, maxYear, city);
+        PageRecord<VehicleRecord> vehicles = vehicleService.search(filter, page, size);
+        return ResponseEntity.ok(vehicles);
+    }
+
+    @GetMapping("/utilization")
+    public ResponseEntity<List<VehicleUtilizationRecord>> getFleetUtilization(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String instructorId) {
+        List<VehicleUtilizationRecord> report = fleetUtilizationService.getFleetReport(from, to, instructorId);
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/{id}/utilization")
+    public ResponseEntity<List<VehicleDailyUtilizationRecord>> getVehicleUtilization(
+            @PathVariable String id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<VehicleDailyUtilizationRecord> daily = fleetUtilizationService.getVehicleDaily(id, from, to);
+        return ResponseEntity.ok(daily);
+    }
+
     @GetMapping("/approved")
     public ResponseEntity<List<VehicleRecord>> getApprovedVehicles() {
         List<VehicleRecord> vehicles = vehicleService.getApprovedVehicles();
@@ -70,6 +117,14 @@ public class VehicleController {
         return ResponseEntity.ok(approvedVehicle);
     }
 
+    @PutMapping("/{id}/image")
+    public ResponseEntity<VehicleRecord> updateVehicleImage(
+            @PathVariable String id,
+            HttpServletRequest request) throws IOException {
+        VehicleRecord vehicle = vehicleService.updateVehicleImage(id, request.getInputStream(), request.getContentType());
+        return ResponseEntity.ok(vehicle);
+    }
+
     @PutMapping("/{id}/disapprove")
     public ResponseEntity<VehicleRecord> disapproveVehicle(@PathVariable String id) {
         VehicleRecord disapprovedVehicle = vehicleService.disapproveVehicle(id);
@@ -0,0 +1,26 @@
+package com.automatch.portal.controller.unauthenticated;
+
+import com.automatch.portal.records.AutocompleteSuggestionRecord;
+import com.automatch.portal.service.autocomplete.AutocompleteService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/public/autocomplete")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class AutocompletePublicController {
+
+    private final AutocompleteService autocompleteService;
+
+    @GetMapping
+    public ResponseEntity<List<AutocompleteSuggestionRecord>> suggest(
+            @RequestParam(name = "q") String query,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(autocompleteService.suggest(query, type, limit));
+    }
+}
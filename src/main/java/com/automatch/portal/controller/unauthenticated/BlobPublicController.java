@@ -0,0 +1,50 @@
+package com.automatch.portal.controller.unauthenticated;
+
+import com.automatch.portal.infra.storage.BlobContent;
+import com.automatch.portal.infra.storage.BlobDownloadWriter;
+import com.automatch.portal.model.BlobModel;
+import com.automatch.portal.service.BlobService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/public/blob")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class BlobPublicController {
+
+    private final BlobService blobService;
+    private final BlobDownloadWriter blobDownloadWriter;
+
+    // Só serve arquivos referenciados como públicos (fotos de perfil e de veículos)
+    @GetMapping("/{sha256}")
+    public void download(@PathVariable String sha256,
+                         @RequestParam(required = false) Integer width,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        BlobModel blob = blobService.findBlob(sha256)
+                .filter(blobService::isPublic)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found"));
+
+        // Com ?width= serve a versão redimensionada; enquanto não existir, serve o original sem cache longo
+        boolean immutable = true;
+        if (width != null) {
+            Optional<BlobModel> derivative = blobService.findDerivative(sha256, width);
+            immutable = derivative.isPresent();
+            blob = derivative.orElse(blob);
+        }
+
+        try (BlobContent content = blobService.openContent(blob.getSha256())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found"))) {
+            blobDownloadWriter.write(blob.getSha256(), blob.getContentType(),
+                    BlobDownloadWriter.cacheControl(true, immutable), content, request, response);
+        }
+    }
+}
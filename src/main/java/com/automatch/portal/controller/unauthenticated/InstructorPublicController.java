@@ -2,6 +2,8 @@ package com.automatch.portal.controller.unauthenticated;
 
 import com.automatch.portal.service.unauthenticated.InstructorPublicService;
 import com.automatch.portal.records.InstructorPublicRecord;
+import com.automatch.portal.records.SimilarInstructorRecord;
+import com.automatch.portal.service.recommendation.InstructorSimilarityService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +18,7 @@ import java.util.List;
 public class InstructorPublicController {
 
     private final InstructorPublicService instructorPublicService;
+    private final InstructorSimilarityService instructorSimilarityService;
 
     @GetMapping
     public ResponseEntity<List<InstructorPublicRecord>> getAllInstructors() {
@@ -43,6 +46,14 @@ public class InstructorPublicController {
     }
 
 
+    @GetMapping("/{instructorId}/similar")
+    public ResponseEntity<List<SimilarInstructorRecord>> getSimilarInstructors(
+            @PathVariable String instructorId,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<SimilarInstructorRecord> instructors = instructorSimilarityService.getSimilarInstructors(instructorId, limit);
+        return ResponseEntity.ok(instructors);
+    }
+
     @GetMapping("/verified")
     public ResponseEntity<List<InstructorPublicRecord>> getVerifiedInstructors() {
         List<InstructorPublicRecord> instructors = instructorPublicService.getVerifiedInstructors();
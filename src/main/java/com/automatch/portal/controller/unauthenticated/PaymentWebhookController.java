@@ -0,0 +1,50 @@
+package com.automatch.portal.controller.unauthenticated;
+
+import com.automatch.portal.records.PaymentWebhookRecord;
+import com.automatch.portal.records.PaymentWebhookResultRecord;
+import com.automatch.portal.service.payment.PaymentService;
+import com.automatch.portal.service.payment.PaymentWebhookSigner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+
+// Callbacks do provedor de pagamentos: a assinatura é conferida sobre o corpo bruto, antes do parse
+@RestController
+@RequestMapping("/webhooks/payments")
+@RequiredArgsConstructor
+public class PaymentWebhookController {
+
+    public static final String SIGNATURE_HEADER = "X-Payment-Signature";
+
+    private final PaymentService paymentService;
+    private final PaymentWebhookSigner signer;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping
+    public ResponseEntity<PaymentWebhookResultRecord> receive(
+            @RequestHeader(name = SIGNATURE_HEADER, required = false) String signature,
+            @RequestBody byte[] body) {
+        if (!signer.verify(body, signature)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid signature");
+        }
+
+        PaymentWebhookRecord callback;
+        try {
+            callback = objectMapper.readValue(body, PaymentWebhookRecord.class);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed payment callback");
+        }
+
+        // Erro de validação responde 400 para o provedor não reenviar o mesmo callback indefinidamente
+        try {
+            return ResponseEntity.ok(paymentService.ingest(callback));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.automatch.portal.dao;
 
 import com.automatch.portal.mapper.AddressMapper;
 import com.automatch.portal.model.AddressModel;
+import com.automatch.portal.util.TextNormalizer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -36,10 +37,13 @@ public class AddressDAO {
     private AddressModel insert(AddressModel address) {
         String sql = """
             INSERT INTO addresses (id, street, number, neighborhood, city, state, 
-                                 zip_code, country, created_at, updated_at)
+                                 zip_code, country, created_at, updated_at,
+                                 city_key, state_key, neighborhood_key, zip_key)
             VALUES (:id, :street, :number, :neighborhood, :city, :state, 
-                    :zipCode, :country, :createdAt, :updatedAt)
-        """;
+                    :zipCode, :country, :createdAt, :updatedAt,
+                    :cityKey, :stateKey, :neighborhoodKey, :zipKey)
+            RETURNING %s
+        """.formatted(SELECT_FIELDS);
 
         UUID id = UUID.randomUUID();
         address.setId(id);
@@ -57,9 +61,9 @@ public class AddressDAO {
                 .addValue("country", address.getCountry())
                 .addValue("createdAt", address.getCreatedAt())
                 .addValue("updatedAt", address.getUpdatedAt());
+        addKeys(params, address);
 
-        namedParameterJdbcTemplate.update(sql, params);
-        return findById(id).orElse(null);
+        return namedParameterJdbcTemplate.queryForObject(sql, params, AddressMapper.getRowMapper());
     }
 
     private AddressModel update(AddressModel address) {
@@ -72,6 +76,10 @@ public class AddressDAO {
                 state = :state,
                 zip_code = :zipCode,
                 country = :country,
+                city_key = :cityKey,
+                state_key = :stateKey,
+                neighborhood_key = :neighborhoodKey,
+                zip_key = :zipKey,
                 updated_at = :updatedAt
             WHERE id = :id AND deleted_at IS NULL
         """;
@@ -88,6 +96,7 @@ public class AddressDAO {
                 .addValue("zipCode", address.getZipCode())
                 .addValue("country", address.getCountry())
                 .addValue("updatedAt", address.getUpdatedAt());
+        addKeys(params, address);
 
         int updated = namedParameterJdbcTemplate.update(sql, params);
         if (updated > 0) {
@@ -96,6 +105,14 @@ public class AddressDAO {
         return null;
     }
 
+    // Chaves de busca derivadas dos campos digitados (ver TextNormalizer)
+    private void addKeys(MapSqlParameterSource params, AddressModel address) {
+        params.addValue("cityKey", TextNormalizer.key(address.getCity()))
+                .addValue("stateKey", TextNormalizer.stateKey(address.getState()))
+                .addValue("neighborhoodKey", TextNormalizer.key(address.getNeighborhood()))
+                .addValue("zipKey", TextNormalizer.zipKey(address.getZipCode()));
+    }
+
     public Optional<AddressModel> findById(UUID id) {
         String sql = "SELECT " + SELECT_FIELDS +
                 " FROM addresses WHERE id = ? AND deleted_at IS NULL";
@@ -146,23 +163,23 @@ public class AddressDAO {
 
     public List<AddressModel> findByCity(String city) {
         String sql = "SELECT " + SELECT_FIELDS +
-                " FROM addresses WHERE city = ? AND deleted_at IS NULL";
+                " FROM addresses WHERE city_key = ? AND deleted_at IS NULL";
 
-        return jdbcTemplate.query(sql, AddressMapper.getRowMapper(), city);
+        return jdbcTemplate.query(sql, AddressMapper.getRowMapper(), TextNormalizer.key(city));
     }
 
     public List<AddressModel> findByState(String state) {
         String sql = "SELECT " + SELECT_FIELDS +
-                " FROM addresses WHERE state = ? AND deleted_at IS NULL";
+                " FROM addresses WHERE state_key = ? AND deleted_at IS NULL";
 
-        return jdbcTemplate.query(sql, AddressMapper.getRowMapper(), state);
+        return jdbcTemplate.query(sql, AddressMapper.getRowMapper(), TextNormalizer.stateKey(state));
     }
 
     public List<AddressModel> findByZipCode(String zipCode) {
         String sql = "SELECT " + SELECT_FIELDS +
-                " FROM addresses WHERE zip_code = ? AND deleted_at IS NULL";
+                " FROM addresses WHERE zip_key = ? AND deleted_at IS NULL";
 
-        return jdbcTemplate.query(sql, AddressMapper.getRowMapper(), zipCode);
+        return jdbcTemplate.query(sql, AddressMapper.getRowMapper(), TextNormalizer.zipKey(zipCode));
     }
 
     public List<AddressModel> findByCountry(String country) {
@@ -216,19 +233,20 @@ public class AddressDAO {
             params.addValue("street", "%" + street + "%");
         }
 
+        // Bairro e cidade por prefixo da chave (usa o índice); estado pela sigla
         if (neighborhood != null && !neighborhood.trim().isEmpty()) {
-            sql.append(" AND LOWER(neighborhood) LIKE LOWER(:neighborhood)");
-            params.addValue("neighborhood", "%" + neighborhood + "%");
+            sql.append(" AND neighborhood_key LIKE :neighborhood");
+            params.addValue("neighborhood", escapeLike(TextNormalizer.key(neighborhood)) + "%");
         }
 
         if (city != null && !city.trim().isEmpty()) {
-            sql.append(" AND LOWER(city) LIKE LOWER(:city)");
-            params.addValue("city", "%" + city + "%");
+            sql.append(" AND city_key LIKE :city");
+            params.addValue("city", escapeLike(TextNormalizer.key(city)) + "%");
         }
 
         if (state != null && !state.trim().isEmpty()) {
-            sql.append(" AND LOWER(state) LIKE LOWER(:state)");
-            params.addValue("state", "%" + state + "%");
+            sql.append(" AND state_key = :state");
+            params.addValue("state", TextNormalizer.stateKey(state));
         }
 
         return namedParameterJdbcTemplate.query(sql.toString(), params, AddressMapper.getRowMapper());
@@ -247,17 +265,55 @@ public class AddressDAO {
     }
 
     public int countByCity(String city) {
-        String sql = "SELECT COUNT(*) FROM addresses WHERE city = ? AND deleted_at IS NULL";
-        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, city);
+        String sql = "SELECT COUNT(*) FROM addresses WHERE city_key = ? AND deleted_at IS NULL";
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, TextNormalizer.key(city));
         return count != null ? count : 0;
     }
 
     public int countByState(String state) {
-        String sql = "SELECT COUNT(*) FROM addresses WHERE state = ? AND deleted_at IS NULL";
-        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, state);
+        String sql = "SELECT COUNT(*) FROM addresses WHERE state_key = ? AND deleted_at IS NULL";
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, TextNormalizer.stateKey(state));
         return count != null ? count : 0;
     }
 
+    /**
+     * Endereços ainda sem chaves (gravados antes da V12), em ordem de id a partir de afterId.
+     */
+    public List<AddressModel> findMissingKeys(UUID afterId, int limit) {
+        String sql = "SELECT " + SELECT_FIELDS + """
+             FROM addresses
+            WHERE id > ?
+              AND ((city IS NOT NULL AND city_key IS NULL)
+                OR (state IS NOT NULL AND state_key IS NULL)
+                OR (neighborhood IS NOT NULL AND neighborhood_key IS NULL)
+                OR (zip_code IS NOT NULL AND zip_key IS NULL))
+            ORDER BY id
+            LIMIT ?
+        """;
+
+        return jdbcTemplate.query(sql, AddressMapper.getRowMapper(), afterId, limit);
+    }
+
+    public void updateKeys(List<AddressModel> addresses) {
+        String sql = """
+            UPDATE addresses
+            SET city_key = ?, state_key = ?, neighborhood_key = ?, zip_key = ?
+            WHERE id = ?
+        """;
+
+        jdbcTemplate.batchUpdate(sql, addresses, addresses.size(), (ps, address) -> {
+            ps.setString(1, TextNormalizer.key(address.getCity()));
+            ps.setString(2, TextNormalizer.stateKey(address.getState()));
+            ps.setString(3, TextNormalizer.key(address.getNeighborhood()));
+            ps.setString(4, TextNormalizer.zipKey(address.getZipCode()));
+            ps.setObject(5, address.getId());
+        });
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     public int countByCountry(String country) {
         String sql = "SELECT COUNT(*) FROM addresses WHERE country = ? AND deleted_at IS NULL";
         Integer count = jdbcTemplate.queryForObject(sql, Integer.class, country);
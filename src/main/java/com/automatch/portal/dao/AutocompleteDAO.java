@@ -0,0 +1,64 @@
+package com.automatch.portal.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class AutocompleteDAO {
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public record InstructorEntry(
+            UUID id,
+            String fullName,
+            String city,
+            String cityKey,
+            String neighborhood,
+            String neighborhoodKey,
+            double averageRating,
+            int totalReviews
+    ) {}
+
+    private static final String SELECT_ENTRIES = """
+        SELECT i.user_id, u.full_name, TRIM(a.city) AS city, a.city_key,
+               TRIM(a.neighborhood) AS neighborhood, a.neighborhood_key,
+               COALESCE(i.average_rating, 0) AS average_rating, COALESCE(i.total_reviews, 0) AS total_reviews
+        FROM instructors i
+        JOIN users u ON u.id = i.user_id
+        LEFT JOIN addresses a ON a.id = u.address_id AND a.deleted_at IS NULL
+        WHERE i.deleted_at IS NULL
+          AND u.deleted_at IS NULL
+          AND u.is_active = true
+    """;
+
+    public List<InstructorEntry> findAllEntries() {
+        return namedParameterJdbcTemplate.query(SELECT_ENTRIES, getRowMapper());
+    }
+
+    // Instrutores que sumirem do resultado (removidos/inativos) saem do índice
+    public List<InstructorEntry> findEntries(Collection<UUID> instructorIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", instructorIds);
+        return namedParameterJdbcTemplate.query(SELECT_ENTRIES + " AND i.user_id IN (:ids)", params, getRowMapper());
+    }
+
+    private RowMapper<InstructorEntry> getRowMapper() {
+        return (rs, rowNum) -> new InstructorEntry(
+                rs.getObject("user_id", UUID.class),
+                rs.getString("full_name"),
+                rs.getString("city"),
+                rs.getString("city_key"),
+                rs.getString("neighborhood"),
+                rs.getString("neighborhood_key"),
+                rs.getDouble("average_rating"),
+                rs.getInt("total_reviews")
+        );
+    }
+}
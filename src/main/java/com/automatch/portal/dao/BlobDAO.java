@@ -0,0 +1,114 @@
+package com.automatch.portal.dao;
+
+import com.automatch.portal.mapper.BlobMapper;
+import com.automatch.portal.model.BlobModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class BlobDAO {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private static final String SELECT_FIELDS = "sha256, size_bytes, content_type, is_public, created_at";
+
+    // O mesmo conteúdo pode ser enviado várias vezes; a visibilidade vem de quem referencia, não da linha
+    public BlobModel upsert(BlobModel blob) {
+        String sql = """
+            INSERT INTO blobs (sha256, size_bytes, content_type, is_public, created_at)
+            VALUES (:sha256, :sizeBytes, :contentType, :isPublic, :createdAt)
+            ON CONFLICT (sha256) DO UPDATE
+            SET content_type = blobs.content_type
+            RETURNING sha256, size_bytes, content_type, is_public, created_at
+        """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("sha256", blob.getSha256())
+                .addValue("sizeBytes", blob.getSizeBytes())
+                .addValue("contentType", blob.getContentType())
+                .addValue("isPublic", blob.getIsPublic())
+                .addValue("createdAt", LocalDateTime.now());
+
+        return namedParameterJdbcTemplate.queryForObject(sql, params, BlobMapper.getRowMapper());
+    }
+
+    public Optional<BlobModel> findBySha256(String sha256) {
+        String sql = "SELECT " + SELECT_FIELDS + " FROM blobs WHERE sha256 = ?";
+
+        try {
+            BlobModel blob = jdbcTemplate.queryForObject(sql, BlobMapper.getRowMapper(), sha256);
+            return Optional.ofNullable(blob);
+        } catch (org.springframework.dao.EmptyResultDataAccessException e) {
+            return Optional.empty();
+        }
+    }
+
+    // O usuário tem alguma linha (perfil, documento ou veículo) que aponta para o blob
+    public boolean isReferencedBy(String sha256, UUID userId) {
+        String sql = """
+            SELECT EXISTS (
+                SELECT 1 FROM users
+                WHERE id = :userId AND profile_image_url IN (:protectedUrl, :publicUrl)
+                UNION ALL
+                SELECT 1 FROM user_documents
+                WHERE user_id = :userId AND document_image_url IN (:protectedUrl, :publicUrl) AND deleted_at IS NULL
+                UNION ALL
+                SELECT 1 FROM vehicles
+                WHERE instructor_id = :userId AND vehicle_image_url IN (:protectedUrl, :publicUrl) AND deleted_at IS NULL
+            )
+        """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("protectedUrl", BlobMapper.PROTECTED_PATH + sha256)
+                .addValue("publicUrl", BlobMapper.PUBLIC_PATH + sha256);
+
+        Boolean referenced = namedParameterJdbcTemplate.queryForObject(sql, params, Boolean.class);
+        return Boolean.TRUE.equals(referenced);
+    }
+
+    // Só fotos de perfil e de veículos ativos tornam um conteúdo público
+    public boolean isPubliclyReferenced(String sha256) {
+        String sql = """
+            SELECT EXISTS (
+                SELECT 1 FROM users
+                WHERE profile_image_url = :publicUrl AND deleted_at IS NULL
+                UNION ALL
+                SELECT 1 FROM vehicles
+                WHERE vehicle_image_url = :publicUrl AND deleted_at IS NULL
+            )
+        """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("publicUrl", BlobMapper.PUBLIC_PATH + sha256);
+
+        Boolean referenced = namedParameterJdbcTemplate.queryForObject(sql, params, Boolean.class);
+        return Boolean.TRUE.equals(referenced);
+    }
+
+    public void recordUpload(String sha256, UUID userId) {
+        String sql = """
+            INSERT INTO blob_uploads (sha256, user_id, created_at)
+            VALUES (?, ?, ?)
+            ON CONFLICT (sha256, user_id) DO NOTHING
+        """;
+
+        jdbcTemplate.update(sql, sha256, userId, LocalDateTime.now());
+    }
+
+    public boolean wasUploadedBy(String sha256, UUID userId) {
+        String sql = "SELECT EXISTS (SELECT 1 FROM blob_uploads WHERE sha256 = ? AND user_id = ?)";
+
+        Boolean uploaded = jdbcTemplate.queryForObject(sql, Boolean.class, sha256, userId);
+        return Boolean.TRUE.equals(uploaded);
+    }
+}
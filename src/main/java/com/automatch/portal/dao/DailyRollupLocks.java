@@ -0,0 +1,35 @@
+package com.automatch.portal.dao;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Travas consultivas por dia para os agregados diários, liberadas no fim da transação.
+ * Deltas pegam a compartilhada (não bloqueiam uns aos outros); a reconstrução pega a exclusiva,
+ * espera os deltas em andamento terminarem e segura os novos até gravar os valores absolutos.
+ * Sempre em ordem crescente de dia, para não haver deadlock entre os dois lados.
+ */
+final class DailyRollupLocks {
+
+    private DailyRollupLocks() {
+    }
+
+    static void lockDaysShared(JdbcTemplate jdbcTemplate, String table, Collection<LocalDate> days) {
+        days.stream().distinct().sorted().forEach(day -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_advisory_xact_lock_shared(hashtext(?), ?)",
+                Integer.class, table, (int) day.toEpochDay()));
+    }
+
+    // Faixa [from, to)
+    static void lockRangeExclusive(JdbcTemplate jdbcTemplate, String table, LocalDate from, LocalDate to) {
+        String sql = """
+            SELECT COUNT(*)
+            FROM generate_series(?::int, ?::int) AS day,
+                 LATERAL pg_advisory_xact_lock(hashtext(?), day)
+        """;
+
+        jdbcTemplate.queryForObject(sql, Integer.class, (int) from.toEpochDay(), (int) to.toEpochDay() - 1, table);
+    }
+}
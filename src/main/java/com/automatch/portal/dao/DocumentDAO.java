@@ -36,11 +36,11 @@ public class DocumentDAO {
             INSERT INTO user_documents (id, user_id, document_type_id, document_number, 
                                       document_image_url, issue_date, expiry_date, is_verified,
                                       verified_by_user_id, verified_at, verification_notes,
-                                      created_at, updated_at)
+                                      is_expired, created_at, updated_at)
             VALUES (:id, :userId, :documentTypeId, :documentNumber, 
                     :documentImageUrl, :issueDate, :expiryDate, :isVerified,
                     :verifiedByUserId, :verifiedAt, :verificationNotes,
-                    :createdAt, :updatedAt)
+                    COALESCE(CAST(:expiryDate AS DATE) < CURRENT_DATE, false), :createdAt, :updatedAt)
         """;
 
         UUID id = UUID.randomUUID();
@@ -74,6 +74,7 @@ public class DocumentDAO {
                 document_image_url = :documentImageUrl,
                 issue_date = :issueDate,
                 expiry_date = :expiryDate,
+                is_expired = COALESCE(CAST(:expiryDate AS DATE) < CURRENT_DATE, false),
                 is_verified = :isVerified,
                 verified_by_user_id = :verifiedByUserId,
                 verified_at = :verifiedAt,
@@ -219,6 +220,72 @@ public class DocumentDAO {
         return jdbcTemplate.query(sql, getRowMapper());
     }
 
+    /**
+     * Reserva os próximos documentos pendentes; linhas travadas por outro revisor são puladas.
+     * Documentos vencidos não entram: a verificação os recusaria. A varredura diária marca is_expired,
+     * que está no predicado do índice parcial (idx_user_docs_pending_queue); a comparação com a data
+     * cobre os que venceram desde a última varredura. O lease depende da hora atual e não pode ir
+     * no índice; as linhas com lease ativo são poucas (revisores x lote) e são descartadas na leitura.
+     */
+    public List<DocumentModel> claimPending(UUID reviewerId, int limit, LocalDateTime claimExpiresAt) {
+        String sql = """
+            WITH next_documents AS (
+                SELECT id
+                FROM user_documents
+                WHERE is_verified = false AND deleted_at IS NULL AND is_expired = false
+                  AND (claim_expires_at IS NULL OR claim_expires_at < :now)
+                  AND (expiry_date IS NULL OR expiry_date >= CURRENT_DATE)
+                ORDER BY created_at ASC
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE user_documents d
+            SET claimed_by_user_id = :reviewerId,
+                claim_expires_at = :claimExpiresAt
+            FROM next_documents n
+            WHERE d.id = n.id
+            RETURNING d.id, d.user_id, d.document_type_id, d.document_number, d.document_image_url,
+                      d.issue_date, d.expiry_date, d.is_verified, d.verified_by_user_id, d.verified_at,
+                      d.verification_notes, d.created_at, d.updated_at, d.deleted_at
+        """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("reviewerId", reviewerId)
+                .addValue("limit", limit)
+                .addValue("now", LocalDateTime.now())
+                .addValue("claimExpiresAt", claimExpiresAt);
+
+        return namedParameterJdbcTemplate.query(sql, params, getRowMapper());
+    }
+
+    // Retorna o revisor com lease ainda válido sobre o documento, se houver
+    public Optional<UUID> findActiveClaimOwner(UUID id) {
+        String sql = """
+            SELECT claimed_by_user_id
+            FROM user_documents
+            WHERE id = ? AND claimed_by_user_id IS NOT NULL AND claim_expires_at >= ?
+        """;
+
+        List<UUID> owners = jdbcTemplate.queryForList(sql, UUID.class, id, LocalDateTime.now());
+        return owners.stream().findFirst();
+    }
+
+    public boolean releaseClaim(UUID id, UUID reviewerId) {
+        String sql = """
+            UPDATE user_documents
+            SET claimed_by_user_id = NULL,
+                claim_expires_at = NULL
+            WHERE id = ? AND claimed_by_user_id = ?
+        """;
+
+        return jdbcTemplate.update(sql, id, reviewerId) > 0;
+    }
+
+    public void clearClaim(UUID id) {
+        String sql = "UPDATE user_documents SET claimed_by_user_id = NULL, claim_expires_at = NULL WHERE id = ?";
+        jdbcTemplate.update(sql, id);
+    }
+
     public List<DocumentModel> findExpiringSoon(LocalDate thresholdDate) {
         String sql = """
             SELECT id, user_id, document_type_id, document_number, document_image_url,
@@ -233,6 +300,86 @@ public class DocumentDAO {
         return jdbcTemplate.query(sql, getRowMapper(), thresholdDate);
     }
 
+    // Desverifica um lote de documentos vencidos; cada chamada é um único UPDATE
+    public List<DocumentModel> unverifyExpiredBatch(int limit, String notes) {
+        String sql = """
+            WITH expired AS (
+                SELECT id
+                FROM user_documents
+                WHERE expiry_date IS NOT NULL AND deleted_at IS NULL
+                  AND expiry_date < CURRENT_DATE AND is_verified = true
+                ORDER BY expiry_date ASC, id ASC
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE user_documents d
+            SET is_verified = false,
+                is_expired = true,
+                verified_by_user_id = NULL,
+                verified_at = NULL,
+                verification_notes = :notes,
+                updated_at = :updatedAt
+            FROM expired e
+            WHERE d.id = e.id
+            RETURNING d.id, d.user_id, d.document_type_id, d.document_number, d.document_image_url,
+                      d.issue_date, d.expiry_date, d.is_verified, d.verified_by_user_id, d.verified_at,
+                      d.verification_notes, d.created_at, d.updated_at, d.deleted_at
+        """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("limit", limit)
+                .addValue("notes", notes)
+                .addValue("updatedAt", LocalDateTime.now());
+
+        return namedParameterJdbcTemplate.query(sql, params, getRowMapper());
+    }
+
+    // Marca os vencidos que já estavam pendentes, tirando-os do índice da fila de verificação
+    public int flagExpiredBatch(int limit) {
+        String sql = """
+            WITH expired AS (
+                SELECT id
+                FROM user_documents
+                WHERE expiry_date IS NOT NULL AND deleted_at IS NULL
+                  AND expiry_date < CURRENT_DATE AND is_expired = false
+                ORDER BY expiry_date ASC, id ASC
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE user_documents d
+            SET is_expired = true
+            FROM expired e
+            WHERE d.id = e.id
+        """;
+
+        return jdbcTemplate.update(sql, limit);
+    }
+
+    // Paginação por chave (expiry_date, id) sobre o índice parcial de vencimento
+    public List<DocumentModel> findExpiringPage(LocalDate from, LocalDate to,
+                                                LocalDate afterExpiryDate, UUID afterId, int limit) {
+        String sql = """
+            SELECT id, user_id, document_type_id, document_number, document_image_url,
+                   issue_date, expiry_date, is_verified, verified_by_user_id, verified_at,
+                   verification_notes, created_at, updated_at, deleted_at
+            FROM user_documents
+            WHERE expiry_date IS NOT NULL AND deleted_at IS NULL
+              AND expiry_date BETWEEN :from AND :to
+              AND (expiry_date, id) > (:afterExpiryDate, :afterId)
+            ORDER BY expiry_date ASC, id ASC
+            LIMIT :limit
+        """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("afterExpiryDate", afterExpiryDate)
+                .addValue("afterId", afterId)
+                .addValue("limit", limit);
+
+        return namedParameterJdbcTemplate.query(sql, params, getRowMapper());
+    }
+
     public List<DocumentModel> findExpired() {
         String sql = """
             SELECT id, user_id, document_type_id, document_number, document_image_url,
@@ -342,6 +489,105 @@ public class DocumentDAO {
         return namedParameterJdbcTemplate.query(sql.toString(), params, getRowMapper());
     }
 
+    // Ações em massa: um UPDATE por lote, só nas linhas elegíveis; retorna os IDs alterados
+    public List<UUID> verifyBatch(List<UUID> ids, UUID verifierId, String notes) {
+        String sql = """
+            UPDATE user_documents
+            SET is_verified = true,
+                verified_by_user_id = ?,
+                verified_at = ?,
+                verification_notes = ?,
+                updated_at = ?,
+                claimed_by_user_id = NULL,
+                claim_expires_at = NULL
+            WHERE id = ANY(?::uuid[]) AND deleted_at IS NULL AND is_verified = false
+              AND (expiry_date IS NULL OR expiry_date >= CURRENT_DATE)
+              AND (claimed_by_user_id IS NULL OR claimed_by_user_id = ? OR claim_expires_at < ?)
+            RETURNING id
+        """;
+
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.query(sql, ps -> {
+            ps.setObject(1, verifierId);
+            ps.setObject(2, now);
+            ps.setString(3, notes);
+            ps.setObject(4, now);
+            ps.setArray(5, ps.getConnection().createArrayOf("uuid", ids.toArray()));
+            ps.setObject(6, verifierId);
+            ps.setObject(7, now);
+        }, (rs, rowNum) -> rs.getObject("id", UUID.class));
+    }
+
+    public List<UUID> unverifyBatch(List<UUID> ids) {
+        String sql = """
+            UPDATE user_documents
+            SET is_verified = false,
+                verified_by_user_id = NULL,
+                verified_at = NULL,
+                verification_notes = NULL,
+                updated_at = ?
+            WHERE id = ANY(?::uuid[]) AND deleted_at IS NULL AND is_verified = true
+            RETURNING id
+        """;
+
+        return jdbcTemplate.query(sql, ps -> {
+            ps.setObject(1, LocalDateTime.now());
+            ps.setArray(2, ps.getConnection().createArrayOf("uuid", ids.toArray()));
+        }, (rs, rowNum) -> rs.getObject("id", UUID.class));
+    }
+
+    // Inclui excluídos: usado para explicar por que uma linha ficou fora da ação em massa
+    public List<DocumentModel> findByIdsWithDeleted(List<UUID> ids) {
+        String sql = """
+            SELECT id, user_id, document_type_id, document_number, document_image_url,
+                   issue_date, expiry_date, is_verified, verified_by_user_id, verified_at,
+                   verification_notes, created_at, updated_at, deleted_at
+            FROM user_documents
+            WHERE id = ANY(?::uuid[])
+        """;
+
+        return jdbcTemplate.query(sql,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())),
+                getRowMapper());
+    }
+
+    public List<UUID> findIdsByFilter(UUID userId, Integer documentTypeId, LocalDateTime createdFrom,
+                                      LocalDateTime createdTo, boolean isVerified, int limit) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT id
+            FROM user_documents
+            WHERE deleted_at IS NULL AND is_verified = :isVerified
+        """);
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("isVerified", isVerified)
+                .addValue("limit", limit);
+
+        if (userId != null) {
+            sql.append(" AND user_id = :userId");
+            params.addValue("userId", userId);
+        }
+
+        if (documentTypeId != null) {
+            sql.append(" AND document_type_id = :documentTypeId");
+            params.addValue("documentTypeId", documentTypeId);
+        }
+
+        if (createdFrom != null) {
+            sql.append(" AND created_at >= :createdFrom");
+            params.addValue("createdFrom", createdFrom);
+        }
+
+        if (createdTo != null) {
+            sql.append(" AND created_at < :createdTo");
+            params.addValue("createdTo", createdTo);
+        }
+
+        sql.append(" ORDER BY created_at ASC LIMIT :limit");
+
+        return namedParameterJdbcTemplate.queryForList(sql.toString(), params, UUID.class);
+    }
+
     public Object getUserDocumentStats(UUID userId) {
         String sql = """
             SELECT 
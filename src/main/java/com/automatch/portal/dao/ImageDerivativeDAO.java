@@ -0,0 +1,75 @@
+package com.automatch.portal.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class ImageDerivativeDAO {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void save(String sourceSha256, int width, String derivativeSha256) {
+        String sql = """
+            INSERT INTO image_derivatives (source_sha256, width, derivative_sha256, created_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (source_sha256, width) DO NOTHING
+        """;
+
+        jdbcTemplate.update(sql, sourceSha256, width, derivativeSha256, LocalDateTime.now());
+    }
+
+    public boolean exists(String sourceSha256, int width) {
+        String sql = "SELECT COUNT(*) FROM image_derivatives WHERE source_sha256 = ? AND width = ?";
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, sourceSha256, width);
+        return count != null && count > 0;
+    }
+
+    // Menor versão que atende à largura pedida
+    public Optional<String> findDerivativeFor(String sourceSha256, int width) {
+        String sql = """
+            SELECT derivative_sha256
+            FROM image_derivatives
+            WHERE source_sha256 = ? AND width >= ?
+            ORDER BY width ASC
+            LIMIT 1
+        """;
+
+        List<String> result = jdbcTemplate.queryForList(sql, String.class, sourceSha256, width);
+        return result.stream().findFirst();
+    }
+
+    /**
+     * Imagens recentes sem todas as versões (a fila estava cheia ou a geração falhou).
+     * Só olha a janela [since, before): fora dela, imagens que nunca geram versão (ex.: grandes demais)
+     * deixam de ser tentadas; as versões geradas não entram como origem.
+     */
+    public List<SourceImage> findSourcesMissingDerivatives(int expectedCount, LocalDateTime since,
+                                                           LocalDateTime before, int limit) {
+        String sql = """
+            SELECT b.sha256, b.is_public
+            FROM blobs b
+            WHERE b.content_type LIKE 'image/%'
+              AND b.created_at >= ? AND b.created_at < ?
+              AND NOT EXISTS (
+                  SELECT 1 FROM image_derivatives d
+                  WHERE d.derivative_sha256 = b.sha256 AND d.source_sha256 <> b.sha256
+              )
+              AND (SELECT COUNT(*) FROM image_derivatives d WHERE d.source_sha256 = b.sha256) < ?
+            ORDER BY b.created_at
+            LIMIT ?
+        """;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new SourceImage(
+                rs.getString("sha256"),
+                rs.getBoolean("is_public")
+        ), since, before, expectedCount, limit);
+    }
+
+    public record SourceImage(String sha256, boolean isPublic) {}
+}
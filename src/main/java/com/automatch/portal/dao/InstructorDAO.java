@@ -10,6 +10,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -48,6 +49,12 @@ public class InstructorDAO {
     }
 
     private InstructorModel insert(InstructorModel instructor) {
+        insertNew(instructor);
+        return findById(instructor.getUser().getId()).orElse(null);
+    }
+
+    // Só o INSERT, para quem já tem o usuário em mãos (cadastro)
+    public void insertNew(InstructorModel instructor) {
         String sql = """
             INSERT INTO instructors (user_id, hourly_rate, bio, years_experience, 
                                    is_verified, average_rating, total_reviews,
@@ -69,7 +76,6 @@ public class InstructorDAO {
                 .addValue("updatedAt", instructor.getUpdatedAt());
 
         namedParameterJdbcTemplate.update(sql, params);
-        return findById(instructor.getUser().getId()).orElse(null);
     }
 
     private InstructorModel update(InstructorModel instructor) {
@@ -218,20 +224,100 @@ public class InstructorDAO {
         return count != null && count > 0;
     }
 
+    public List<UUID> findActiveInstructorIds(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+
+        String sql = "SELECT user_id FROM instructors WHERE user_id IN (:userIds) AND deleted_at IS NULL";
+        return namedParameterJdbcTemplate.queryForList(sql, new MapSqlParameterSource("userIds", userIds), UUID.class);
+    }
+
+    // Ações em massa: um UPDATE por lote, só nas linhas elegíveis; retorna os IDs alterados
+    public List<UUID> setVerifiedBatch(List<UUID> userIds, boolean verified) {
+        String sql = """
+            UPDATE instructors
+            SET is_verified = ?,
+                updated_at = ?
+            WHERE user_id = ANY(?::uuid[]) AND deleted_at IS NULL AND is_verified IS DISTINCT FROM ?
+            RETURNING user_id
+        """;
+
+        return jdbcTemplate.query(sql, ps -> {
+            ps.setBoolean(1, verified);
+            ps.setObject(2, LocalDateTime.now());
+            ps.setArray(3, ps.getConnection().createArrayOf("uuid", userIds.toArray()));
+            ps.setBoolean(4, verified);
+        }, (rs, rowNum) -> rs.getObject("user_id", UUID.class));
+    }
+
+    public List<InstructorModel> findByIdsWithDeleted(List<UUID> userIds) {
+        String sql = "SELECT " + SELECT_FIELDS + FROM_CLAUSE + "WHERE i.user_id = ANY(?::uuid[])";
+
+        return jdbcTemplate.query(sql,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", userIds.toArray())),
+                InstructorMapper.getRowMapper());
+    }
+
+    public List<UUID> findIdsByFilter(LocalDateTime createdFrom, LocalDateTime createdTo, boolean isVerified, int limit) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT user_id
+            FROM instructors
+            WHERE deleted_at IS NULL AND is_verified = :isVerified
+        """);
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("isVerified", isVerified)
+                .addValue("limit", limit);
+
+        if (createdFrom != null) {
+            sql.append(" AND created_at >= :createdFrom");
+            params.addValue("createdFrom", createdFrom);
+        }
+
+        if (createdTo != null) {
+            sql.append(" AND created_at < :createdTo");
+            params.addValue("createdTo", createdTo);
+        }
+
+        sql.append(" ORDER BY created_at ASC LIMIT :limit");
+
+        return namedParameterJdbcTemplate.queryForList(sql.toString(), params, UUID.class);
+    }
+
     public Object getInstructorStats(UUID userId) {
+        // Cada dimensão é calculada isoladamente para evitar o produto cartesiano lessons x vehicles x favorites
         String sql = """
-            SELECT 
-                COUNT(DISTINCT l.id) as total_lessons,
-                COUNT(DISTINCT CASE WHEN l.completed_at IS NOT NULL THEN l.id END) as completed_lessons,
-                COALESCE(SUM(CASE WHEN l.completed_at IS NOT NULL THEN l.price END), 0) as total_earnings,
-                COUNT(DISTINCT v.id) as total_vehicles,
-                COUNT(DISTINCT sf.id) as total_favorites
+            SELECT
+                ls.total_lessons,
+                ls.completed_lessons,
+                es.total_earnings,
+                vs.total_vehicles,
+                fs.total_favorites
             FROM instructors i
-            LEFT JOIN lessons l ON i.user_id = l.instructor_id AND l.deleted_at IS NULL
-            LEFT JOIN vehicles v ON i.user_id = v.instructor_id AND v.deleted_at IS NULL
-            LEFT JOIN student_favorites sf ON i.user_id = sf.instructor_id
+            CROSS JOIN LATERAL (
+                SELECT
+                    COUNT(*) as total_lessons,
+                    COUNT(*) FILTER (WHERE l.completed_at IS NOT NULL) as completed_lessons
+                FROM lessons l
+                WHERE l.instructor_id = i.user_id AND l.deleted_at IS NULL
+            ) ls
+            CROSS JOIN LATERAL (
+                SELECT COALESCE(SUM(r.completed_amount), 0) as total_earnings
+                FROM instructor_revenue_daily r
+                WHERE r.instructor_id = i.user_id
+            ) es
+            CROSS JOIN LATERAL (
+                SELECT COUNT(*) as total_vehicles
+                FROM vehicles v
+                WHERE v.instructor_id = i.user_id AND v.deleted_at IS NULL
+            ) vs
+            CROSS JOIN LATERAL (
+                SELECT COUNT(*) as total_favorites
+                FROM student_favorites sf
+                WHERE sf.instructor_id = i.user_id
+            ) fs
             WHERE i.user_id = ? AND i.deleted_at IS NULL
-            GROUP BY i.user_id
         """;
 
         try {
@@ -0,0 +1,155 @@
+package com.automatch.portal.dao;
+
+import com.automatch.portal.enums.EarningsGranularity;
+import com.automatch.portal.records.InstructorEarningsRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class InstructorRevenueDAO {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private static final String TABLE = "instructor_revenue_daily";
+
+    // Antes de qualquer applyDelta da transação, com todos os dias que ela vai tocar
+    public void lockDays(Collection<LocalDate> days) {
+        DailyRollupLocks.lockDaysShared(jdbcTemplate, TABLE, days);
+    }
+
+    public void applyDelta(UUID instructorId, LocalDate day, int completedLessons, BigDecimal completedAmount,
+                           int paidLessons, BigDecimal paidAmount) {
+        String sql = """
+            INSERT INTO instructor_revenue_daily (instructor_id, day, completed_lessons, completed_amount,
+                                                  paid_lessons, paid_amount, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (instructor_id, day) DO UPDATE
+            SET completed_lessons = instructor_revenue_daily.completed_lessons + EXCLUDED.completed_lessons,
+                completed_amount = instructor_revenue_daily.completed_amount + EXCLUDED.completed_amount,
+                paid_lessons = instructor_revenue_daily.paid_lessons + EXCLUDED.paid_lessons,
+                paid_amount = instructor_revenue_daily.paid_amount + EXCLUDED.paid_amount,
+                updated_at = EXCLUDED.updated_at
+        """;
+
+        jdbcTemplate.update(sql, instructorId, day, completedLessons, completedAmount, paidLessons, paidAmount,
+                LocalDateTime.now());
+    }
+
+    /**
+     * Recalcula a faixa [from, to) a partir de lessons; usar numa transação.
+     * O upsert grava valores absolutos, então a trava exclusiva dos dias vem antes da leitura:
+     * sem ela, um applyDelta concorrente seria sobrescrito pelo valor calculado sobre um snapshot antigo.
+     */
+    public int rebuildRange(LocalDate from, LocalDate to, Integer paidStatusId) {
+        DailyRollupLocks.lockRangeExclusive(jdbcTemplate, TABLE, from, to);
+
+        String sql = """
+            WITH fresh AS (
+                SELECT instructor_id,
+                       completed_at::date AS day,
+                       COUNT(*) AS completed_lessons,
+                       COALESCE(SUM(price), 0) AS completed_amount,
+                       COUNT(*) FILTER (WHERE payment_status_id = :paidStatusId) AS paid_lessons,
+                       COALESCE(SUM(price) FILTER (WHERE payment_status_id = :paidStatusId), 0) AS paid_amount
+                FROM lessons
+                WHERE instructor_id IS NOT NULL AND completed_at IS NOT NULL
+                  AND deleted_at IS NULL AND status_id IS DISTINCT FROM 3
+                  AND completed_at >= :fromTime AND completed_at < :toTime
+                GROUP BY instructor_id, completed_at::date
+            ), upserted AS (
+                INSERT INTO instructor_revenue_daily (instructor_id, day, completed_lessons, completed_amount,
+                                                      paid_lessons, paid_amount, updated_at)
+                SELECT instructor_id, day, completed_lessons, completed_amount, paid_lessons, paid_amount, :now
+                FROM fresh
+                ON CONFLICT (instructor_id, day) DO UPDATE
+                SET completed_lessons = EXCLUDED.completed_lessons,
+                    completed_amount = EXCLUDED.completed_amount,
+                    paid_lessons = EXCLUDED.paid_lessons,
+                    paid_amount = EXCLUDED.paid_amount,
+                    updated_at = EXCLUDED.updated_at
+                RETURNING 1
+            ), stale AS (
+                DELETE FROM instructor_revenue_daily r
+                WHERE r.day >= :from AND r.day < :to
+                  AND NOT EXISTS (SELECT 1 FROM fresh f WHERE f.instructor_id = r.instructor_id AND f.day = r.day)
+            )
+            SELECT COUNT(*) FROM upserted
+        """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("paidStatusId", paidStatusId)
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("fromTime", from.atStartOfDay())
+                .addValue("toTime", to.atStartOfDay())
+                .addValue("now", LocalDateTime.now());
+
+        Integer rows = namedParameterJdbcTemplate.queryForObject(sql, params, Integer.class);
+        return rows != null ? rows : 0;
+    }
+
+    public Optional<LocalDate> findFirstCompletedDay() {
+        String sql = """
+            SELECT MIN(completed_at)::date
+            FROM lessons
+            WHERE completed_at IS NOT NULL AND deleted_at IS NULL AND status_id IS DISTINCT FROM 3
+        """;
+
+        Date first = jdbcTemplate.queryForObject(sql, Date.class);
+        return Optional.ofNullable(first).map(Date::toLocalDate);
+    }
+
+    public Optional<LocalDate> findLastCompletedDay() {
+        String sql = """
+            SELECT MAX(completed_at)::date
+            FROM lessons
+            WHERE completed_at IS NOT NULL AND deleted_at IS NULL AND status_id IS DISTINCT FROM 3
+        """;
+
+        Date last = jdbcTemplate.queryForObject(sql, Date.class);
+        return Optional.ofNullable(last).map(Date::toLocalDate);
+    }
+
+    public boolean isEmpty() {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM instructor_revenue_daily)", Boolean.class);
+        return !Boolean.TRUE.equals(exists);
+    }
+
+    // Períodos sem aula concluída não aparecem; a unidade vem do enum, nunca da requisição
+    public List<InstructorEarningsRecord> findEarnings(UUID instructorId, LocalDate from, LocalDate to,
+                                                       EarningsGranularity granularity) {
+        String sql = """
+            SELECT date_trunc('%s', day)::date AS period_start,
+                   SUM(completed_lessons) AS completed_lessons,
+                   SUM(completed_amount) AS completed_amount,
+                   SUM(paid_lessons) AS paid_lessons,
+                   SUM(paid_amount) AS paid_amount
+            FROM instructor_revenue_daily
+            WHERE instructor_id = ? AND day >= ? AND day <= ?
+            GROUP BY period_start
+            ORDER BY period_start
+        """.formatted(granularity.getTruncUnit());
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new InstructorEarningsRecord(
+                rs.getDate("period_start").toLocalDate(),
+                rs.getLong("completed_lessons"),
+                rs.getBigDecimal("completed_amount"),
+                rs.getLong("paid_lessons"),
+                rs.getBigDecimal("paid_amount")
+        ), instructorId, from, to);
+    }
+}
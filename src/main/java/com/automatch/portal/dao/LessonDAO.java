@@ -12,6 +12,8 @@ import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -86,7 +88,8 @@ public class LessonDAO {
                 price = :price,
                 payment_status_id = :paymentStatusId,
                 payment_method_id = :paymentMethodId,
-                updated_at = :updatedAt
+                updated_at = :updatedAt,
+                completed_at = :completedAt
             WHERE id = :id AND deleted_at IS NULL
         """;
 
@@ -104,7 +107,8 @@ public class LessonDAO {
                 .addValue("price", lesson.getPrice())
                 .addValue("paymentStatusId", lesson.getPaymentStatusId())
                 .addValue("paymentMethodId", lesson.getPaymentMethodId())
-                .addValue("updatedAt", lesson.getUpdatedAt());
+                .addValue("updatedAt", lesson.getUpdatedAt())
+                .addValue("completedAt", lesson.getCompletedAt());
 
         int updated = namedParameterJdbcTemplate.update(sql, params);
         if (updated > 0) {
@@ -179,9 +183,15 @@ public class LessonDAO {
         return jdbcTemplate.query(sql, getRowMapper(), studentId, startDate, endDate);
     }
 
-    public List<LessonModel> findInstructorPendingPayment(UUID instructorId) {
-        String sql = "SELECT " + SELECT_FIELDS + " FROM lessons WHERE instructor_id = ? AND deleted_at IS NULL AND payment_status_id IN (1, 2)";
-        return jdbcTemplate.query(sql, getRowMapper(), instructorId);
+    public List<LessonModel> findInstructorPendingPayment(UUID instructorId, Collection<Integer> paymentStatusIds) {
+        if (paymentStatusIds.isEmpty()) {
+            return List.of();
+        }
+        String sql = "SELECT " + SELECT_FIELDS + " FROM lessons WHERE instructor_id = :instructorId AND deleted_at IS NULL AND payment_status_id IN (:paymentStatusIds)";
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("instructorId", instructorId)
+                .addValue("paymentStatusIds", paymentStatusIds);
+        return namedParameterJdbcTemplate.query(sql, params, getRowMapper());
     }
 
     public boolean delete(UUID id) {
@@ -202,18 +212,20 @@ public class LessonDAO {
         return updated > 0;
     }
 
+    // Aulas que ocupam instrutor/veículo: mesmo predicado dos índices parciais de agenda (V8)
+    private static final String ACTIVE_BOOKING = """
+        deleted_at IS NULL AND completed_at IS NULL AND status_id IS DISTINCT FROM 3
+    """;
+
     public boolean hasScheduleConflict(UUID instructorId, LocalDateTime startTime, LocalDateTime endTime, UUID excludeLessonId) {
-        StringBuilder sql = new StringBuilder("""
-        SELECT COUNT(*) FROM lessons 
-        WHERE instructor_id = :instructorId 
-        AND deleted_at IS NULL 
-        AND completed_at IS NULL
-        AND ((scheduled_at < :endTime AND (scheduled_at + (duration_minutes || ' minutes')::interval) > :startTime))
-    """);
+        StringBuilder sql = new StringBuilder("SELECT EXISTS (SELECT 1 FROM lessons WHERE instructor_id = :instructorId AND ")
+                .append(ACTIVE_BOOKING)
+                .append(" AND ends_at > :startTime AND scheduled_at < :endTime");
 
         if (excludeLessonId != null) {
             sql.append(" AND id != :excludeLessonId");
         }
+        sql.append(")");
 
         MapSqlParameterSource params = new MapSqlParameterSource()
                 .addValue("instructorId", instructorId)
@@ -224,76 +236,166 @@ public class LessonDAO {
             params.addValue("excludeLessonId", excludeLessonId);
         }
 
-        Integer count = namedParameterJdbcTemplate.queryForObject(sql.toString(), params, Integer.class);
-        return count != null && count > 0;
+        Boolean conflict = namedParameterJdbcTemplate.queryForObject(sql.toString(), params, Boolean.class);
+        return Boolean.TRUE.equals(conflict);
     }
 
-    public Map<String, Object> getInstructorStats(UUID instructorId) {
-        Map<String, Object> stats = new HashMap<>();
-
-        // Total de aulas
-        String totalSql = "SELECT COUNT(*) FROM lessons WHERE instructor_id = ? AND deleted_at IS NULL";
-        Integer totalLessons = jdbcTemplate.queryForObject(totalSql, Integer.class, instructorId);
-        stats.put("totalLessons", totalLessons != null ? totalLessons : 0);
+    public boolean hasVehicleConflict(UUID vehicleId, LocalDateTime startTime, LocalDateTime endTime, UUID excludeLessonId) {
+        StringBuilder sql = new StringBuilder("SELECT EXISTS (SELECT 1 FROM lessons WHERE vehicle_id = :vehicleId AND ")
+                .append(ACTIVE_BOOKING)
+                .append(" AND ends_at > :startTime AND scheduled_at < :endTime");
 
-        // Aulas completadas
-        String completedSql = "SELECT COUNT(*) FROM lessons WHERE instructor_id = ? AND deleted_at IS NULL AND completed_at IS NOT NULL";
-        Integer completedLessons = jdbcTemplate.queryForObject(completedSql, Integer.class, instructorId);
-        stats.put("completedLessons", completedLessons != null ? completedLessons : 0);
+        if (excludeLessonId != null) {
+            sql.append(" AND id != :excludeLessonId");
+        }
+        sql.append(")");
 
-        // Aulas agendadas
-        String scheduledSql = "SELECT COUNT(*) FROM lessons WHERE instructor_id = ? AND deleted_at IS NULL AND completed_at IS NULL AND scheduled_at > NOW()";
-        Integer scheduledLessons = jdbcTemplate.queryForObject(scheduledSql, Integer.class, instructorId);
-        stats.put("scheduledLessons", scheduledLessons != null ? scheduledLessons : 0);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("vehicleId", vehicleId)
+                .addValue("startTime", startTime)
+                .addValue("endTime", endTime);
 
-        // Aulas canceladas
-        String cancelledSql = "SELECT COUNT(*) FROM lessons WHERE instructor_id = ? AND deleted_at IS NULL AND status_id = 3"; // Supondo que 3 é o status de cancelado
-        Integer cancelledLessons = jdbcTemplate.queryForObject(cancelledSql, Integer.class, instructorId);
-        stats.put("cancelledLessons", cancelledLessons != null ? cancelledLessons : 0);
+        if (excludeLessonId != null) {
+            params.addValue("excludeLessonId", excludeLessonId);
+        }
 
-        return stats;
+        Boolean conflict = namedParameterJdbcTemplate.queryForObject(sql.toString(), params, Boolean.class);
+        return Boolean.TRUE.equals(conflict);
     }
 
-    public Map<String, Object> getStudentStats(UUID studentId) {
-        Map<String, Object> stats = new HashMap<>();
-
-        // Total de aulas
-        String totalSql = "SELECT COUNT(*) FROM lessons WHERE student_id = ? AND deleted_at IS NULL";
-        Integer totalLessons = jdbcTemplate.queryForObject(totalSql, Integer.class, studentId);
-        stats.put("totalLessons", totalLessons != null ? totalLessons : 0);
-
-        // Aulas completadas
-        String completedSql = "SELECT COUNT(*) FROM lessons WHERE student_id = ? AND deleted_at IS NULL AND completed_at IS NOT NULL";
-        Integer completedLessons = jdbcTemplate.queryForObject(completedSql, Integer.class, studentId);
-        stats.put("completedLessons", completedLessons != null ? completedLessons : 0);
+    // Uma consulta só: as contagens saem de uma única passada sobre as aulas do instrutor
+    public Map<String, Object> getInstructorStats(UUID instructorId) {
+        String sql = """
+            SELECT
+                COUNT(*) AS total_lessons,
+                COUNT(*) FILTER (WHERE completed_at IS NOT NULL) AS completed_lessons,
+                COUNT(*) FILTER (WHERE completed_at IS NULL AND scheduled_at > NOW()) AS scheduled_lessons,
+                COUNT(*) FILTER (WHERE status_id = 3) AS cancelled_lessons
+            FROM lessons
+            WHERE instructor_id = ? AND deleted_at IS NULL
+        """;
 
-        // Aulas agendadas
-        String scheduledSql = "SELECT COUNT(*) FROM lessons WHERE student_id = ? AND deleted_at IS NULL AND completed_at IS NULL AND scheduled_at > NOW()";
-        Integer scheduledLessons = jdbcTemplate.queryForObject(scheduledSql, Integer.class, studentId);
-        stats.put("scheduledLessons", scheduledLessons != null ? scheduledLessons : 0);
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("totalLessons", rs.getInt("total_lessons"));
+            stats.put("completedLessons", rs.getInt("completed_lessons"));
+            stats.put("scheduledLessons", rs.getInt("scheduled_lessons"));
+            stats.put("cancelledLessons", rs.getInt("cancelled_lessons")); // Supondo que 3 é o status de cancelado
+            return stats;
+        }, instructorId);
+    }
 
-        // Horas totais de aula
-        String hoursSql = "SELECT COALESCE(SUM(duration_minutes), 0) / 60.0 FROM lessons WHERE student_id = ? AND deleted_at IS NULL AND completed_at IS NOT NULL";
-        Double totalHours = jdbcTemplate.queryForObject(hoursSql, Double.class, studentId);
-        stats.put("totalHours", totalHours != null ? totalHours : 0.0);
+    public Map<String, Object> getStudentStats(UUID studentId) {
+        String sql = """
+            SELECT
+                COUNT(*) AS total_lessons,
+                COUNT(*) FILTER (WHERE completed_at IS NOT NULL) AS completed_lessons,
+                COUNT(*) FILTER (WHERE completed_at IS NULL AND scheduled_at > NOW()) AS scheduled_lessons,
+                COALESCE(SUM(duration_minutes) FILTER (WHERE completed_at IS NOT NULL), 0) / 60.0 AS total_hours
+            FROM lessons
+            WHERE student_id = ? AND deleted_at IS NULL
+        """;
 
-        return stats;
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("totalLessons", rs.getInt("total_lessons"));
+            stats.put("completedLessons", rs.getInt("completed_lessons"));
+            stats.put("scheduledLessons", rs.getInt("scheduled_lessons"));
+            stats.put("totalHours", rs.getDouble("total_hours"));
+            return stats;
+        }, studentId);
     }
 
+    // Lido do agregado diário (instructor_revenue_daily): custo proporcional aos dias, não às aulas
     public BigDecimal getInstructorRevenue(UUID instructorId) {
         String sql = """
-            SELECT COALESCE(SUM(price), 0) 
-            FROM lessons 
-            WHERE instructor_id = ? 
-            AND deleted_at IS NULL 
-            AND completed_at IS NOT NULL 
-            AND payment_status_id = 2
+            SELECT COALESCE(SUM(paid_amount), 0)
+            FROM instructor_revenue_daily
+            WHERE instructor_id = ?
         """;
 
         BigDecimal revenue = jdbcTemplate.queryForObject(sql, BigDecimal.class, instructorId);
         return revenue != null ? revenue : BigDecimal.ZERO;
     }
 
+    /**
+     * Propaga para lessons o status dos pagamentos ainda não sincronizados, num único UPDATE por lote.
+     * SKIP LOCKED deixa outras instâncias pegarem outro lote; as linhas de pagamento ficam travadas até o commit,
+     * então um callback concorrente espera e marca o pagamento como pendente de novo.
+     * Uma aula pode ter várias transações (ex.: nova tentativa após recusa): vale a do evento mais recente do provedor.
+     */
+    public PaymentStatusBatch applyPendingPaymentStatuses(int limit) {
+        String sql = """
+            WITH batch AS (
+                SELECT id, lesson_id, status_id, payment_method_id
+                FROM payments
+                WHERE lesson_synced = FALSE
+                ORDER BY updated_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), synced AS (
+                UPDATE payments p
+                SET lesson_synced = TRUE
+                FROM batch b
+                WHERE p.id = b.id
+                RETURNING 1
+            ), latest AS (
+                SELECT DISTINCT ON (p.lesson_id) p.lesson_id, p.status_id, p.payment_method_id
+                FROM payments p
+                WHERE p.lesson_id IN (SELECT lesson_id FROM batch)
+                AND p.deleted_at IS NULL
+                ORDER BY p.lesson_id, p.provider_event_at DESC NULLS LAST, p.created_at DESC
+            ), updated AS (
+                UPDATE lessons l
+                SET payment_status_id = b.status_id,
+                    payment_method_id = COALESCE(b.payment_method_id, l.payment_method_id),
+                    updated_at = ?
+                FROM latest b
+                JOIN lessons old ON old.id = b.lesson_id
+                WHERE l.id = b.lesson_id
+                AND l.deleted_at IS NULL
+                AND (l.payment_status_id IS DISTINCT FROM b.status_id
+                     OR (b.payment_method_id IS NOT NULL AND l.payment_method_id IS DISTINCT FROM b.payment_method_id))
+                RETURNING l.id, l.instructor_id, l.student_id, l.vehicle_id, l.scheduled_at, l.duration_minutes,
+                          l.status_id, l.address_id, l.price, l.payment_status_id, l.payment_method_id,
+                          l.created_at, l.updated_at, l.completed_at, l.deleted_at,
+                          old.payment_status_id AS previous_payment_status_id,
+                          old.payment_method_id AS previous_payment_method_id
+            )
+            -- Sempre ao menos uma linha, para devolver quantos pagamentos o lote pegou mesmo sem aula alterada
+            SELECT c.claimed, u.*
+            FROM (SELECT COUNT(*) AS claimed FROM synced) c
+            LEFT JOIN updated u ON true
+        """;
+
+        RowMapper<LessonModel> lessonMapper = getRowMapper();
+        int[] claimed = new int[1];
+        List<PaymentStatusChange> changes = new ArrayList<>();
+        jdbcTemplate.query(sql, rs -> {
+            claimed[0] = rs.getInt("claimed");
+            if (rs.getString("id") != null) {
+                changes.add(new PaymentStatusChange(
+                        lessonMapper.mapRow(rs, rs.getRow()),
+                        rs.getObject("previous_payment_status_id", Integer.class),
+                        rs.getObject("previous_payment_method_id", Integer.class)));
+            }
+        }, limit, LocalDateTime.now());
+
+        return new PaymentStatusBatch(claimed[0], changes);
+    }
+
+    // claimed: pagamentos marcados como sincronizados neste lote (base para decidir se há mais)
+    public record PaymentStatusBatch(
+            int claimed,
+            List<PaymentStatusChange> changes
+    ) {}
+
+    public record PaymentStatusChange(
+            LessonModel lesson,
+            Integer previousPaymentStatusId,
+            Integer previousPaymentMethodId
+    ) {}
+
     private RowMapper<LessonModel> getRowMapper() {
         return new RowMapper<LessonModel>() {
             @Override
@@ -0,0 +1,137 @@
+package com.automatch.portal.dao;
+
+import com.automatch.portal.mapper.ClassifierMapper;
+import com.automatch.portal.model.ClassifierModel;
+import com.automatch.portal.model.LessonModel;
+import com.automatch.portal.model.PaymentModel;
+import com.automatch.portal.service.ClassifierRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class PaymentDAO {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private static final String SELECT_FIELDS = """
+        id, lesson_id, amount, status_id, payment_method_id, transaction_id,
+        paid_at, created_at, updated_at, deleted_at
+    """;
+
+    /**
+     * Grava o callback do provedor numa única instrução, chaveada por transaction_id.
+     * Retorna vazio quando o callback é repetido ou mais antigo que o estado atual;
+     * true quando o pagamento foi criado e false quando o status mudou.
+     * Só a linha do pagamento é tocada: a aula é atualizada depois, em lote.
+     */
+    public Optional<Boolean> upsertFromProvider(UUID lessonId, BigDecimal amount, Integer statusId,
+                                                Integer paymentMethodId, String transactionId,
+                                                LocalDateTime paidAt, LocalDateTime eventAt) {
+        String sql = """
+            INSERT INTO payments (id, lesson_id, amount, status_id, payment_method_id, transaction_id,
+                                  paid_at, provider_event_at, lesson_synced, created_at, updated_at)
+            VALUES (:id, :lessonId, :amount, :statusId, :paymentMethodId, :transactionId,
+                    :paidAt, :eventAt, FALSE, :now, :now)
+            ON CONFLICT (transaction_id) DO UPDATE
+            SET status_id = EXCLUDED.status_id,
+                payment_method_id = COALESCE(EXCLUDED.payment_method_id, payments.payment_method_id),
+                paid_at = COALESCE(EXCLUDED.paid_at, payments.paid_at),
+                provider_event_at = EXCLUDED.provider_event_at,
+                lesson_synced = FALSE,
+                updated_at = EXCLUDED.updated_at
+            WHERE payments.deleted_at IS NULL
+            AND payments.status_id IS DISTINCT FROM EXCLUDED.status_id
+            AND (payments.provider_event_at IS NULL OR EXCLUDED.provider_event_at >= payments.provider_event_at)
+            RETURNING (xmax = 0) AS inserted
+        """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", UUID.randomUUID())
+                .addValue("lessonId", lessonId)
+                .addValue("amount", amount)
+                .addValue("statusId", statusId)
+                .addValue("paymentMethodId", paymentMethodId)
+                .addValue("transactionId", transactionId)
+                .addValue("paidAt", paidAt)
+                .addValue("eventAt", eventAt)
+                .addValue("now", LocalDateTime.now());
+
+        List<Boolean> result = namedParameterJdbcTemplate.query(sql, params, (rs, rowNum) -> rs.getBoolean("inserted"));
+        return result.stream().findFirst();
+    }
+
+    public Optional<PaymentModel> findByTransactionId(String transactionId) {
+        String sql = "SELECT " + SELECT_FIELDS + " FROM payments WHERE transaction_id = ? AND deleted_at IS NULL";
+        List<PaymentModel> result = jdbcTemplate.query(sql, getRowMapper(), transactionId);
+        return result.stream().findFirst();
+    }
+
+    // Mesma regra da propagação: a transação com o evento mais recente do provedor
+    public Optional<PaymentModel> findByLessonId(UUID lessonId) {
+        String sql = "SELECT " + SELECT_FIELDS + """
+            FROM payments
+            WHERE lesson_id = ? AND deleted_at IS NULL
+            ORDER BY provider_event_at DESC NULLS LAST, created_at DESC
+            LIMIT 1
+        """;
+        List<PaymentModel> result = jdbcTemplate.query(sql, getRowMapper(), lessonId);
+        return result.stream().findFirst();
+    }
+
+    public int countPendingSync() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payments WHERE lesson_synced = FALSE", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    // A aula vem só com o ID; os classificadores são completados pelo ClassifierRegistry
+    private RowMapper<PaymentModel> getRowMapper() {
+        return (rs, rowNum) -> {
+            PaymentModel payment = new PaymentModel();
+            payment.setId(rs.getObject("id", UUID.class));
+
+            UUID lessonId = rs.getObject("lesson_id", UUID.class);
+            if (lessonId != null) {
+                LessonModel lesson = new LessonModel();
+                lesson.setId(lessonId);
+                payment.setLesson(lesson);
+            }
+
+            payment.setAmount(rs.getBigDecimal("amount"));
+            payment.setStatus(classifier(rs.getObject("status_id", Integer.class)));
+            payment.setPaymentMethod(classifier(rs.getObject("payment_method_id", Integer.class)));
+            payment.setTransactionId(rs.getString("transaction_id"));
+            payment.setPaidAt(toLocalDateTime(rs.getTimestamp("paid_at")));
+            payment.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+            payment.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+            payment.setDeletedAt(toLocalDateTime(rs.getTimestamp("deleted_at")));
+            return payment;
+        };
+    }
+
+    private ClassifierModel classifier(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        return ClassifierRegistry.snapshot().find(id)
+                .map(ClassifierMapper::fromRecord)
+                .orElseGet(() -> new ClassifierModel(id, null, null, null));
+    }
+
+    private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
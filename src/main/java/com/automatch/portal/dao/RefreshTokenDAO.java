@@ -0,0 +1,81 @@
+package com.automatch.portal.dao;
+
+import com.automatch.portal.model.RefreshTokenModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class RefreshTokenDAO {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(RefreshTokenModel token) {
+        String sql = """
+            INSERT INTO refresh_tokens (id, user_id, family_id, token_hash, access_token_id, expires_at, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+        """;
+
+        jdbcTemplate.update(sql, token.getId(), token.getUserId(), token.getFamilyId(), token.getTokenHash(),
+                token.getAccessTokenId(), token.getExpiresAt(), token.getCreatedAt());
+    }
+
+    // Trava a linha: duas trocas simultâneas do mesmo refresh token não podem passar as duas
+    public Optional<RefreshTokenModel> findByHashForUpdate(String tokenHash) {
+        String sql = """
+            SELECT id, user_id, family_id, token_hash, access_token_id, expires_at, created_at, used_at, revoked_at
+            FROM refresh_tokens
+            WHERE token_hash = ?
+            FOR UPDATE
+        """;
+
+        List<RefreshTokenModel> result = jdbcTemplate.query(sql, getRowMapper(), tokenHash);
+        return result.stream().findFirst();
+    }
+
+    public void markUsed(UUID id) {
+        jdbcTemplate.update("UPDATE refresh_tokens SET used_at = ? WHERE id = ?", LocalDateTime.now(), id);
+    }
+
+    // Revoga a família inteira; retorna os tokens revogados para invalidar os access tokens emitidos por eles
+    public List<RefreshTokenModel> revokeFamily(UUID familyId) {
+        String sql = """
+            UPDATE refresh_tokens
+            SET revoked_at = ?
+            WHERE family_id = ? AND revoked_at IS NULL
+            RETURNING id, user_id, family_id, token_hash, access_token_id, expires_at, created_at, used_at, revoked_at
+        """;
+
+        return jdbcTemplate.query(sql, getRowMapper(), LocalDateTime.now(), familyId);
+    }
+
+    public int deleteExpired(LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM refresh_tokens WHERE expires_at < ?", before);
+    }
+
+    private RowMapper<RefreshTokenModel> getRowMapper() {
+        return (rs, rowNum) -> new RefreshTokenModel(
+                rs.getObject("id", UUID.class),
+                rs.getObject("user_id", UUID.class),
+                rs.getObject("family_id", UUID.class),
+                rs.getString("token_hash"),
+                rs.getObject("access_token_id", UUID.class),
+                toLocalDateTime(rs.getTimestamp("expires_at")),
+                toLocalDateTime(rs.getTimestamp("created_at")),
+                toLocalDateTime(rs.getTimestamp("used_at")),
+                toLocalDateTime(rs.getTimestamp("revoked_at"))
+        );
+    }
+
+    private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.automatch.portal.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class RevokedTokenDAO {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record RevokedToken(UUID tokenId, LocalDateTime expiresAt) {
+    }
+
+    public void insert(UUID tokenId, UUID userId, LocalDateTime expiresAt) {
+        String sql = """
+            INSERT INTO revoked_tokens (token_id, user_id, expires_at, revoked_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (token_id) DO NOTHING
+        """;
+
+        jdbcTemplate.update(sql, tokenId, userId, expiresAt, LocalDateTime.now());
+    }
+
+    // Delta para a sincronização entre nós; ainda válidos (não expirados)
+    public List<RevokedToken> findRevokedSince(LocalDateTime since) {
+        String sql = """
+            SELECT token_id, expires_at
+            FROM revoked_tokens
+            WHERE revoked_at >= ? AND expires_at > ?
+        """;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new RevokedToken(
+                rs.getObject("token_id", UUID.class),
+                rs.getTimestamp("expires_at").toLocalDateTime()
+        ), since, LocalDateTime.now());
+    }
+
+    public int deleteExpired(LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at < ?", before);
+    }
+}
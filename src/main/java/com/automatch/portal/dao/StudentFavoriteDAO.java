@@ -2,6 +2,7 @@ package com.automatch.portal.dao;
 
 import com.automatch.portal.model.StudentFavoriteModel;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -11,9 +12,12 @@ import org.springframework.stereotype.Repository;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 
 @Repository
 @RequiredArgsConstructor
@@ -135,6 +139,45 @@ public class StudentFavoriteDAO {
         return count != null && count > 0;
     }
 
+    // Insere só os favoritos que ainda não existem; retorna os instrutores realmente inseridos
+    public List<UUID> insertMissing(UUID studentId, List<UUID> instructorIds) {
+        String sql = """
+            INSERT INTO student_favorites (id, student_id, instructor_id, created_at)
+            SELECT t.id, ?, t.instructor_id, CURRENT_TIMESTAMP
+            FROM unnest(?::uuid[], ?::uuid[]) AS t(id, instructor_id)
+            JOIN instructors i ON i.user_id = t.instructor_id AND i.deleted_at IS NULL
+            WHERE t.instructor_id <> ?
+            ON CONFLICT (student_id, instructor_id) DO NOTHING
+            RETURNING instructor_id
+        """;
+
+        UUID[] ids = new UUID[instructorIds.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID();
+        }
+
+        return jdbcTemplate.query(sql, ps -> {
+            ps.setObject(1, studentId);
+            ps.setArray(2, ps.getConnection().createArrayOf("uuid", ids));
+            ps.setArray(3, ps.getConnection().createArrayOf("uuid", instructorIds.toArray()));
+            ps.setObject(4, studentId);
+        }, (rs, rowNum) -> rs.getObject("instructor_id", UUID.class));
+    }
+
+    // Remove tudo que não está no conjunto desejado; retorna os instrutores removidos
+    public List<UUID> deleteAllExcept(UUID studentId, List<UUID> instructorIds) {
+        String sql = """
+            DELETE FROM student_favorites
+            WHERE student_id = ? AND instructor_id <> ALL(?::uuid[])
+            RETURNING instructor_id
+        """;
+
+        return jdbcTemplate.query(sql, ps -> {
+            ps.setObject(1, studentId);
+            ps.setArray(2, ps.getConnection().createArrayOf("uuid", instructorIds.toArray()));
+        }, (rs, rowNum) -> rs.getObject("instructor_id", UUID.class));
+    }
+
     public boolean delete(UUID id) {
         String sql = "DELETE FROM student_favorites WHERE id = ?";
         int deleted = jdbcTemplate.update(sql, id);
@@ -146,9 +189,9 @@ public class StudentFavoriteDAO {
         return jdbcTemplate.update(sql, studentId, instructorId);
     }
 
-    public int deleteAllByStudent(UUID studentId) {
-        String sql = "DELETE FROM student_favorites WHERE student_id = ?";
-        return jdbcTemplate.update(sql, studentId);
+    public List<UUID> deleteAllByStudent(UUID studentId) {
+        String sql = "DELETE FROM student_favorites WHERE student_id = ? RETURNING instructor_id";
+        return jdbcTemplate.queryForList(sql, UUID.class, studentId);
     }
 
     public int countByStudent(UUID studentId) {
@@ -157,26 +200,45 @@ public class StudentFavoriteDAO {
         return count != null ? count : 0;
     }
 
+    // Lê o contador persistido em instructors.favorite_count (sem GROUP BY)
     public int countByInstructor(UUID instructorId) {
-        String sql = "SELECT COUNT(*) FROM student_favorites WHERE instructor_id = ?";
-        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, instructorId);
-        return count != null ? count : 0;
+        String sql = "SELECT favorite_count FROM instructors WHERE user_id = ?";
+        try {
+            Integer count = jdbcTemplate.queryForObject(sql, Integer.class, instructorId);
+            return count != null ? count : 0;
+        } catch (org.springframework.dao.EmptyResultDataAccessException e) {
+            return 0;
+        }
     }
 
     public List<UUID> findTopFavoriteInstructors(int limit) {
         String sql = """
-            SELECT instructor_id, COUNT(*) as favorite_count
-            FROM student_favorites
-            GROUP BY instructor_id
+            SELECT user_id
+            FROM instructors
+            WHERE deleted_at IS NULL AND favorite_count > 0
             ORDER BY favorite_count DESC
             LIMIT ?
         """;
 
         return jdbcTemplate.query(sql,
-                (rs, rowNum) -> UUID.fromString(rs.getString("instructor_id")),
+                (rs, rowNum) -> UUID.fromString(rs.getString("user_id")),
                 limit);
     }
 
+    // Aplica os deltas acumulados em memória em um único batch
+    public void applyFavoriteCountDeltas(Map<UUID, Long> deltas) {
+        String sql = "UPDATE instructors SET favorite_count = GREATEST(favorite_count + ?, 0) WHERE user_id = ?";
+
+        // Ordem fixa para evitar deadlock entre flushes concorrentes de instâncias diferentes
+        List<Map.Entry<UUID, Long>> entries = new ArrayList<>(deltas.entrySet());
+        entries.sort(Map.Entry.comparingByKey());
+
+        jdbcTemplate.batchUpdate(sql, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getValue());
+            ps.setObject(2, entry.getKey());
+        });
+    }
+
     public int countAll() {
         String sql = "SELECT COUNT(*) FROM student_favorites";
         Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
@@ -185,14 +247,13 @@ public class StudentFavoriteDAO {
 
     public Object getInstructorPopularityStats(UUID instructorId) {
         String sql = """
-            SELECT 
-                COUNT(*) as total_favorites,
-                COUNT(DISTINCT student_id) as unique_students,
-                MIN(created_at) as first_favorited_at,
-                MAX(created_at) as last_favorited_at
-            FROM student_favorites
-            WHERE instructor_id = ?
-            GROUP BY instructor_id
+            SELECT
+                i.favorite_count as total_favorites,
+                i.favorite_count as unique_students,
+                (SELECT MIN(created_at) FROM student_favorites WHERE instructor_id = i.user_id) as first_favorited_at,
+                (SELECT MAX(created_at) FROM student_favorites WHERE instructor_id = i.user_id) as last_favorited_at
+            FROM instructors i
+            WHERE i.user_id = ?
         """;
 
         try {
@@ -218,6 +279,20 @@ public class StudentFavoriteDAO {
         return jdbcTemplate.queryForList(sql, UUID.class, studentId1, studentId2);
     }
 
+    // Percorre os pares aluno/instrutor sem materializar a lista; instrutores removidos ou inativos ficam de fora
+    public void forEachFavoritePair(BiConsumer<UUID, UUID> consumer) {
+        String sql = """
+            SELECT sf.student_id, sf.instructor_id
+            FROM student_favorites sf
+            JOIN instructors i ON i.user_id = sf.instructor_id
+            JOIN users u ON u.id = i.user_id
+            WHERE i.deleted_at IS NULL AND u.deleted_at IS NULL AND u.is_active
+        """;
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> consumer.accept(
+                rs.getObject("student_id", UUID.class),
+                rs.getObject("instructor_id", UUID.class)));
+    }
+
     private RowMapper<StudentFavoriteModel> getRowMapper() {
         return new RowMapper<StudentFavoriteModel>() {
             @Override
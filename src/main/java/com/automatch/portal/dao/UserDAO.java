@@ -10,7 +10,9 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -72,6 +74,40 @@ public class UserDAO {
         return findById(id).orElse(null);
     }
 
+    /**
+     * Insere sem reler a linha: o chamador já tem todos os campos (inclusive o endereço).
+     * Email repetido sobe como DuplicateKeyException do índice único, sem COUNT(*) antes.
+     */
+    public UserModel insertNew(UserModel user) {
+        String sql = """
+            INSERT INTO users (id, full_name, email, password, phone, role, is_active, 
+                              profile_image_url, address_id, created_at, updated_at)
+            VALUES (:id, :fullName, :email, :password, :phone, :role, :isActive, 
+                    :profileImageUrl, :addressId, :createdAt, :updatedAt)
+        """;
+
+        LocalDateTime now = LocalDateTime.now();
+        user.setId(UUID.randomUUID());
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", user.getId())
+                .addValue("fullName", user.getFullName())
+                .addValue("email", user.getEmail())
+                .addValue("password", user.getPassword())
+                .addValue("phone", user.getPhone())
+                .addValue("role", user.getRole() != null ? user.getRole().name() : null)
+                .addValue("isActive", user.getIsActive())
+                .addValue("profileImageUrl", user.getProfileImageUrl())
+                .addValue("addressId", user.getAddress() != null ? user.getAddress().getId() : null)
+                .addValue("createdAt", user.getCreatedAt())
+                .addValue("updatedAt", user.getUpdatedAt());
+
+        namedParameterJdbcTemplate.update(sql, params);
+        return user;
+    }
+
     private UserModel update(UserModel user) {
         String sql = """
             UPDATE users 
@@ -193,11 +229,44 @@ public class UserDAO {
         return count != null && count > 0;
     }
 
+    public boolean updateProfileImageUrl(UUID userId, String profileImageUrl) {
+        String sql = "UPDATE users SET profile_image_url = ?, updated_at = ? WHERE id = ? AND deleted_at IS NULL";
+        return jdbcTemplate.update(sql, profileImageUrl, LocalDateTime.now(), userId) > 0;
+    }
+
+    public void updatePassword(UUID userId, String passwordHash) {
+        String sql = "UPDATE users SET password = ? WHERE id = ?";
+        jdbcTemplate.update(sql, passwordHash, userId);
+    }
+
     public void updateLastLogin(UUID userId) {
         String sql = "UPDATE users SET last_loggin = ? WHERE id = ?";
         jdbcTemplate.update(sql, LocalDateTime.now(), userId);
     }
 
+    // Um único UPDATE ... FROM (VALUES ...) por lote; nunca volta o horário para trás
+    public int updateLastLoginBatch(List<Map.Entry<UUID, LocalDateTime>> lastLogins) {
+        if (lastLogins.isEmpty()) {
+            return 0;
+        }
+
+        String values = String.join(", ", Collections.nCopies(lastLogins.size(), "(?::uuid, ?::timestamp)"));
+        String sql = """
+            UPDATE users u
+            SET last_loggin = v.last_login
+            FROM (VALUES %s) AS v(id, last_login)
+            WHERE u.id = v.id
+              AND (u.last_loggin IS NULL OR u.last_loggin < v.last_login)
+        """.formatted(values);
+
+        Object[] params = new Object[lastLogins.size() * 2];
+        for (int i = 0; i < lastLogins.size(); i++) {
+            params[i * 2] = lastLogins.get(i).getKey();
+            params[i * 2 + 1] = lastLogins.get(i).getValue();
+        }
+        return jdbcTemplate.update(sql, params);
+    }
+
     public List<UserModel> findByRole(UserRole role) {
         String sql = "SELECT " + SELECT_FIELDS + FROM_CLAUSE +
                 "WHERE u.role = ? AND u.deleted_at IS NULL AND u.is_active = true";
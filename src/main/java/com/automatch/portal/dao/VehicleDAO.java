@@ -1,6 +1,8 @@
 package com.automatch.portal.dao;
 
 import com.automatch.portal.model.VehicleModel;
+import com.automatch.portal.records.VehicleSearchFilterRecord;
+import com.automatch.portal.util.TextNormalizer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -12,6 +14,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -206,6 +209,221 @@ public class VehicleDAO {
         return updated > 0;
     }
 
+    // Ações em massa: um UPDATE por lote, só nas linhas elegíveis; retorna os IDs alterados
+    public List<UUID> setApprovedBatch(List<UUID> ids, boolean approved) {
+        String sql = """
+            UPDATE vehicles
+            SET is_approved = ?,
+                updated_at = ?
+            WHERE id = ANY(?::uuid[]) AND deleted_at IS NULL AND is_approved IS DISTINCT FROM ?
+            RETURNING id
+        """;
+
+        return jdbcTemplate.query(sql, ps -> {
+            ps.setBoolean(1, approved);
+            ps.setObject(2, LocalDateTime.now());
+            ps.setArray(3, ps.getConnection().createArrayOf("uuid", ids.toArray()));
+            ps.setBoolean(4, approved);
+        }, (rs, rowNum) -> rs.getObject("id", UUID.class));
+    }
+
+    public List<VehicleModel> findByIdsWithDeleted(List<UUID> ids) {
+        String sql = """
+            SELECT id, instructor_id, license_plate, model, brand, year, color,
+                   vehicle_image_url, transmission_type_id, category_id, has_dual_controls,
+                   has_air_conditioning, is_approved, is_available, last_maintenance_date,
+                   created_at, updated_at, deleted_at
+            FROM vehicles
+            WHERE id = ANY(?::uuid[])
+        """;
+
+        return jdbcTemplate.query(sql,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())),
+                getRowMapper());
+    }
+
+    public List<UUID> findIdsByFilter(UUID instructorId, LocalDateTime createdFrom, LocalDateTime createdTo,
+                                      boolean isApproved, int limit) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT id
+            FROM vehicles
+            WHERE deleted_at IS NULL AND is_approved = :isApproved
+        """);
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("isApproved", isApproved)
+                .addValue("limit", limit);
+
+        if (instructorId != null) {
+            sql.append(" AND instructor_id = :instructorId");
+            params.addValue("instructorId", instructorId);
+        }
+
+        if (createdFrom != null) {
+            sql.append(" AND created_at >= :createdFrom");
+            params.addValue("createdFrom", createdFrom);
+        }
+
+        if (createdTo != null) {
+            sql.append(" AND created_at < :createdTo");
+            params.addValue("createdTo", createdTo);
+        }
+
+        sql.append(" ORDER BY created_at ASC LIMIT :limit");
+
+        return namedParameterJdbcTemplate.queryForList(sql.toString(), params, UUID.class);
+    }
+
+    // Trava a linha do veículo até o fim da transação: serializa reservas concorrentes do mesmo veículo
+    public Optional<BookingLock> lockForBooking(UUID id) {
+        String sql = """
+            SELECT instructor_id, is_approved, is_available
+            FROM vehicles
+            WHERE id = ? AND deleted_at IS NULL
+            FOR UPDATE
+        """;
+        List<BookingLock> result = jdbcTemplate.query(sql, (rs, rowNum) -> new BookingLock(
+                rs.getObject("instructor_id", UUID.class),
+                rs.getBoolean("is_approved"),
+                rs.getBoolean("is_available")
+        ), id);
+        return result.stream().findFirst();
+    }
+
+    // Estado do veículo lido sob a trava da reserva
+    public record BookingLock(UUID instructorId, boolean approved, boolean available) {}
+
+    /**
+     * Escolhe e trava, numa única consulta, um veículo aprovado e disponível do instrutor,
+     * compatível com câmbio/categoria e sem aula no intervalo. Veículos travados por outra
+     * reserva em andamento são pulados.
+     */
+    public Optional<UUID> lockFreeVehicle(UUID instructorId, Integer transmissionTypeId, Integer categoryId,
+                                          LocalDateTime startTime, LocalDateTime endTime,
+                                          UUID excludeLessonId, Collection<UUID> excludeVehicleIds) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT v.id
+            FROM vehicles v
+            WHERE v.instructor_id = :instructorId
+              AND v.deleted_at IS NULL AND v.is_approved = true AND v.is_available = true
+        """);
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("instructorId", instructorId)
+                .addValue("startTime", startTime)
+                .addValue("endTime", endTime);
+
+        if (transmissionTypeId != null) {
+            sql.append(" AND v.transmission_type_id = :transmissionTypeId");
+            params.addValue("transmissionTypeId", transmissionTypeId);
+        }
+
+        if (categoryId != null) {
+            sql.append(" AND v.category_id = :categoryId");
+            params.addValue("categoryId", categoryId);
+        }
+
+        if (!excludeVehicleIds.isEmpty()) {
+            sql.append(" AND v.id NOT IN (:excludeVehicleIds)");
+            params.addValue("excludeVehicleIds", excludeVehicleIds);
+        }
+
+        sql.append("""
+              AND NOT EXISTS (
+                  SELECT 1 FROM lessons l
+                  WHERE l.vehicle_id = v.id
+                    AND l.deleted_at IS NULL AND l.completed_at IS NULL AND l.status_id IS DISTINCT FROM 3
+                    AND l.ends_at > :startTime AND l.scheduled_at < :endTime
+        """);
+
+        if (excludeLessonId != null) {
+            sql.append(" AND l.id != :excludeLessonId");
+            params.addValue("excludeLessonId", excludeLessonId);
+        }
+
+        sql.append("""
+              )
+            ORDER BY v.created_at ASC, v.id ASC
+            LIMIT 1
+            FOR UPDATE OF v SKIP LOCKED
+        """);
+
+        List<UUID> result = namedParameterJdbcTemplate.queryForList(sql.toString(), params, UUID.class);
+        return result.stream().findFirst();
+    }
+
+    /**
+     * Busca combinada em uma única consulta; a cidade só entra no JOIN quando informada.
+     * Retorna até limit linhas a partir de offset (o serviço pede uma a mais para saber se há próxima página).
+     */
+    public List<VehicleModel> search(VehicleSearchFilterRecord filter, int limit, int offset) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT v.id, v.instructor_id, v.license_plate, v.model, v.brand, v.year, v.color,
+                   v.vehicle_image_url, v.transmission_type_id, v.category_id, v.has_dual_controls,
+                   v.has_air_conditioning, v.is_approved, v.is_available, v.last_maintenance_date,
+                   v.created_at, v.updated_at, v.deleted_at
+            FROM vehicles v
+        """);
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+
+        if (filter.city() != null && !filter.city().trim().isEmpty()) {
+            sql.append("""
+                JOIN users u ON u.id = v.instructor_id
+                JOIN addresses a ON a.id = u.address_id AND a.city_key = :cityKey
+            """);
+            params.addValue("cityKey", TextNormalizer.key(filter.city()));
+        }
+
+        sql.append(" WHERE v.deleted_at IS NULL");
+
+        if (filter.isApproved() != null) {
+            sql.append(" AND v.is_approved = :isApproved");
+            params.addValue("isApproved", filter.isApproved());
+        }
+
+        if (filter.isAvailable() != null) {
+            sql.append(" AND v.is_available = :isAvailable");
+            params.addValue("isAvailable", filter.isAvailable());
+        }
+
+        if (filter.transmissionTypeId() != null) {
+            sql.append(" AND v.transmission_type_id = :transmissionTypeId");
+            params.addValue("transmissionTypeId", filter.transmissionTypeId());
+        }
+
+        if (filter.categoryId() != null) {
+            sql.append(" AND v.category_id = :categoryId");
+            params.addValue("categoryId", filter.categoryId());
+        }
+
+        if (filter.minYear() != null) {
+            sql.append(" AND v.year >= :minYear");
+            params.addValue("minYear", filter.minYear());
+        }
+
+        if (filter.maxYear() != null) {
+            sql.append(" AND v.year <= :maxYear");
+            params.addValue("maxYear", filter.maxYear());
+        }
+
+        if (filter.hasDualControls() != null) {
+            sql.append(" AND v.has_dual_controls = :hasDualControls");
+            params.addValue("hasDualControls", filter.hasDualControls());
+        }
+
+        if (filter.hasAirConditioning() != null) {
+            sql.append(" AND v.has_air_conditioning = :hasAirConditioning");
+            params.addValue("hasAirConditioning", filter.hasAirConditioning());
+        }
+
+        sql.append(" ORDER BY v.created_at DESC, v.id DESC LIMIT :limit OFFSET :offset");
+
+        return namedParameterJdbcTemplate.query(sql.toString(), params, getRowMapper());
+    }
+
     public Optional<VehicleModel> findByLicensePlate(String licensePlate) {
         String sql = """
             SELECT id, instructor_id, license_plate, model, brand, year, color, 
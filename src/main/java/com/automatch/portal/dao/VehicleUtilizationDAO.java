@@ -0,0 +1,189 @@
+package com.automatch.portal.dao;
+
+import com.automatch.portal.records.VehicleDailyUtilizationRecord;
+import com.automatch.portal.records.VehicleUtilizationRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class VehicleUtilizationDAO {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private static final String TABLE = "vehicle_daily_utilization";
+
+    // Antes de qualquer applyDelta da transação, com todos os dias que ela vai tocar
+    public void lockDays(Collection<LocalDate> days) {
+        DailyRollupLocks.lockDaysShared(jdbcTemplate, TABLE, days);
+    }
+
+    public void applyDelta(UUID vehicleId, LocalDate day, int lessonsCount, int bookedMinutes, int completedMinutes) {
+        String sql = """
+            INSERT INTO vehicle_daily_utilization (vehicle_id, day, lessons_count, booked_minutes, completed_minutes, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (vehicle_id, day) DO UPDATE
+            SET lessons_count = vehicle_daily_utilization.lessons_count + EXCLUDED.lessons_count,
+                booked_minutes = vehicle_daily_utilization.booked_minutes + EXCLUDED.booked_minutes,
+                completed_minutes = vehicle_daily_utilization.completed_minutes + EXCLUDED.completed_minutes,
+                updated_at = EXCLUDED.updated_at
+        """;
+
+        jdbcTemplate.update(sql, vehicleId, day, lessonsCount, bookedMinutes, completedMinutes, LocalDateTime.now());
+    }
+
+    /**
+     * Recalcula a faixa [from, to) a partir de lessons; usar numa transação.
+     * Grava valores absolutos com upsert e remove as linhas da faixa que não têm mais aulas.
+     * A trava exclusiva dos dias vem antes da leitura: sem ela, o valor absoluto calculado
+     * sobre um snapshot antigo sobrescreveria um applyDelta concorrente.
+     */
+    public int rebuildRange(LocalDate from, LocalDate to) {
+        DailyRollupLocks.lockRangeExclusive(jdbcTemplate, TABLE, from, to);
+
+        String sql = """
+            WITH fresh AS (
+                SELECT vehicle_id,
+                       scheduled_at::date AS day,
+                       COUNT(*) AS lessons_count,
+                       COALESCE(SUM(duration_minutes), 0) AS booked_minutes,
+                       COALESCE(SUM(duration_minutes) FILTER (WHERE completed_at IS NOT NULL), 0) AS completed_minutes
+                FROM lessons
+                WHERE vehicle_id IS NOT NULL AND deleted_at IS NULL AND status_id IS DISTINCT FROM 3
+                  AND scheduled_at >= :fromTime AND scheduled_at < :toTime
+                GROUP BY vehicle_id, scheduled_at::date
+            ), upserted AS (
+                INSERT INTO vehicle_daily_utilization (vehicle_id, day, lessons_count, booked_minutes, completed_minutes, updated_at)
+                SELECT vehicle_id, day, lessons_count, booked_minutes, completed_minutes, :now
+                FROM fresh
+                ON CONFLICT (vehicle_id, day) DO UPDATE
+                SET lessons_count = EXCLUDED.lessons_count,
+                    booked_minutes = EXCLUDED.booked_minutes,
+                    completed_minutes = EXCLUDED.completed_minutes,
+                    updated_at = EXCLUDED.updated_at
+                RETURNING 1
+            ), stale AS (
+                DELETE FROM vehicle_daily_utilization u
+                WHERE u.day >= :from AND u.day < :to
+                  AND NOT EXISTS (SELECT 1 FROM fresh f WHERE f.vehicle_id = u.vehicle_id AND f.day = u.day)
+            )
+            SELECT COUNT(*) FROM upserted
+        """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("fromTime", from.atStartOfDay())
+                .addValue("toTime", to.atStartOfDay())
+                .addValue("now", LocalDateTime.now());
+
+        Integer rows = namedParameterJdbcTemplate.queryForObject(sql, params, Integer.class);
+        return rows != null ? rows : 0;
+    }
+
+    public Optional<LocalDate> findFirstLessonDay() {
+        String sql = """
+            SELECT MIN(scheduled_at)::date
+            FROM lessons
+            WHERE vehicle_id IS NOT NULL AND deleted_at IS NULL AND status_id IS DISTINCT FROM 3
+        """;
+
+        Date first = jdbcTemplate.queryForObject(sql, Date.class);
+        return Optional.ofNullable(first).map(Date::toLocalDate);
+    }
+
+    public Optional<LocalDate> findLastLessonDay() {
+        String sql = """
+            SELECT MAX(scheduled_at)::date
+            FROM lessons
+            WHERE vehicle_id IS NOT NULL AND deleted_at IS NULL AND status_id IS DISTINCT FROM 3
+        """;
+
+        Date last = jdbcTemplate.queryForObject(sql, Date.class);
+        return Optional.ofNullable(last).map(Date::toLocalDate);
+    }
+
+    public boolean isEmpty() {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM vehicle_daily_utilization)", Boolean.class);
+        return !Boolean.TRUE.equals(exists);
+    }
+
+    /**
+     * Totais por veículo no período, lidos só do agregado. O uso desde a última manutenção
+     * considera todo o histórico a partir de last_maintenance_date.
+     */
+    public List<VehicleUtilizationRecord> findFleetReport(LocalDate from, LocalDate to, UUID instructorId) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT v.id, v.instructor_id, v.license_plate, v.last_maintenance_date,
+                   COALESCE(r.lessons_count, 0) AS lessons_count,
+                   COALESCE(r.booked_minutes, 0) AS booked_minutes,
+                   COALESCE(r.completed_minutes, 0) AS completed_minutes,
+                   COALESCE(m.completed_minutes, 0) AS completed_minutes_since_maintenance
+            FROM vehicles v
+            LEFT JOIN LATERAL (
+                SELECT SUM(u.lessons_count) AS lessons_count,
+                       SUM(u.booked_minutes) AS booked_minutes,
+                       SUM(u.completed_minutes) AS completed_minutes
+                FROM vehicle_daily_utilization u
+                WHERE u.vehicle_id = v.id AND u.day >= :from AND u.day <= :to
+            ) r ON true
+            LEFT JOIN LATERAL (
+                SELECT SUM(u.completed_minutes) AS completed_minutes
+                FROM vehicle_daily_utilization u
+                WHERE u.vehicle_id = v.id
+                  AND (v.last_maintenance_date IS NULL OR u.day >= v.last_maintenance_date)
+            ) m ON true
+            WHERE v.deleted_at IS NULL
+        """);
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to);
+
+        if (instructorId != null) {
+            sql.append(" AND v.instructor_id = :instructorId");
+            params.addValue("instructorId", instructorId);
+        }
+
+        sql.append(" ORDER BY booked_minutes DESC, v.id");
+
+        return namedParameterJdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new VehicleUtilizationRecord(
+                rs.getString("id"),
+                rs.getString("instructor_id"),
+                rs.getString("license_plate"),
+                rs.getLong("lessons_count"),
+                rs.getLong("booked_minutes"),
+                rs.getLong("completed_minutes"),
+                rs.getDate("last_maintenance_date") != null ? rs.getDate("last_maintenance_date").toLocalDate() : null,
+                rs.getLong("completed_minutes_since_maintenance")
+        ));
+    }
+
+    public List<VehicleDailyUtilizationRecord> findDaily(UUID vehicleId, LocalDate from, LocalDate to) {
+        String sql = """
+            SELECT day, lessons_count, booked_minutes, completed_minutes
+            FROM vehicle_daily_utilization
+            WHERE vehicle_id = ? AND day >= ? AND day <= ?
+            ORDER BY day
+        """;
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new VehicleDailyUtilizationRecord(
+                rs.getDate("day").toLocalDate(),
+                rs.getInt("lessons_count"),
+                rs.getInt("booked_minutes"),
+                rs.getInt("completed_minutes")
+        ), vehicleId, from, to);
+    }
+}
@@ -2,6 +2,7 @@ package com.automatch.portal.dao.unauthenticated;
 
 import com.automatch.portal.mapper.InstructorPublicMapper;
 import com.automatch.portal.records.InstructorPublicRecord;
+import com.automatch.portal.util.TextNormalizer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -67,10 +68,11 @@ public class InstructorPublicDAO {
             sql.append("""
             AND (
                 LOWER(u.full_name) LIKE LOWER(:term)
-                OR LOWER(a.city) LIKE LOWER(:term)
+                OR a.city_key LIKE :cityTerm
             )
         """);
             params.addValue("term", "%" + term.trim() + "%");
+            params.addValue("cityTerm", "%" + TextNormalizer.key(term) + "%");
         }
 
         if (minYearsExperience != null) {
@@ -132,7 +134,7 @@ public class InstructorPublicDAO {
                 "WHERE i.deleted_at IS NULL");
 
         if (city != null && !city.trim().isEmpty()) {
-            sql.append(" AND LOWER(a.city) = LOWER(?)");
+            sql.append(" AND a.city_key = ?");
         }
 
         if (minRate != null) {
@@ -148,16 +150,16 @@ public class InstructorPublicDAO {
         // Lógica para adicionar os parâmetros na ordem correta
         if (city != null && !city.trim().isEmpty() && minRate != null && maxRate != null) {
             return jdbcTemplate.query(sql.toString(), InstructorPublicMapper.getRowMapper(),
-                    city.trim(), minRate, maxRate);
+                    TextNormalizer.key(city), minRate, maxRate);
         } else if (city != null && !city.trim().isEmpty() && minRate != null) {
             return jdbcTemplate.query(sql.toString(), InstructorPublicMapper.getRowMapper(),
-                    city.trim(), minRate);
+                    TextNormalizer.key(city), minRate);
         } else if (city != null && !city.trim().isEmpty() && maxRate != null) {
             return jdbcTemplate.query(sql.toString(), InstructorPublicMapper.getRowMapper(),
-                    city.trim(), maxRate);
+                    TextNormalizer.key(city), maxRate);
         } else if (city != null && !city.trim().isEmpty()) {
             return jdbcTemplate.query(sql.toString(), InstructorPublicMapper.getRowMapper(),
-                    city.trim());
+                    TextNormalizer.key(city));
         } else if (minRate != null && maxRate != null) {
             return jdbcTemplate.query(sql.toString(), InstructorPublicMapper.getRowMapper(),
                     minRate, maxRate);
@@ -178,7 +180,7 @@ public class InstructorPublicDAO {
                 "WHERE i.deleted_at IS NULL");
 
         if (city != null && !city.trim().isEmpty()) {
-            sql.append(" AND LOWER(a.city) = LOWER(?)");
+            sql.append(" AND a.city_key = ?");
         }
 
         if (minYears != null) {
@@ -194,16 +196,16 @@ public class InstructorPublicDAO {
         // Lógica para adicionar os parâmetros na ordem correta
         if (city != null && !city.trim().isEmpty() && minYears != null && maxYears != null) {
             return jdbcTemplate.query(sql.toString(), InstructorPublicMapper.getRowMapper(),
-                    city.trim(), minYears, maxYears);
+                    TextNormalizer.key(city), minYears, maxYears);
         } else if (city != null && !city.trim().isEmpty() && minYears != null) {
             return jdbcTemplate.query(sql.toString(), InstructorPublicMapper.getRowMapper(),
-                    city.trim(), minYears);
+                    TextNormalizer.key(city), minYears);
         } else if (city != null && !city.trim().isEmpty() && maxYears != null) {
             return jdbcTemplate.query(sql.toString(), InstructorPublicMapper.getRowMapper(),
-                    city.trim(), maxYears);
+                    TextNormalizer.key(city), maxYears);
         } else if (city != null && !city.trim().isEmpty()) {
             return jdbcTemplate.query(sql.toString(), InstructorPublicMapper.getRowMapper(),
-                    city.trim());
+                    TextNormalizer.key(city));
         } else if (minYears != null && maxYears != null) {
             return jdbcTemplate.query(sql.toString(), InstructorPublicMapper.getRowMapper(),
                     minYears, maxYears);
@@ -221,21 +223,21 @@ public class InstructorPublicDAO {
     // Buscar instrutores por cidade
     public List<InstructorPublicRecord> findByCity(String city) {
         String sql = "SELECT " + SELECT_FIELDS + FROM_CLAUSE +
-                "WHERE i.deleted_at IS NULL AND LOWER(a.city) = LOWER(?) ORDER BY u.full_name";
-        return jdbcTemplate.query(sql, InstructorPublicMapper.getRowMapper(), city.trim());
+                "WHERE i.deleted_at IS NULL AND a.city_key = ? ORDER BY u.full_name";
+        return jdbcTemplate.query(sql, InstructorPublicMapper.getRowMapper(), TextNormalizer.key(city));
     }
 
     // Buscar todas as cidades disponíveis
     public List<String> findAllCities() {
         String sql = """
-            SELECT DISTINCT LOWER(a.city) as city 
+            SELECT MIN(TRIM(a.city)) as city
             FROM instructors i
             JOIN users u ON i.user_id = u.id
             JOIN addresses a ON u.address_id = a.id
             WHERE i.deleted_at IS NULL 
-            AND a.city IS NOT NULL 
-            AND a.city != ''
-            ORDER BY city
+            AND a.city_key IS NOT NULL
+            GROUP BY a.city_key
+            ORDER BY a.city_key
         """;
         return jdbcTemplate.queryForList(sql, String.class);
     }
@@ -0,0 +1,10 @@
+package com.automatch.portal.enums;
+
+public enum BulkAction {
+    VERIFY_DOCUMENTS,
+    UNVERIFY_DOCUMENTS,
+    APPROVE_VEHICLES,
+    DISAPPROVE_VEHICLES,
+    VERIFY_INSTRUCTORS,
+    UNVERIFY_INSTRUCTORS
+}
@@ -0,0 +1,8 @@
+package com.automatch.portal.enums;
+
+public enum BulkActionStatus {
+    UPDATED,
+    SKIPPED,
+    NOT_FOUND,
+    INVALID_ID
+}
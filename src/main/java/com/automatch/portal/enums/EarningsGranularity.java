@@ -0,0 +1,18 @@
+package com.automatch.portal.enums;
+
+public enum EarningsGranularity {
+    DAY("day"),
+    WEEK("week"),
+    MONTH("month");
+
+    private final String truncUnit;
+
+    EarningsGranularity(String truncUnit) {
+        this.truncUnit = truncUnit;
+    }
+
+    // Unidade do date_trunc do PostgreSQL
+    public String getTruncUnit() {
+        return truncUnit;
+    }
+}
@@ -0,0 +1,7 @@
+package com.automatch.portal.enums;
+
+public enum PaymentIngestOutcome {
+    CREATED,
+    UPDATED,
+    IGNORED
+}
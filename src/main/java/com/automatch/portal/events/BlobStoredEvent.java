@@ -0,0 +1,7 @@
+package com.automatch.portal.events;
+
+public record BlobStoredEvent(
+        String sha256,
+        String contentType,
+        boolean isPublic
+) {}
@@ -0,0 +1,5 @@
+package com.automatch.portal.events;
+
+public record ClassifierChangedEvent(
+        Integer classifierId
+) {}
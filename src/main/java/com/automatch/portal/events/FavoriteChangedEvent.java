@@ -0,0 +1,17 @@
+package com.automatch.portal.events;
+
+import java.util.UUID;
+
+public record FavoriteChangedEvent(
+        UUID studentId,
+        UUID instructorId,
+        boolean added
+) {
+    public static FavoriteChangedEvent added(UUID studentId, UUID instructorId) {
+        return new FavoriteChangedEvent(studentId, instructorId, true);
+    }
+
+    public static FavoriteChangedEvent removed(UUID studentId, UUID instructorId) {
+        return new FavoriteChangedEvent(studentId, instructorId, false);
+    }
+}
@@ -0,0 +1,7 @@
+package com.automatch.portal.events;
+
+import java.util.UUID;
+
+public record InstructorChangedEvent(
+        UUID instructorId
+) {}
@@ -0,0 +1,12 @@
+package com.automatch.portal.events;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record InstructorDocumentExpiryEvent(
+        UUID instructorId,
+        UUID documentId,
+        Integer documentTypeId,
+        LocalDate expiryDate,
+        boolean expired
+) {}
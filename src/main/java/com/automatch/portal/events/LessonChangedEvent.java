@@ -0,0 +1,24 @@
+package com.automatch.portal.events;
+
+import com.automatch.portal.model.LessonModel;
+
+/**
+ * Estado da aula antes e depois de uma escrita (before nulo na criação, after nulo na exclusão).
+ * Publicado dentro da transação, para que os agregados sejam atualizados junto com a aula.
+ */
+public record LessonChangedEvent(
+        LessonModel before,
+        LessonModel after
+) {
+    public static LessonChangedEvent created(LessonModel after) {
+        return new LessonChangedEvent(null, after);
+    }
+
+    public static LessonChangedEvent updated(LessonModel before, LessonModel after) {
+        return new LessonChangedEvent(before, after);
+    }
+
+    public static LessonChangedEvent deleted(LessonModel before) {
+        return new LessonChangedEvent(before, null);
+    }
+}
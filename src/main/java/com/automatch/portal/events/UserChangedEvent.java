@@ -0,0 +1,8 @@
+package com.automatch.portal.events;
+
+import java.util.UUID;
+
+public record UserChangedEvent(
+        UUID userId,
+        String email
+) {}
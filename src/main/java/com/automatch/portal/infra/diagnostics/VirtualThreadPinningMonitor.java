@@ -0,0 +1,99 @@
+package com.automatch.portal.infra.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Registra, via JFR (jdk.VirtualThreadPinned), as virtual threads que ficaram presas ao carrier
+ * por bloquear dentro de synchronized. Pinning no caminho do JDBC (driver, pool, nosso código
+ * chamando o JdbcTemplate) é o que derruba a vazão no modo virtual; esses casos saem em WARN.
+ */
+@Slf4j
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final List<String> JDBC_PACKAGES = List.of(
+            "org.postgresql.", "com.zaxxer.hikari.", "org.springframework.jdbc.", "com.automatch.portal.dao.");
+    private static final int LOGGED_FRAMES = 12;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean virtualThreads;
+    private final boolean enabled;
+    private final Duration threshold;
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                       @Value("${diagnostics.pinning.enabled:true}") boolean enabled,
+                                       @Value("${diagnostics.pinning.threshold-ms:20}") long thresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.virtualThreads = virtualThreads;
+        this.enabled = enabled;
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    // Só faz sentido no modo virtual; em platform threads não há pinning
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!virtualThreads || !enabled) {
+            return;
+        }
+
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.startAsync();
+            log.info("Virtual thread pinning monitor started (threshold {} ms)", threshold.toMillis());
+        } catch (RuntimeException e) {
+            log.warn("Virtual thread pinning monitor unavailable: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        boolean jdbc = frames.stream().anyMatch(VirtualThreadPinningMonitor::isJdbcFrame);
+
+        meterRegistry.counter("virtual-threads.pinned", "jdbc", Boolean.toString(jdbc)).increment();
+
+        String trace = frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n\tat "));
+        if (jdbc) {
+            log.warn("Virtual thread pinned for {} ms on the JDBC path\n\tat {}",
+                    event.getDuration().toMillis(), trace);
+        } else {
+            log.debug("Virtual thread pinned for {} ms\n\tat {}", event.getDuration().toMillis(), trace);
+        }
+    }
+
+    private static boolean isJdbcFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return JDBC_PACKAGES.stream().anyMatch(type::startsWith);
+    }
+}
@@ -0,0 +1,58 @@
+package com.automatch.portal.infra.security;
+
+import com.automatch.portal.events.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Cache dos usuários autenticados, por email (subject do JWT).
+ * Limitado por tamanho e TTL; o UserService invalida a entrada quando o usuário muda.
+ * Em várias instâncias a invalidação é local: o TTL limita o tempo de dado desatualizado.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserDetails> cache;
+
+    public PrincipalCache(MeterRegistry meterRegistry,
+                          @Value("${security.principal-cache.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${security.principal-cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "security.principals");
+    }
+
+    // Falhas do loader (usuário inexistente/inativo) não ficam em cache
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        return cache.get(key(email), ignored -> loader.apply(email));
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.invalidate(key(email));
+        }
+    }
+
+    // Depois do commit: invalidar antes abriria espaço para recarregar o estado antigo
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.email());
+    }
+
+    private String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
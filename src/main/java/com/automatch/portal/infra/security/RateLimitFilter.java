@@ -0,0 +1,235 @@
+package com.automatch.portal.infra.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita /auth/** e /public/** por IP e, no login, também por conta (email),
+ * antes da autenticação e de qualquer acesso ao banco. Excedeu: 429 com Retry-After.
+ * Login e cadastro têm o limite mais apertado; refresh/logout e download de imagens têm orçamentos próprios,
+ * para que a renovação de sessão e uma página cheia de fotos não consumam o limite de login ou do catálogo.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_LOGIN_BODY_BYTES = 16 * 1024;
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int trustedProxyHops;
+    private final RateLimiter.Rule authRule;
+    private final RateLimiter.Rule accountRule;
+    private final RateLimiter.Rule sessionRule;
+    private final RateLimiter.Rule publicRule;
+    private final RateLimiter.Rule blobRule;
+
+    public RateLimitFilter(RateLimiter rateLimiter,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.trusted-proxy-hops:0}") int trustedProxyHops,
+                           @Value("${rate-limit.auth.capacity:10}") int authCapacity,
+                           @Value("${rate-limit.auth.per-minute:10}") int authPerMinute,
+                           @Value("${rate-limit.account.capacity:5}") int accountCapacity,
+                           @Value("${rate-limit.account.per-minute:5}") int accountPerMinute,
+                           @Value("${rate-limit.session.capacity:30}") int sessionCapacity,
+                           @Value("${rate-limit.session.per-minute:30}") int sessionPerMinute,
+                           @Value("${rate-limit.public.capacity:60}") int publicCapacity,
+                           @Value("${rate-limit.public.per-minute:120}") int publicPerMinute,
+                           @Value("${rate-limit.blob.capacity:300}") int blobCapacity,
+                           @Value("${rate-limit.blob.per-minute:600}") int blobPerMinute) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.trustedProxyHops = trustedProxyHops;
+        this.authRule = new RateLimiter.Rule("auth", authCapacity, authPerMinute);
+        this.accountRule = new RateLimiter.Rule("account", accountCapacity, accountPerMinute);
+        this.sessionRule = new RateLimiter.Rule("session", sessionCapacity, sessionPerMinute);
+        this.publicRule = new RateLimiter.Rule("public", publicCapacity, publicPerMinute);
+        this.blobRule = new RateLimiter.Rule("blob", blobCapacity, blobPerMinute);
+
+        meterRegistry.gauge("rate-limit.buckets", rateLimiter, RateLimiter::size);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !enabled || !(path.startsWith("/auth/") || path.startsWith("/public/"));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String path = request.getServletPath();
+        String clientIp = clientIp(request);
+        RateLimiter.Rule ipRule = resolveRule(path);
+
+        long wait = rateLimiter.tryAcquire(ipRule, clientIp);
+        if (wait > 0) {
+            reject(response, ipRule, wait);
+            return;
+        }
+
+        // Credential stuffing troca de IP a cada tentativa: o limite por conta pega o que o por IP deixa passar
+        if (path.equals("/auth/login") && "POST".equalsIgnoreCase(request.getMethod())) {
+            CachedBodyRequest cached = CachedBodyRequest.wrap(request, MAX_LOGIN_BODY_BYTES);
+            if (cached == null) {
+                rejectTooLarge(response);
+                return;
+            }
+            String email = extractEmail(cached.body);
+            if (email != null) {
+                wait = rateLimiter.tryAcquire(accountRule, email);
+                if (wait > 0) {
+                    reject(response, accountRule, wait);
+                    return;
+                }
+            }
+            request = cached;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimiter.Rule resolveRule(String path) {
+        if (path.equals("/auth/login") || path.equals("/auth/register")) {
+            return authRule;
+        }
+        if (path.startsWith("/auth/")) {
+            return sessionRule;
+        }
+        if (path.startsWith("/public/blob/")) {
+            return blobRule;
+        }
+        return publicRule;
+    }
+
+    // Atrás de proxies confiáveis, o IP do cliente é o que o proxy mais externo anexou ao X-Forwarded-For
+    private String clientIp(HttpServletRequest request) {
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (trustedProxyHops > 0 && forwarded != null && !forwarded.isBlank()) {
+            String[] hops = forwarded.split(",");
+            int index = Math.max(hops.length - trustedProxyHops, 0);
+            return hops[index].trim();
+        }
+        return request.getRemoteAddr();
+    }
+
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, RateLimiter.Rule rule, long waitNanos) throws IOException {
+        meterRegistry.counter("rate-limit.rejected", "rule", rule.name()).increment();
+
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests\"}");
+    }
+
+    // Login com corpo acima do limite seria uma forma de escapar do limite por conta
+    private void rejectTooLarge(HttpServletResponse response) throws IOException {
+        meterRegistry.counter("rate-limit.rejected", "rule", "login-body").increment();
+
+        response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Request body too large\"}");
+    }
+
+    // O corpo do login precisa ser lido aqui e de novo pelo controller
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        // Lê do stream no máximo maxBytes + 1, com ou sem Content-Length (chunked); nulo quando passa do limite
+        static CachedBodyRequest wrap(HttpServletRequest request, int maxBytes) throws IOException {
+            if (request.getContentLengthLong() > maxBytes) {
+                return null;
+            }
+            byte[] body = request.getInputStream().readNBytes(maxBytes + 1);
+            if (body.length > maxBytes) {
+                return null;
+            }
+            return new CachedBodyRequest(request, body);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.automatch.portal.infra.security;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket em forma de GCRA: o estado de cada chave é um único long (o instante
+ * teórico de chegada), atualizado por CAS, sem lock. O mapa é dividido em shards
+ * para a limpeza de buckets ociosos percorrer um pedaço de cada vez.
+ */
+@Component
+public class RateLimiter {
+
+    private static final int SHARDS = 16;
+
+    public record Rule(String name, int capacity, int refillPerMinute) {
+
+        long emissionIntervalNanos() {
+            return TimeUnit.MINUTES.toNanos(1) / Math.max(refillPerMinute, 1);
+        }
+
+        long burstToleranceNanos() {
+            return emissionIntervalNanos() * Math.max(capacity, 1);
+        }
+    }
+
+    private final List<ConcurrentHashMap<String, AtomicLong>> shards = new ArrayList<>(SHARDS);
+
+    public RateLimiter() {
+        for (int i = 0; i < SHARDS; i++) {
+            shards.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Consome um token da chave. Retorna 0 quando a requisição pode seguir
+     * ou, quando não pode, quantos nanossegundos faltam para o próximo token.
+     */
+    public long tryAcquire(Rule rule, String key) {
+        String bucketKey = rule.name() + ':' + key;
+        long interval = rule.emissionIntervalNanos();
+        long tolerance = rule.burstToleranceNanos();
+        AtomicLong arrival = shard(bucketKey).computeIfAbsent(bucketKey, ignored -> new AtomicLong(Long.MIN_VALUE));
+
+        while (true) {
+            long now = System.nanoTime();
+            long current = arrival.get();
+            long base = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            long next = base + interval;
+            long wait = next - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return shards.stream().mapToInt(ConcurrentHashMap::size).sum();
+    }
+
+    // Bucket cujo instante teórico já passou está cheio: equivale a não existir
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:30000}")
+    public void evictIdle() {
+        for (ConcurrentHashMap<String, AtomicLong> shard : shards) {
+            long now = System.nanoTime();
+            shard.values().removeIf(arrival -> arrival.get() == Long.MIN_VALUE || arrival.get() - now < 0);
+        }
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> shard(String key) {
+        int hash = key.hashCode();
+        return shards.get((hash ^ (hash >>> 16)) & (SHARDS - 1));
+    }
+}
@@ -0,0 +1,103 @@
+package com.automatch.portal.infra.security;
+
+import com.automatch.portal.dao.RevokedTokenDAO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Access tokens revogados (jti), consultados em memória a cada requisição.
+ * O Bloom filter descarta quase todos os tokens válidos sem tocar no conjunto exato;
+ * revogações feitas em outros nós chegam pela sincronização periódica (delta por revoked_at).
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final RevokedTokenDAO revokedTokenDAO;
+    private final int expectedTokens;
+    private final long syncOverlapSeconds;
+
+    private final Map<UUID, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile UuidBloomFilter filter;
+    private volatile LocalDateTime syncedUntil = EPOCH;
+
+    public TokenRevocationList(RevokedTokenDAO revokedTokenDAO,
+                               @Value("${security.revocation.expected-tokens:100000}") int expectedTokens,
+                               @Value("${security.revocation.sync-overlap-seconds:30}") long syncOverlapSeconds) {
+        this.revokedTokenDAO = revokedTokenDAO;
+        this.expectedTokens = expectedTokens;
+        this.syncOverlapSeconds = syncOverlapSeconds;
+        this.filter = new UuidBloomFilter(expectedTokens, FALSE_POSITIVE_RATE);
+    }
+
+    public boolean isRevoked(UUID tokenId) {
+        return filter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    public void revoke(UUID tokenId, UUID userId, LocalDateTime expiresAt) {
+        revokedTokenDAO.insert(tokenId, userId, expiresAt);
+        add(tokenId, expiresAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        sync();
+    }
+
+    // A janela de sobreposição cobre transações que gravaram revoked_at antes do último sync mas commitaram depois
+    @Scheduled(fixedDelayString = "${security.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = syncedUntil == EPOCH ? EPOCH : syncedUntil.minusSeconds(syncOverlapSeconds);
+
+        List<RevokedTokenDAO.RevokedToken> delta = revokedTokenDAO.findRevokedSince(since);
+        for (RevokedTokenDAO.RevokedToken token : delta) {
+            add(token.tokenId(), token.expiresAt());
+        }
+        syncedUntil = startedAt;
+    }
+
+    // Remove os expirados (o token já seria recusado pela expiração) e reconstrói o filtro
+    @Scheduled(fixedDelayString = "${security.revocation.prune-interval-ms:3600000}")
+    public void prune() {
+        LocalDateTime now = LocalDateTime.now();
+        writeLock.lock();
+        try {
+            revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+            UuidBloomFilter rebuilt = new UuidBloomFilter(Math.max(expectedTokens, revoked.size() * 2), FALSE_POSITIVE_RATE);
+            revoked.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+        } finally {
+            writeLock.unlock();
+        }
+
+        int deleted = revokedTokenDAO.deleteExpired(now);
+        log.debug("Token revocation list pruned: {} active, {} expired rows deleted", revoked.size(), deleted);
+    }
+
+    private void add(UUID tokenId, LocalDateTime expiresAt) {
+        writeLock.lock();
+        try {
+            revoked.put(tokenId, expiresAt);
+            filter.put(tokenId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.automatch.portal.infra.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Token com assinatura e expiração já verificadas (um único parse por requisição).
+ * tokenId, userId e role podem vir nulos em tokens emitidos antes de existirem essas claims.
+ */
+public record VerifiedToken(
+        UUID tokenId,
+        String subject,
+        UUID userId,
+        String role,
+        Instant issuedAt,
+        Instant expiresAt
+) {}
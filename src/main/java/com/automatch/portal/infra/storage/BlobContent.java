@@ -0,0 +1,23 @@
+package com.automatch.portal.infra.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface BlobContent extends Closeable {
+
+    long size() throws IOException;
+
+    // Copia [position, position + count) para o canal de destino
+    void transferTo(long position, long count, WritableByteChannel target) throws IOException;
+
+    InputStream inputStream() throws IOException;
+
+    // Arquivo local por trás do conteúdo, quando há um: permite o sendfile do Tomcat
+    default Optional<Path> file() {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,15 @@
+package com.automatch.portal.infra.storage;
+
+import java.util.regex.Pattern;
+
+public final class BlobHashes {
+
+    private static final Pattern SHA256 = Pattern.compile("^[0-9a-f]{64}$");
+
+    private BlobHashes() {
+    }
+
+    public static boolean isValid(String sha256) {
+        return sha256 != null && SHA256.matcher(sha256).matches();
+    }
+}
@@ -0,0 +1,18 @@
+package com.automatch.portal.infra.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Backend de armazenamento endereçado por conteúdo (SHA-256).
+ * A implementação local grava em disco; um backend compatível com S3 pode substituí-la.
+ */
+public interface BlobStore {
+
+    StoredBlob put(InputStream content, long maxBytes) throws IOException;
+
+    Optional<BlobContent> open(String sha256) throws IOException;
+
+    boolean exists(String sha256);
+}
@@ -0,0 +1,7 @@
+package com.automatch.portal.infra.storage;
+
+public record StoredBlob(
+        String sha256,
+        long sizeBytes,
+        boolean created
+) {}
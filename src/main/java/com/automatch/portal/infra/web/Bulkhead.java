@@ -0,0 +1,59 @@
+package com.automatch.portal.infra.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite de requisições simultâneas de um grupo de endpoints.
+ * Quem não consegue vaga em maxWaitMs desiste, em vez de esperar numa fila sem fim por uma conexão.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final long maxWaitMs;
+    private final Semaphore permits;
+    private final Counter rejectedCounter;
+
+    public Bulkhead(String name, int maxConcurrent, long maxWaitMs, MeterRegistry meterRegistry) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Bulkhead " + name + " must allow at least one concurrent request");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitMs = maxWaitMs;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.rejectedCounter = meterRegistry.counter("bulkhead.rejected", "group", name);
+        meterRegistry.gauge("bulkhead.active", Tags.of("group", name),
+                this, Bulkhead::active);
+    }
+
+    // Em virtual threads a espera só estaciona a thread, sem ocupar thread do carrier
+    public boolean tryEnter() throws InterruptedException {
+        if (permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    private double active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
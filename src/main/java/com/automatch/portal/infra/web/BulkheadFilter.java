@@ -0,0 +1,131 @@
+package com.automatch.portal.infra.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Bulkheads por grupo de endpoints (catálogo público, agendamento, relatórios, admin, auth e o resto).
+ * Cada grupo tem um teto de requisições simultâneas abaixo do pool de conexões, para que consultas
+ * lentas de um grupo (ex.: estatísticas) não tomem todas as conexões do agendamento.
+ * Sem vaga no tempo de espera: 503 com Retry-After. Desligado por padrão (bulkhead.enabled).
+ */
+@Slf4j
+@Component
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final Bulkhead auth;
+    private final Bulkhead publicCatalog;
+    private final Bulkhead booking;
+    private final Bulkhead reports;
+    private final Bulkhead admin;
+    private final Bulkhead fallback;
+
+    public BulkheadFilter(MeterRegistry meterRegistry,
+                          @Value("${bulkhead.enabled:false}") boolean enabled,
+                          @Value("${bulkhead.max-wait-ms:200}") long maxWaitMs,
+                          @Value("${bulkhead.auth.max-concurrent:3}") int authLimit,
+                          @Value("${bulkhead.public.max-concurrent:4}") int publicLimit,
+                          @Value("${bulkhead.booking.max-concurrent:6}") int bookingLimit,
+                          @Value("${bulkhead.reports.max-concurrent:2}") int reportsLimit,
+                          @Value("${bulkhead.admin.max-concurrent:2}") int adminLimit,
+                          @Value("${bulkhead.default.max-concurrent:6}") int defaultLimit,
+                          @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.enabled = enabled;
+        this.auth = new Bulkhead("auth", authLimit, maxWaitMs, meterRegistry);
+        this.publicCatalog = new Bulkhead("public", publicLimit, maxWaitMs, meterRegistry);
+        this.booking = new Bulkhead("booking", bookingLimit, maxWaitMs, meterRegistry);
+        this.reports = new Bulkhead("reports", reportsLimit, maxWaitMs, meterRegistry);
+        this.admin = new Bulkhead("admin", adminLimit, maxWaitMs, meterRegistry);
+        this.fallback = new Bulkhead("default", defaultLimit, maxWaitMs, meterRegistry);
+
+        for (Bulkhead bulkhead : List.of(auth, publicCatalog, booking, reports, admin, fallback)) {
+            if (bulkhead.getMaxConcurrent() >= poolSize) {
+                log.warn("Bulkhead {} allows {} concurrent requests with a pool of {} connections",
+                        bulkhead.getName(), bulkhead.getMaxConcurrent(), poolSize);
+            }
+        }
+    }
+
+    // Fora dos bulkheads: o autocomplete responde da memória, e o download de blob segura a vaga
+    // enquanto o cliente lê os bytes, sem conexão de banco nesse tempo
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !enabled
+                || path.startsWith("/actuator/")
+                || path.startsWith("/public/autocomplete")
+                || ("GET".equalsIgnoreCase(request.getMethod())
+                    && (path.startsWith("/public/blob/") || path.startsWith("/protected/blob/")));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        Bulkhead bulkhead = resolve(request.getServletPath());
+
+        boolean entered;
+        try {
+            entered = bulkhead.tryEnter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entered = false;
+        }
+        if (!entered) {
+            reject(response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.exit();
+        }
+    }
+
+    // Relatórios vêm antes do agendamento: /protected/lesson/stats/** não pode ocupar vagas de agendamento
+    private Bulkhead resolve(String path) {
+        if (path.startsWith("/auth/")) {
+            return auth;
+        }
+        if (path.startsWith("/public/")) {
+            return publicCatalog;
+        }
+        if (path.startsWith("/protected/admin/")) {
+            return admin;
+        }
+        if (path.contains("/stats") || path.endsWith("/earnings") || path.endsWith("/utilization")) {
+            return reports;
+        }
+        if (path.startsWith("/protected/lesson") || path.startsWith("/protected/instructor-availability")
+                || path.startsWith("/protected/payment")) {
+            return booking;
+        }
+        return fallback;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Server busy, try again\"}");
+    }
+}
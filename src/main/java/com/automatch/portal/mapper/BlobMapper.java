@@ -0,0 +1,45 @@
+package com.automatch.portal.mapper;
+
+import com.automatch.portal.model.BlobModel;
+import com.automatch.portal.records.BlobRecord;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class BlobMapper {
+
+    public static final String PUBLIC_PATH = "/public/blob/";
+    public static final String PROTECTED_PATH = "/protected/blob/";
+
+    public static BlobRecord toRecord(BlobModel model) {
+        if (model == null) return null;
+        return new BlobRecord(
+                model.getSha256(),
+                model.getSizeBytes(),
+                model.getContentType(),
+                model.getIsPublic(),
+                urlFor(model),
+                model.getCreatedAt()
+        );
+    }
+
+    public static String urlFor(BlobModel model) {
+        return (Boolean.TRUE.equals(model.getIsPublic()) ? PUBLIC_PATH : PROTECTED_PATH) + model.getSha256();
+    }
+
+    public static RowMapper<BlobModel> getRowMapper() {
+        return new RowMapper<BlobModel>() {
+            @Override
+            public BlobModel mapRow(ResultSet rs, int rowNum) throws SQLException {
+                BlobModel blob = new BlobModel();
+                blob.setSha256(rs.getString("sha256"));
+                blob.setSizeBytes(rs.getLong("size_bytes"));
+                blob.setContentType(rs.getString("content_type"));
+                blob.setIsPublic(rs.getBoolean("is_public"));
+                blob.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+                return blob;
+            }
+        };
+    }
+}
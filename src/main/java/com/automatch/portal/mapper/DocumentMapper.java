@@ -2,6 +2,7 @@ package com.automatch.portal.mapper;
 
 import com.automatch.portal.model.DocumentModel;
 import com.automatch.portal.records.DocumentRecord;
+import com.automatch.portal.service.ClassifierRegistry;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -25,7 +26,8 @@ public class DocumentMapper {
                 model.getVerificationNotes(),
                 model.getCreatedAt(),
                 model.getUpdatedAt(),
-                model.getDeletedAt()
+                model.getDeletedAt(),
+                ClassifierRegistry.label(model.getDocumentTypeId())
         );
     }
 
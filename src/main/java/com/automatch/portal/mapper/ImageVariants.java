@@ -0,0 +1,34 @@
+package com.automatch.portal.mapper;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Larguras geradas para cada imagem enviada e as URLs correspondentes.
+ * Enquanto a versão não é gerada, a URL com ?width= devolve a imagem original.
+ */
+public class ImageVariants {
+
+    public static final Map<String, Integer> WIDTHS;
+
+    static {
+        Map<String, Integer> widths = new LinkedHashMap<>();
+        widths.put("thumbnail", 160);
+        widths.put("medium", 480);
+        widths.put("large", 1080);
+        WIDTHS = Collections.unmodifiableMap(widths);
+    }
+
+    // Só imagens armazenadas pelo próprio serviço têm versões redimensionadas
+    public static Map<String, String> forUrl(String imageUrl) {
+        if (imageUrl == null
+                || !(imageUrl.startsWith(BlobMapper.PUBLIC_PATH) || imageUrl.startsWith(BlobMapper.PROTECTED_PATH))) {
+            return null;
+        }
+
+        Map<String, String> variants = new LinkedHashMap<>();
+        WIDTHS.forEach((name, width) -> variants.put(name, imageUrl + "?width=" + width));
+        return variants;
+    }
+}
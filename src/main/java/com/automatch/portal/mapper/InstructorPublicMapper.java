@@ -40,7 +40,8 @@ public class InstructorPublicMapper {
                         rs.getTimestamp("updated_at").toLocalDateTime(),
                         rs.getTimestamp("deleted_at") != null ?
                                 rs.getTimestamp("deleted_at").toLocalDateTime() : null,
-                        rs.getString("city") // Novo campo
+                        rs.getString("city"), // Novo campo
+                        ImageVariants.forUrl(rs.getString("profile_image_url"))
                 );
             }
         };
@@ -2,6 +2,7 @@ package com.automatch.portal.mapper;
 
 import com.automatch.portal.model.LessonModel;
 import com.automatch.portal.records.LessonRecord;
+import com.automatch.portal.service.ClassifierRegistry;
 
 import java.util.UUID;
 
@@ -25,10 +26,18 @@ public class LessonMapper {
                 model.getCreatedAt(),
                 model.getUpdatedAt(),
                 model.getCompletedAt(),
-                model.getDeletedAt()
+                model.getDeletedAt(),
+                ClassifierRegistry.label(model.getStatusId()),
+                ClassifierRegistry.label(model.getPaymentStatusId()),
+                ClassifierRegistry.label(model.getPaymentMethodId())
         );
     }
 
+    // Cópia do estado atual, usada como "antes" nos eventos de alteração
+    public static LessonModel copyOf(LessonModel model) {
+        return fromRecord(toRecord(model));
+    }
+
     public static LessonModel fromRecord(LessonRecord record) {
         if (record == null) return null;
 
@@ -2,6 +2,7 @@ package com.automatch.portal.mapper;
 
 import com.automatch.portal.model.VehicleModel;
 import com.automatch.portal.records.VehicleRecord;
+import com.automatch.portal.service.ClassifierRegistry;
 
 import java.util.UUID;
 
@@ -28,7 +29,10 @@ public class VehicleMapper {
                 model.getLastMaintenanceDate(),
                 model.getCreatedAt(),
                 model.getUpdatedAt(),
-                model.getDeletedAt()
+                model.getDeletedAt(),
+                ImageVariants.forUrl(model.getVehicleImageUrl()),
+                ClassifierRegistry.label(model.getTransmissionTypeId()),
+                ClassifierRegistry.label(model.getCategoryId())
         );
     }
 
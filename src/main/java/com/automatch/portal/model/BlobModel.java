@@ -0,0 +1,16 @@
+package com.automatch.portal.model;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlobModel {
+    private String sha256;
+    private Long sizeBytes;
+    private String contentType;
+    private Boolean isPublic;
+    private LocalDateTime createdAt;
+}
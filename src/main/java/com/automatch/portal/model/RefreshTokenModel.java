@@ -0,0 +1,21 @@
+package com.automatch.portal.model;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenModel {
+    private UUID id;
+    private UUID userId;
+    private UUID familyId;
+    private String tokenHash;
+    private UUID accessTokenId;
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime usedAt;
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,9 @@
+package com.automatch.portal.records;
+
+public record AutocompleteSuggestionRecord(
+        String type,        // city, neighborhood ou instructor
+        String label,
+        String detail,      // cidade do bairro/instrutor
+        String id,          // só para instructor
+        double score        // instrutores na cidade/bairro, ou nota média do instrutor
+) {}
@@ -0,0 +1,12 @@
+package com.automatch.portal.records;
+
+import java.time.LocalDateTime;
+
+public record BlobRecord(
+        String sha256,
+        Long sizeBytes,
+        String contentType,
+        Boolean isPublic,
+        String url,
+        LocalDateTime createdAt
+) {}
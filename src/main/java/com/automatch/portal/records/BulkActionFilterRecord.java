@@ -0,0 +1,10 @@
+package com.automatch.portal.records;
+
+import java.time.LocalDateTime;
+
+public record BulkActionFilterRecord(
+        String userId,          // Dono do documento, instrutor do veículo
+        Integer documentTypeId,
+        LocalDateTime createdFrom,
+        LocalDateTime createdTo
+) {}
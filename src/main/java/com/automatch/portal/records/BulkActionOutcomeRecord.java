@@ -0,0 +1,9 @@
+package com.automatch.portal.records;
+
+import com.automatch.portal.enums.BulkActionStatus;
+
+public record BulkActionOutcomeRecord(
+        String id,
+        BulkActionStatus status,
+        String reason
+) {}
@@ -0,0 +1,10 @@
+package com.automatch.portal.records;
+
+import java.util.List;
+
+public record BulkActionRequestRecord(
+        String action,
+        List<String> ids,               // IDs explícitos ou...
+        BulkActionFilterRecord filter,  // ...filtro sobre as linhas ainda não alteradas
+        String notes
+) {}
@@ -0,0 +1,12 @@
+package com.automatch.portal.records;
+
+import java.util.List;
+
+public record BulkActionResultRecord(
+        String action,
+        int requested,
+        int updated,
+        int skipped,
+        boolean truncated,      // O filtro casou mais que o limite por requisição; repetir para o restante
+        List<BulkActionOutcomeRecord> outcomes
+) {}
@@ -0,0 +1,9 @@
+package com.automatch.portal.records;
+
+import java.time.LocalDateTime;
+
+public record DocumentClaimRecord(
+        DocumentRecord document,
+        String claimedByUserId,
+        LocalDateTime claimExpiresAt
+) {}
@@ -17,5 +17,6 @@ public record DocumentRecord(
         String verificationNotes,
         LocalDateTime createdAt,
         LocalDateTime updatedAt,
-        LocalDateTime deletedAt
+        LocalDateTime deletedAt,
+        String documentTypeLabel      // Rótulo do classificador (somente leitura)
 ) {}
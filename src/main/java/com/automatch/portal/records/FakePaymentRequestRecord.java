@@ -0,0 +1,13 @@
+package com.automatch.portal.records;
+
+import java.math.BigDecimal;
+
+// Simulação de callbacks (perfil fake-payments); deliveries > 1 reenvia o mesmo callback
+public record FakePaymentRequestRecord(
+        String lessonId,
+        BigDecimal amount,
+        String status,
+        String paymentMethod,
+        String transactionId,
+        Integer deliveries
+) {}
@@ -0,0 +1,12 @@
+package com.automatch.portal.records;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record InstructorEarningsRecord(
+        LocalDate periodStart,
+        long completedLessons,
+        BigDecimal completedAmount,
+        long paidLessons,
+        BigDecimal paidAmount
+) {}
@@ -2,6 +2,7 @@ package com.automatch.portal.records;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 public record InstructorPublicRecord(
         UserPublicRecord user,
@@ -14,5 +15,6 @@ public record InstructorPublicRecord(
         LocalDateTime createdAt,
         LocalDateTime updatedAt,
         LocalDateTime deletedAt,
-        String city
+        String city,
+        Map<String, String> profileImageVariants
 ) {}
\ No newline at end of file
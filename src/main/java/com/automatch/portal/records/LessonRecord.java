@@ -18,5 +18,8 @@ public record LessonRecord(
         LocalDateTime createdAt,
         LocalDateTime updatedAt,
         LocalDateTime completedAt,
-        LocalDateTime deletedAt
+        LocalDateTime deletedAt,
+        String statusLabel,           // Rótulos dos classificadores (somente leitura)
+        String paymentStatusLabel,
+        String paymentMethodLabel
 ) {}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.automatch.portal.records;
+
+import java.util.List;
+
+public record PageRecord<T>(
+        List<T> content,
+        int page,
+        int size,
+        boolean hasNext
+) {}
@@ -0,0 +1,15 @@
+package com.automatch.portal.records;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Corpo do callback do provedor de pagamentos; status e método são valores dos classificadores
+public record PaymentWebhookRecord(
+        String transactionId,
+        String lessonId,
+        BigDecimal amount,
+        String status,
+        String paymentMethod,
+        LocalDateTime paidAt,
+        LocalDateTime occurredAt
+) {}
@@ -0,0 +1,8 @@
+package com.automatch.portal.records;
+
+import com.automatch.portal.enums.PaymentIngestOutcome;
+
+public record PaymentWebhookResultRecord(
+        String transactionId,
+        PaymentIngestOutcome outcome
+) {}
@@ -0,0 +1,5 @@
+package com.automatch.portal.records;
+
+public record RefreshTokenRequestRecord(
+        String refreshToken
+) {}
@@ -0,0 +1,7 @@
+package com.automatch.portal.records;
+
+public record SimilarInstructorRecord(
+        String instructorId,
+        double score,
+        int commonStudents
+) {}
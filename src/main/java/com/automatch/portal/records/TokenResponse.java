@@ -4,5 +4,6 @@ public record TokenResponse(
         String accessToken,
         String tokenType,
         Long expiresIn,
+        String refreshToken,
         UserRecord user
 ) {}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.automatch.portal.records;
+
+import java.time.LocalDate;
+
+public record VehicleDailyUtilizationRecord(
+        LocalDate day,
+        int lessonsCount,
+        int bookedMinutes,
+        int completedMinutes
+) {}
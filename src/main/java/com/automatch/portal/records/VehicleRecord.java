@@ -2,6 +2,7 @@ package com.automatch.portal.records;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 public record VehicleRecord(
         String id,
@@ -21,5 +22,8 @@ public record VehicleRecord(
         LocalDate lastMaintenanceDate,
         LocalDateTime createdAt,
         LocalDateTime updatedAt,
-        LocalDateTime deletedAt
+        LocalDateTime deletedAt,
+        Map<String, String> vehicleImageVariants,
+        String transmissionTypeLabel,  // Rótulos dos classificadores (somente leitura)
+        String categoryLabel
 ) {}
\ No newline at end of file
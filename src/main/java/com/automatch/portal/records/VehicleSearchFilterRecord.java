@@ -0,0 +1,13 @@
+package com.automatch.portal.records;
+
+public record VehicleSearchFilterRecord(
+        Integer transmissionTypeId,
+        Integer categoryId,
+        Boolean hasDualControls,
+        Boolean hasAirConditioning,
+        Boolean isApproved,
+        Boolean isAvailable,
+        Integer minYear,
+        Integer maxYear,
+        String city               // Cidade do endereço do instrutor
+) {}
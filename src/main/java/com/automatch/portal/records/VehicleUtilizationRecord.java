@@ -0,0 +1,14 @@
+package com.automatch.portal.records;
+
+import java.time.LocalDate;
+
+public record VehicleUtilizationRecord(
+        String vehicleId,
+        String instructorId,
+        String licensePlate,
+        long lessonsCount,
+        long bookedMinutes,
+        long completedMinutes,
+        LocalDate lastMaintenanceDate,
+        long completedMinutesSinceMaintenance
+) {}
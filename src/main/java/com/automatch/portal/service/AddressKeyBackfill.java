@@ -0,0 +1,52 @@
+package com.automatch.portal.service;
+
+import com.automatch.portal.dao.AddressDAO;
+import com.automatch.portal.model.AddressModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Preenche as chaves normalizadas dos endereços gravados antes da V12, em lotes por id.
+ * Usa o mesmo TextNormalizer das escritas, então backfill e gravações novas geram chaves iguais.
+ * Idempotente: várias instâncias subindo juntas só repetem trabalho.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AddressKeyBackfill {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final AddressDAO addressDAO;
+
+    @Value("${addresses.key-backfill.batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int total = 0;
+        UUID afterId = FIRST_ID;
+        List<AddressModel> batch;
+        do {
+            batch = addressDAO.findMissingKeys(afterId, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            addressDAO.updateKeys(batch);
+            total += batch.size();
+            afterId = batch.get(batch.size() - 1).getId();
+        } while (batch.size() == batchSize);
+
+        if (total > 0) {
+            log.info("Backfilled normalized keys for {} addresses", total);
+        }
+    }
+}
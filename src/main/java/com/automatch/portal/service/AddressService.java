@@ -158,7 +158,7 @@ public class AddressService {
         return addressDAO.countByCountry(country);
     }
 
-    private void validateAddressRecord(AddressRecord addressRecord) {
+    void validateAddressRecord(AddressRecord addressRecord) {
         if (addressRecord == null) {
             throw new IllegalArgumentException("Address record cannot be null");
         }
@@ -0,0 +1,265 @@
+package com.automatch.portal.service;
+
+import com.automatch.portal.dao.DocumentDAO;
+import com.automatch.portal.dao.InstructorDAO;
+import com.automatch.portal.dao.VehicleDAO;
+import com.automatch.portal.enums.BulkAction;
+import com.automatch.portal.enums.BulkActionStatus;
+import com.automatch.portal.events.InstructorChangedEvent;
+import com.automatch.portal.model.DocumentModel;
+import com.automatch.portal.model.InstructorModel;
+import com.automatch.portal.model.VehicleModel;
+import com.automatch.portal.records.BulkActionFilterRecord;
+import com.automatch.portal.records.BulkActionOutcomeRecord;
+import com.automatch.portal.records.BulkActionRequestRecord;
+import com.automatch.portal.records.BulkActionResultRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Ações administrativas em massa (verificar documentos, aprovar veículos, verificar instrutores).
+ * Cada lote é um único UPDATE ... WHERE id = ANY(?) RETURNING id na sua própria transação;
+ * só as linhas que ficaram de fora são lidas de novo para explicar o motivo.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdminBulkActionService {
+
+    private static final int MAX_IDS = 2000;
+
+    private final DocumentDAO documentDAO;
+    private final VehicleDAO vehicleDAO;
+    private final InstructorDAO instructorDAO;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${admin.bulk.chunk-size:200}")
+    private int chunkSize;
+
+    public BulkActionResultRecord execute(BulkActionRequestRecord request, UUID actorId) {
+        if (request == null || request.action() == null) {
+            throw new IllegalArgumentException("Action is required");
+        }
+
+        BulkAction action = parseAction(request.action());
+        boolean hasIds = request.ids() != null && !request.ids().isEmpty();
+        boolean hasFilter = request.filter() != null;
+        if (hasIds == hasFilter) {
+            throw new IllegalArgumentException("Provide either ids or filter");
+        }
+
+        List<BulkActionOutcomeRecord> outcomes = new ArrayList<>();
+        List<UUID> targets;
+        boolean truncated = false;
+        if (hasIds) {
+            if (request.ids().size() > MAX_IDS) {
+                throw new IllegalArgumentException("Cannot process more than " + MAX_IDS + " ids per request");
+            }
+            targets = parseIds(request.ids(), outcomes);
+        } else {
+            // Um a mais que o limite só para saber se ficou algo de fora
+            targets = resolveFilter(action, request.filter());
+            if (targets.size() > MAX_IDS) {
+                targets = targets.subList(0, MAX_IDS);
+                truncated = true;
+            }
+        }
+
+        for (int from = 0; from < targets.size(); from += chunkSize) {
+            List<UUID> chunk = targets.subList(from, Math.min(from + chunkSize, targets.size()));
+            outcomes.addAll(transactionTemplate.execute(status -> applyChunk(action, chunk, actorId, request.notes())));
+        }
+
+        int updated = 0;
+        int skipped = 0;
+        for (BulkActionOutcomeRecord outcome : outcomes) {
+            if (outcome.status() == BulkActionStatus.UPDATED) {
+                updated++;
+            } else {
+                skipped++;
+            }
+        }
+
+        log.info("Bulk action {} by {}: {} updated, {} skipped{}", action, actorId, updated, skipped,
+                truncated ? ", more rows match the filter" : "");
+        return new BulkActionResultRecord(action.name(), outcomes.size(), updated, skipped, truncated, outcomes);
+    }
+
+    private BulkAction parseAction(String action) {
+        try {
+            return BulkAction.valueOf(action.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown bulk action: " + action);
+        }
+    }
+
+    // IDs repetidos são processados uma vez; IDs malformados viram resultado, não erro
+    private List<UUID> parseIds(List<String> ids, List<BulkActionOutcomeRecord> outcomes) {
+        Set<UUID> unique = new LinkedHashSet<>();
+        for (String id : ids) {
+            try {
+                unique.add(UUID.fromString(id));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                outcomes.add(new BulkActionOutcomeRecord(id, BulkActionStatus.INVALID_ID, "Invalid ID format"));
+            }
+        }
+        return new ArrayList<>(unique);
+    }
+
+    // O filtro só seleciona linhas que ainda não estão no estado de destino; filtro vazio é recusado
+    private List<UUID> resolveFilter(BulkAction action, BulkActionFilterRecord filter) {
+        UUID userId = parseUserId(filter.userId());
+        boolean hasDates = filter.createdFrom() != null || filter.createdTo() != null;
+
+        boolean hasCriteria = switch (action) {
+            case VERIFY_DOCUMENTS, UNVERIFY_DOCUMENTS -> hasDates || userId != null || filter.documentTypeId() != null;
+            case APPROVE_VEHICLES, DISAPPROVE_VEHICLES -> hasDates || userId != null;
+            case VERIFY_INSTRUCTORS, UNVERIFY_INSTRUCTORS -> hasDates;
+        };
+        if (!hasCriteria) {
+            throw new IllegalArgumentException("Filter must set at least one criterion for " + action);
+        }
+
+        return switch (action) {
+            case VERIFY_DOCUMENTS, UNVERIFY_DOCUMENTS -> documentDAO.findIdsByFilter(
+                    userId, filter.documentTypeId(), filter.createdFrom(), filter.createdTo(),
+                    action == BulkAction.UNVERIFY_DOCUMENTS, MAX_IDS + 1);
+            case APPROVE_VEHICLES, DISAPPROVE_VEHICLES -> vehicleDAO.findIdsByFilter(
+                    userId, filter.createdFrom(), filter.createdTo(),
+                    action == BulkAction.DISAPPROVE_VEHICLES, MAX_IDS + 1);
+            case VERIFY_INSTRUCTORS, UNVERIFY_INSTRUCTORS -> instructorDAO.findIdsByFilter(
+                    filter.createdFrom(), filter.createdTo(),
+                    action == BulkAction.UNVERIFY_INSTRUCTORS, MAX_IDS + 1);
+        };
+    }
+
+    private UUID parseUserId(String userId) {
+        if (userId == null || userId.isBlank()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(userId);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid user ID format: " + userId);
+        }
+    }
+
+    private List<BulkActionOutcomeRecord> applyChunk(BulkAction action, List<UUID> ids, UUID actorId, String notes) {
+        Set<UUID> changed = new HashSet<>(switch (action) {
+            case VERIFY_DOCUMENTS -> documentDAO.verifyBatch(ids, actorId, notes);
+            case UNVERIFY_DOCUMENTS -> documentDAO.unverifyBatch(ids);
+            case APPROVE_VEHICLES -> vehicleDAO.setApprovedBatch(ids, true);
+            case DISAPPROVE_VEHICLES -> vehicleDAO.setApprovedBatch(ids, false);
+            case VERIFY_INSTRUCTORS -> instructorDAO.setVerifiedBatch(ids, true);
+            case UNVERIFY_INSTRUCTORS -> instructorDAO.setVerifiedBatch(ids, false);
+        });
+
+        // Mesmo evento das ações individuais do InstructorService, na mesma transação
+        if (action == BulkAction.VERIFY_INSTRUCTORS || action == BulkAction.UNVERIFY_INSTRUCTORS) {
+            for (UUID id : ids) {
+                if (changed.contains(id)) {
+                    eventPublisher.publishEvent(new InstructorChangedEvent(id));
+                }
+            }
+        }
+
+        List<UUID> missed = ids.stream().filter(id -> !changed.contains(id)).toList();
+        Map<UUID, String> reasons = missed.isEmpty() ? Map.of() : explainSkipped(action, missed);
+
+        List<BulkActionOutcomeRecord> outcomes = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            if (changed.contains(id)) {
+                outcomes.add(new BulkActionOutcomeRecord(id.toString(), BulkActionStatus.UPDATED, null));
+            } else if (reasons.containsKey(id)) {
+                outcomes.add(new BulkActionOutcomeRecord(id.toString(), BulkActionStatus.SKIPPED, reasons.get(id)));
+            } else {
+                outcomes.add(new BulkActionOutcomeRecord(id.toString(), BulkActionStatus.NOT_FOUND, "Not found"));
+            }
+        }
+        return outcomes;
+    }
+
+    private Map<UUID, String> explainSkipped(BulkAction action, List<UUID> ids) {
+        Map<UUID, String> reasons = new HashMap<>();
+        switch (action) {
+            case VERIFY_DOCUMENTS, UNVERIFY_DOCUMENTS -> {
+                boolean verify = action == BulkAction.VERIFY_DOCUMENTS;
+                for (DocumentModel document : documentDAO.findByIdsWithDeleted(ids)) {
+                    reasons.put(document.getId(), documentSkipReason(document, verify));
+                }
+            }
+            case APPROVE_VEHICLES, DISAPPROVE_VEHICLES -> {
+                boolean approve = action == BulkAction.APPROVE_VEHICLES;
+                for (VehicleModel vehicle : vehicleDAO.findByIdsWithDeleted(ids)) {
+                    reasons.put(vehicle.getId(), vehicleSkipReason(vehicle, approve));
+                }
+            }
+            case VERIFY_INSTRUCTORS, UNVERIFY_INSTRUCTORS -> {
+                boolean verify = action == BulkAction.VERIFY_INSTRUCTORS;
+                for (InstructorModel instructor : instructorDAO.findByIdsWithDeleted(ids)) {
+                    reasons.put(instructor.getUser().getId(), instructorSkipReason(instructor, verify));
+                }
+            }
+        }
+        return reasons;
+    }
+
+    // Mesmas regras e mensagens das ações individuais
+    private String documentSkipReason(DocumentModel document, boolean verify) {
+        if (document.getDeletedAt() != null) {
+            return verify ? "Cannot verify a deleted document" : "Cannot unverify a deleted document";
+        }
+        if (!verify) {
+            return Boolean.FALSE.equals(document.getIsVerified()) ? "Document is already unverified" : "Document changed concurrently";
+        }
+        if (Boolean.TRUE.equals(document.getIsVerified())) {
+            return "Document is already verified";
+        }
+        if (document.getExpiryDate() != null && document.getExpiryDate().isBefore(LocalDate.now())) {
+            return "Cannot verify an expired document";
+        }
+        return "Document is claimed by another reviewer";
+    }
+
+    private String vehicleSkipReason(VehicleModel vehicle, boolean approve) {
+        if (vehicle.getDeletedAt() != null) {
+            return "Vehicle is deleted";
+        }
+        if (approve && Boolean.TRUE.equals(vehicle.getIsApproved())) {
+            return "Vehicle is already approved";
+        }
+        if (!approve && Boolean.FALSE.equals(vehicle.getIsApproved())) {
+            return "Vehicle is already disapproved";
+        }
+        return "Vehicle changed concurrently";
+    }
+
+    private String instructorSkipReason(InstructorModel instructor, boolean verify) {
+        if (instructor.getDeletedAt() != null) {
+            return verify ? "Cannot verify a deleted instructor" : "Cannot unverify a deleted instructor";
+        }
+        if (verify && Boolean.TRUE.equals(instructor.getIsVerified())) {
+            return "Instructor is already verified";
+        }
+        if (!verify && Boolean.FALSE.equals(instructor.getIsVerified())) {
+            return "Instructor is already unverified";
+        }
+        return "Instructor changed concurrently";
+    }
+}
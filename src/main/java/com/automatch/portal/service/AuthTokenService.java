@@ -0,0 +1,154 @@
+package com.automatch.portal.service;
+
+import com.automatch.portal.dao.RefreshTokenDAO;
+import com.automatch.portal.dao.UserDAO;
+import com.automatch.portal.infra.security.TokenRevocationList;
+import com.automatch.portal.infra.security.VerifiedToken;
+import com.automatch.portal.mapper.UserMapper;
+import com.automatch.portal.model.RefreshTokenModel;
+import com.automatch.portal.model.UserModel;
+import com.automatch.portal.records.TokenResponse;
+import com.automatch.portal.records.UserRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Emite o par access token (curto) + refresh token (rotativo, guardado só como hash).
+ * Cada troca consome o refresh token; reapresentar um token já usado indica vazamento
+ * e revoga a família inteira, inclusive os access tokens ainda válidos.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuthTokenService {
+
+    private static final String TOKEN_TYPE = "Bearer";
+    private static final int REFRESH_TOKEN_BYTES = 32;
+
+    private final RefreshTokenDAO refreshTokenDAO;
+    private final UserDAO userDAO;
+    private final JwtService jwtService;
+    private final TokenRevocationList revocationList;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh-token-days:30}")
+    private long refreshTokenDays;
+
+    public TokenResponse issue(UserRecord user) {
+        return issuePair(UserMapper.fromRecord(user), user, UUID.randomUUID());
+    }
+
+    // A exceção de reuso não desfaz a revogação da família
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public TokenResponse refresh(String refreshToken) {
+        RefreshTokenModel current = findValid(refreshToken);
+
+        if (current.getUsedAt() != null || current.getRevokedAt() != null) {
+            revokeFamily(current.getFamilyId());
+            log.warn("Refresh token reuse detected for user {}, family {} revoked", current.getUserId(), current.getFamilyId());
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+
+        refreshTokenDAO.markUsed(current.getId());
+
+        UserModel user = userDAO.findById(current.getUserId())
+                .filter(found -> !Boolean.FALSE.equals(found.getIsActive()) && found.getDeletedAt() == null)
+                .orElseThrow(() -> new IllegalArgumentException("User account is inactive"));
+
+        return issuePair(user, UserMapper.toRecord(user), current.getFamilyId());
+    }
+
+    // O access token atual pode ter sido emitido por outro par da família: revogado pelo jti
+    @Transactional
+    public void logout(String refreshToken, VerifiedToken accessToken) {
+        RefreshTokenModel current = findValid(refreshToken);
+        revokeFamily(current.getFamilyId());
+
+        if (accessToken != null && accessToken.tokenId() != null
+                && (accessToken.userId() == null || accessToken.userId().equals(current.getUserId()))) {
+            revocationList.revoke(accessToken.tokenId(), current.getUserId(),
+                    LocalDateTime.ofInstant(accessToken.expiresAt(), ZoneId.systemDefault()));
+        }
+    }
+
+    @Scheduled(cron = "${jwt.refresh-token-cleanup-cron:0 30 3 * * *}")
+    public void deleteExpired() {
+        int deleted = refreshTokenDAO.deleteExpired(LocalDateTime.now());
+        log.info("Deleted {} expired refresh tokens", deleted);
+    }
+
+    private TokenResponse issuePair(UserModel user, UserRecord userRecord, UUID familyId) {
+        UUID accessTokenId = UUID.randomUUID();
+        String accessToken = jwtService.generateToken(user, accessTokenId);
+
+        byte[] random = new byte[REFRESH_TOKEN_BYTES];
+        secureRandom.nextBytes(random);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+
+        LocalDateTime now = LocalDateTime.now();
+        RefreshTokenModel model = new RefreshTokenModel();
+        model.setId(UUID.randomUUID());
+        model.setUserId(user.getId());
+        model.setFamilyId(familyId);
+        model.setTokenHash(hash(refreshToken));
+        model.setAccessTokenId(accessTokenId);
+        model.setExpiresAt(now.plusDays(refreshTokenDays));
+        model.setCreatedAt(now);
+        refreshTokenDAO.insert(model);
+
+        return new TokenResponse(accessToken, TOKEN_TYPE, jwtService.getAccessTokenTtlSeconds(), refreshToken, userRecord);
+    }
+
+    private RefreshTokenModel findValid(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new IllegalArgumentException("Refresh token is required");
+        }
+
+        RefreshTokenModel token = refreshTokenDAO.findByHashForUpdate(hash(refreshToken))
+                .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+        if (token.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Refresh token has expired");
+        }
+        return token;
+    }
+
+    // Access tokens mais antigos que o TTL já expiraram sozinhos: só os recentes entram na lista
+    private void revokeFamily(UUID familyId) {
+        List<RefreshTokenModel> revoked = refreshTokenDAO.revokeFamily(familyId);
+        LocalDateTime stillValidAfter = LocalDateTime.now().minusSeconds(jwtService.getAccessTokenTtlSeconds());
+
+        for (RefreshTokenModel token : revoked) {
+            if (token.getAccessTokenId() != null && token.getCreatedAt().isAfter(stillValidAfter)) {
+                revocationList.revoke(token.getAccessTokenId(), token.getUserId(), accessTokenExpiry(token.getCreatedAt()));
+            }
+        }
+    }
+
+    private LocalDateTime accessTokenExpiry(LocalDateTime issuedAt) {
+        return issuedAt.plusSeconds(jwtService.getAccessTokenTtlSeconds());
+    }
+
+    private String hash(String refreshToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(refreshToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.automatch.portal.service;
+
+import com.automatch.portal.dao.BlobDAO;
+import com.automatch.portal.dao.ImageDerivativeDAO;
+import com.automatch.portal.enums.UserRole;
+import com.automatch.portal.events.BlobStoredEvent;
+import com.automatch.portal.infra.storage.BlobContent;
+import com.automatch.portal.infra.storage.BlobHashes;
+import com.automatch.portal.infra.storage.BlobStore;
+import com.automatch.portal.infra.storage.StoredBlob;
+import com.automatch.portal.mapper.BlobMapper;
+import com.automatch.portal.model.BlobModel;
+import com.automatch.portal.model.UserModel;
+import com.automatch.portal.records.BlobRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class BlobService {
+
+    private static final Set<String> ALLOWED_CONTENT_TYPES = Set.of(
+            "image/jpeg", "image/png", "image/webp", "application/pdf");
+
+    private final BlobStore blobStore;
+    private final BlobDAO blobDAO;
+    private final ImageDerivativeDAO imageDerivativeDAO;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${storage.max-upload-bytes:15728640}")
+    private long maxUploadBytes;
+
+    /**
+     * Grava o conteúdo em streaming (sem carregar o arquivo inteiro na memória)
+     * e registra os metadados. Uploads repetidos do mesmo arquivo reaproveitam o blob.
+     */
+    public BlobRecord store(InputStream content, String contentType, boolean isPublic) {
+        BlobRecord blob = storeBlob(content, contentType, isPublic);
+        eventPublisher.publishEvent(new BlobStoredEvent(blob.sha256(), blob.contentType(), isPublic));
+        return blob;
+    }
+
+    // Upload genérico: registra o autor, o único que pode depois apontar suas linhas para este conteúdo
+    public BlobRecord upload(InputStream content, String contentType, boolean isPublic, UserModel uploader) {
+        BlobRecord blob = store(content, contentType, isPublic);
+        blobDAO.recordUpload(blob.sha256(), uploader.getId());
+        return blob;
+    }
+
+    // Versões geradas não disparam nova geração
+    public BlobRecord storeDerivative(InputStream content, String contentType, boolean isPublic) {
+        return storeBlob(content, contentType, isPublic);
+    }
+
+    /**
+     * Blob a servir para a largura pedida: a menor versão gerada que atende,
+     * ou vazio quando ainda não existe (o chamador serve o original).
+     */
+    public Optional<BlobModel> findDerivative(String sourceSha256, int width) {
+        return imageDerivativeDAO.findDerivativeFor(sourceSha256, width)
+                .flatMap(blobDAO::findBySha256);
+    }
+
+    private BlobRecord storeBlob(InputStream content, String contentType, boolean isPublic) {
+        String normalizedType = normalizeContentType(contentType);
+
+        StoredBlob stored;
+        try {
+            stored = blobStore.put(content, maxUploadBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store file", e);
+        }
+
+        BlobModel blob = new BlobModel();
+        blob.setSha256(stored.sha256());
+        blob.setSizeBytes(stored.sizeBytes());
+        blob.setContentType(normalizedType);
+        blob.setIsPublic(isPublic);
+
+        // A linha pode ter vindo de outro upload; a URL devolvida segue a visibilidade pedida agora
+        BlobModel saved = blobDAO.upsert(blob);
+        saved.setIsPublic(isPublic);
+        return BlobMapper.toRecord(saved);
+    }
+
+    public Optional<BlobModel> findBlob(String sha256) {
+        if (!BlobHashes.isValid(sha256)) {
+            return Optional.empty();
+        }
+        return blobDAO.findBySha256(sha256);
+    }
+
+    // Público enquanto algum perfil ou veículo ativo o referenciar pela URL pública
+    public boolean isPublic(BlobModel blob) {
+        return blobDAO.isPubliclyReferenced(blob.getSha256());
+    }
+
+    /**
+     * Blobs privados (ex.: documentos de identidade) só são servidos ao dono de uma linha
+     * que os referencia, a quem enviou o conteúdo ou a administradores.
+     */
+    public boolean canRead(BlobModel blob, UserModel user) {
+        if (user != null && user.getRole() == UserRole.ADMIN) {
+            return true;
+        }
+        if (isPublic(blob)) {
+            return true;
+        }
+        if (user == null) {
+            return false;
+        }
+        return blobDAO.isReferencedBy(blob.getSha256(), user.getId())
+                || blobDAO.wasUploadedBy(blob.getSha256(), user.getId());
+    }
+
+    /**
+     * URLs de blob internas só são aceitas do cliente se não mudaram ou se o dono da linha
+     * enviou o conteúdo; do contrário bastaria copiar o hash de outro usuário para ler o arquivo dele.
+     * URLs externas seguem livres.
+     */
+    public void validateImageReference(String imageUrl, String currentUrl, UUID ownerId) {
+        if (imageUrl == null || imageUrl.equals(currentUrl)) {
+            return;
+        }
+
+        String sha256;
+        if (imageUrl.startsWith(BlobMapper.PUBLIC_PATH)) {
+            sha256 = imageUrl.substring(BlobMapper.PUBLIC_PATH.length());
+        } else if (imageUrl.startsWith(BlobMapper.PROTECTED_PATH)) {
+            sha256 = imageUrl.substring(BlobMapper.PROTECTED_PATH.length());
+        } else {
+            return;
+        }
+
+        if (ownerId == null || !BlobHashes.isValid(sha256) || !blobDAO.wasUploadedBy(sha256, ownerId)) {
+            throw new IllegalArgumentException("Image must be uploaded by its owner: " + imageUrl);
+        }
+    }
+
+    public Optional<BlobContent> openContent(String sha256) {
+        try {
+            return blobStore.open(sha256);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open file " + sha256, e);
+        }
+    }
+
+    private String normalizeContentType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            throw new IllegalArgumentException("Content-Type is required");
+        }
+
+        String normalized = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+        if (!ALLOWED_CONTENT_TYPES.contains(normalized)) {
+            throw new IllegalArgumentException("Unsupported content type: " + contentType);
+        }
+        return normalized;
+    }
+}
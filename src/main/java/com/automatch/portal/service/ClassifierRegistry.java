@@ -0,0 +1,145 @@
+package com.automatch.portal.service;
+
+import com.automatch.portal.dao.ClassifierDAO;
+import com.automatch.portal.events.ClassifierChangedEvent;
+import com.automatch.portal.mapper.ClassifierMapper;
+import com.automatch.portal.records.ClassifierRecord;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tabela classifier inteira em memória, num snapshot imutável trocado de uma vez a cada recarga.
+ * Busca por id é índice de array (ids SERIAL, pequenos); por (tipo, valor), mapa.
+ * O acesso estático existe para os mappers, que não são beans.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClassifierRegistry {
+
+    private static final Comparator<ClassifierRecord> BY_TYPE_AND_VALUE =
+            Comparator.comparing(ClassifierRecord::type).thenComparing(ClassifierRecord::value);
+
+    private static volatile Snapshot current = Snapshot.EMPTY;
+
+    private final ClassifierDAO classifierDAO;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    public static Snapshot snapshot() {
+        return current;
+    }
+
+    // Rótulo para exibição: descrição, ou o próprio valor quando não há descrição
+    public static String label(Integer id) {
+        ClassifierRecord classifier = current.byId(id);
+        if (classifier == null) {
+            return null;
+        }
+        return classifier.description() != null ? classifier.description() : classifier.value();
+    }
+
+    // Id por (tipo, valor); null enquanto o classificador não existir
+    public static Integer idOf(String type, String value) {
+        return current.find(type, value).map(ClassifierRecord::id).orElse(null);
+    }
+
+    @PostConstruct
+    void initialize() {
+        reload();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClassifierChanged(ClassifierChangedEvent event) {
+        reload();
+    }
+
+    // Escritas feitas por outras instâncias chegam pela recarga periódica
+    @Scheduled(fixedDelayString = "${classifiers.reload-interval-ms:300000}", initialDelayString = "${classifiers.reload-interval-ms:300000}")
+    public void reload() {
+        reloadLock.lock();
+        try {
+            List<ClassifierRecord> all = classifierDAO.findAll().stream()
+                    .map(ClassifierMapper::toRecord)
+                    .toList();
+            current = new Snapshot(all);
+            log.debug("Classifier registry loaded: {} entries", all.size());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    public static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(List.of());
+
+        private final ClassifierRecord[] byId;
+        private final Map<String, Map<String, ClassifierRecord>> byTypeAndValue;
+        private final Map<String, List<ClassifierRecord>> byType;
+        private final List<ClassifierRecord> all;
+        private final List<String> types;
+
+        private Snapshot(List<ClassifierRecord> classifiers) {
+            List<ClassifierRecord> sorted = new ArrayList<>(classifiers);
+            sorted.sort(BY_TYPE_AND_VALUE);
+
+            int maxId = sorted.stream().mapToInt(ClassifierRecord::id).max().orElse(0);
+            this.byId = new ClassifierRecord[maxId + 1];
+
+            Map<String, Map<String, ClassifierRecord>> typeValue = new HashMap<>();
+            Map<String, List<ClassifierRecord>> type = new LinkedHashMap<>();
+            for (ClassifierRecord classifier : sorted) {
+                byId[classifier.id()] = classifier;
+                typeValue.computeIfAbsent(classifier.type(), key -> new HashMap<>()).put(classifier.value(), classifier);
+                type.computeIfAbsent(classifier.type(), key -> new ArrayList<>()).add(classifier);
+            }
+
+            Map<String, Map<String, ClassifierRecord>> frozenTypeValue = new HashMap<>();
+            typeValue.forEach((key, values) -> frozenTypeValue.put(key, Map.copyOf(values)));
+            Map<String, List<ClassifierRecord>> frozenType = new LinkedHashMap<>();
+            type.forEach((key, values) -> frozenType.put(key, List.copyOf(values)));
+
+            this.byTypeAndValue = frozenTypeValue;
+            this.byType = frozenType;
+            this.all = List.copyOf(sorted);
+            this.types = List.copyOf(frozenType.keySet());
+        }
+
+        public ClassifierRecord byId(Integer id) {
+            return id != null && id >= 0 && id < byId.length ? byId[id] : null;
+        }
+
+        public Optional<ClassifierRecord> find(Integer id) {
+            return Optional.ofNullable(byId(id));
+        }
+
+        public Optional<ClassifierRecord> find(String type, String value) {
+            Map<String, ClassifierRecord> values = byTypeAndValue.get(type);
+            return values != null ? Optional.ofNullable(values.get(value)) : Optional.empty();
+        }
+
+        public List<ClassifierRecord> byType(String type) {
+            return byType.getOrDefault(type, List.of());
+        }
+
+        public List<ClassifierRecord> all() {
+            return all;
+        }
+
+        public List<String> types() {
+            return types;
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.automatch.portal.service;
 
 import com.automatch.portal.dao.ClassifierDAO;
+import com.automatch.portal.events.ClassifierChangedEvent;
 import com.automatch.portal.mapper.ClassifierMapper;
 import com.automatch.portal.model.ClassifierModel;
 import com.automatch.portal.records.ClassifierRecord;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +18,7 @@ import java.util.stream.Collectors;
 public class ClassifierService {
 
     private final ClassifierDAO classifierDAO;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ClassifierRecord save(ClassifierRecord classifierRecord) {
@@ -38,36 +41,32 @@ public class ClassifierService {
         }
 
         ClassifierModel savedModel = classifierDAO.save(classifierModel);
+        eventPublisher.publishEvent(new ClassifierChangedEvent(savedModel.getId()));
         return ClassifierMapper.toRecord(savedModel);
     }
 
+    // Leituras vêm do snapshot em memória (ClassifierRegistry), sem consulta ao banco
     public ClassifierRecord getById(Integer id) {
-        return classifierDAO.findById(id)
-                .map(ClassifierMapper::toRecord)
+        return ClassifierRegistry.snapshot().find(id)
                 .orElseThrow(() -> new IllegalArgumentException("Classifier not found with ID: " + id));
     }
 
     public List<ClassifierRecord> getAll() {
-        return classifierDAO.findAll().stream()
-                .map(ClassifierMapper::toRecord)
-                .collect(Collectors.toList());
+        return ClassifierRegistry.snapshot().all();
     }
 
     public List<ClassifierRecord> getByType(String type) {
-        return classifierDAO.findByType(type).stream()
-                .map(ClassifierMapper::toRecord)
-                .collect(Collectors.toList());
+        return ClassifierRegistry.snapshot().byType(type);
     }
 
     public List<ClassifierRecord> getByValue(String value) {
-        return classifierDAO.findByValue(value).stream()
-                .map(ClassifierMapper::toRecord)
+        return ClassifierRegistry.snapshot().all().stream()
+                .filter(classifier -> classifier.value().equals(value))
                 .collect(Collectors.toList());
     }
 
     public ClassifierRecord getByTypeAndValue(String type, String value) {
-        return classifierDAO.findByTypeAndValue(type, value)
-                .map(ClassifierMapper::toRecord)
+        return ClassifierRegistry.snapshot().find(type, value)
                 .orElseThrow(() -> new IllegalArgumentException(
                         "Classifier not found with type: " + type + " and value: " + value));
     }
@@ -81,6 +80,7 @@ public class ClassifierService {
         if (!deleted) {
             throw new RuntimeException("Failed to delete classifier with ID: " + id);
         }
+        eventPublisher.publishEvent(new ClassifierChangedEvent(id));
     }
 
     @Transactional
@@ -102,6 +102,7 @@ public class ClassifierService {
         updatedModel.setId(id);
 
         ClassifierModel savedModel = classifierDAO.save(updatedModel);
+        eventPublisher.publishEvent(new ClassifierChangedEvent(id));
         return ClassifierMapper.toRecord(savedModel);
     }
 
@@ -112,19 +113,19 @@ public class ClassifierService {
     }
 
     public List<String> getAllTypes() {
-        return classifierDAO.findAllTypes();
+        return ClassifierRegistry.snapshot().types();
     }
 
     public boolean existsById(Integer id) {
-        return classifierDAO.existsById(id);
+        return ClassifierRegistry.snapshot().byId(id) != null;
     }
 
     public int countByType(String type) {
-        return classifierDAO.countByType(type);
+        return ClassifierRegistry.snapshot().byType(type).size();
     }
 
     public int countAll() {
-        return classifierDAO.countAll();
+        return ClassifierRegistry.snapshot().all().size();
     }
 
     private void validateClassifierRecord(ClassifierRecord classifierRecord) {
@@ -0,0 +1,119 @@
+package com.automatch.portal.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Agregado diário mantido pelas escritas de aulas (deltas na mesma transação) e reconciliado
+ * a partir de lessons. Cada agregado fornece o acesso ao banco num {@link Store}; aqui ficam
+ * a ordem dos deltas, a reconstrução em blocos e o backfill inicial.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class DailyRollup<D> {
+
+    private static final Comparator<Slot> SLOT_ORDER =
+            Comparator.comparing(Slot::ownerId).thenComparing(Slot::day);
+
+    private final String name;
+    private final Store<D> store;
+    private final TransactionTemplate transactionTemplate;
+
+    interface Store<D> {
+        boolean isEmpty();
+
+        Optional<LocalDate> findFirstDay();
+
+        Optional<LocalDate> findLastDay();
+
+        void lockDays(Collection<LocalDate> days);
+
+        void applyDelta(UUID ownerId, LocalDate day, D delta);
+
+        // Faixa [from, to), dentro da transação aberta por rebuild
+        int rebuildRange(LocalDate from, LocalDate to);
+
+        boolean isZero(D delta);
+    }
+
+    record Slot(UUID ownerId, LocalDate day) {
+    }
+
+    Map<Slot, D> newDeltas() {
+        return new TreeMap<>(SLOT_ORDER);
+    }
+
+    // Síncrono: roda dentro da transação que alterou a aula
+    void apply(Map<Slot, D> deltas) {
+        deltas.values().removeIf(store::isZero);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // Dias travados antes das linhas, e linhas em ordem fixa: evita deadlock com a reconstrução e entre transações
+        store.lockDays(deltas.keySet().stream().map(Slot::day).toList());
+        deltas.forEach((slot, delta) -> store.applyDelta(slot.ownerId(), slot.day(), delta));
+    }
+
+    void backfillIfEmpty(int chunkDays) {
+        if (!store.isEmpty()) {
+            return;
+        }
+        store.findFirstDay().ifPresent(first -> {
+            LocalDate last = store.findLastDay().orElse(first);
+            rebuild(first, last, chunkDays);
+        });
+    }
+
+    // Janela recente, estendida até o último dia com aula quando há aulas futuras
+    void reconcile(int reconcileDays, int chunkDays) {
+        LocalDate from = LocalDate.now().minusDays(reconcileDays);
+        LocalDate to = store.findLastDay()
+                .filter(last -> last.isAfter(from))
+                .orElse(LocalDate.now());
+        rebuild(from, to, chunkDays);
+    }
+
+    // Recalcula [from, to] em blocos, cada um na sua transação
+    int rebuild(LocalDate from, LocalDate to, int chunkDays) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must be before end date");
+        }
+
+        int rows = 0;
+        LocalDate chunkStart = from;
+        while (!chunkStart.isAfter(to)) {
+            LocalDate chunkEnd = chunkStart.plusDays(chunkDays);
+            if (chunkEnd.isAfter(to.plusDays(1))) {
+                chunkEnd = to.plusDays(1);
+            }
+
+            LocalDate start = chunkStart;
+            LocalDate end = chunkEnd;
+            rows += transactionTemplate.execute(status -> store.rebuildRange(start, end));
+            chunkStart = chunkEnd;
+        }
+
+        log.info("{} rebuilt from {} to {}: {} rows", name, from, to, rows);
+        return rows;
+    }
+
+    static void validateRange(LocalDate from, LocalDate to, int maxDays) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must be before end date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > maxDays) {
+            throw new IllegalArgumentException("Date range cannot exceed " + maxDays + " days");
+        }
+    }
+}
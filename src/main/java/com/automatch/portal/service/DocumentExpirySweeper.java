@@ -0,0 +1,144 @@
+package com.automatch.portal.service;
+
+import com.automatch.portal.dao.DocumentDAO;
+import com.automatch.portal.dao.InstructorDAO;
+import com.automatch.portal.events.InstructorDocumentExpiryEvent;
+import com.automatch.portal.model.DocumentModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Varredura diária de documentos: desverifica os vencidos em lotes
+ * e avisa sobre documentos de instrutores que vencem em breve.
+ */
+@Slf4j
+@Service
+public class DocumentExpirySweeper {
+
+    private static final String EXPIRED_NOTES = "Auto-unverified: document expired";
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final DocumentDAO documentDAO;
+    private final InstructorDAO instructorDAO;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Timer sweepTimer;
+    private final Counter unverifiedCounter;
+    private final Counter expiringCounter;
+    private final Counter eventsCounter;
+
+    @Value("${documents.expiry-sweep.batch-size:500}")
+    private int batchSize;
+
+    @Value("${documents.expiry-sweep.warning-days:30}")
+    private int warningDays;
+
+    public DocumentExpirySweeper(DocumentDAO documentDAO,
+                                 InstructorDAO instructorDAO,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry) {
+        this.documentDAO = documentDAO;
+        this.instructorDAO = instructorDAO;
+        this.eventPublisher = eventPublisher;
+        this.sweepTimer = meterRegistry.timer("documents.expiry.sweep.duration");
+        this.unverifiedCounter = meterRegistry.counter("documents.expiry.sweep.unverified");
+        this.expiringCounter = meterRegistry.counter("documents.expiry.sweep.expiring");
+        this.eventsCounter = meterRegistry.counter("documents.expiry.sweep.events");
+    }
+
+    @Scheduled(cron = "${documents.expiry-sweep.cron:0 15 0 * * *}")
+    public void sweep() {
+        sweepTimer.record(() -> {
+            int unverified = unverifyExpired();
+            int flagged = flagExpired();
+            int expiring = notifyExpiringSoon();
+            log.info("Document expiry sweep finished: {} unverified, {} pending flagged expired, {} expiring soon",
+                    unverified, flagged, expiring);
+        });
+    }
+
+    private int unverifyExpired() {
+        int total = 0;
+        List<DocumentModel> batch;
+        do {
+            batch = documentDAO.unverifyExpiredBatch(batchSize, EXPIRED_NOTES);
+            total += batch.size();
+            unverifiedCounter.increment(batch.size());
+            publishForInstructors(batch, true);
+        } while (batch.size() == batchSize);
+        return total;
+    }
+
+    // Vencidos ainda pendentes saem da fila de verificação (os desverificados acima já saíram)
+    private int flagExpired() {
+        int total = 0;
+        int flagged;
+        do {
+            flagged = documentDAO.flagExpiredBatch(batchSize);
+            total += flagged;
+        } while (flagged == batchSize);
+        return total;
+    }
+
+    private int notifyExpiringSoon() {
+        LocalDate today = LocalDate.now();
+        LocalDate until = today.plusDays(warningDays);
+
+        int total = 0;
+        LocalDate afterExpiryDate = today.minusDays(1);
+        UUID afterId = FIRST_ID;
+        List<DocumentModel> page;
+        do {
+            page = documentDAO.findExpiringPage(today, until, afterExpiryDate, afterId, batchSize);
+            if (page.isEmpty()) {
+                break;
+            }
+
+            total += page.size();
+            expiringCounter.increment(page.size());
+            publishForInstructors(page, false);
+
+            DocumentModel last = page.get(page.size() - 1);
+            afterExpiryDate = last.getExpiryDate();
+            afterId = last.getId();
+        } while (page.size() == batchSize);
+        return total;
+    }
+
+    // Só documentos de instrutores afetam a verificação do perfil
+    private void publishForInstructors(List<DocumentModel> documents, boolean expired) {
+        if (documents.isEmpty()) {
+            return;
+        }
+
+        Set<UUID> userIds = documents.stream()
+                .map(DocumentModel::getUserId)
+                .collect(Collectors.toSet());
+        Set<UUID> instructorIds = new HashSet<>(instructorDAO.findActiveInstructorIds(userIds));
+
+        for (DocumentModel document : documents) {
+            if (instructorIds.contains(document.getUserId())) {
+                eventPublisher.publishEvent(new InstructorDocumentExpiryEvent(
+                        document.getUserId(),
+                        document.getId(),
+                        document.getDocumentTypeId(),
+                        document.getExpiryDate(),
+                        expired));
+                eventsCounter.increment();
+            }
+        }
+    }
+}
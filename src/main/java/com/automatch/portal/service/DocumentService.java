@@ -3,11 +3,16 @@ package com.automatch.portal.service;
 import com.automatch.portal.dao.DocumentDAO;
 import com.automatch.portal.mapper.DocumentMapper;
 import com.automatch.portal.model.DocumentModel;
+import com.automatch.portal.records.BlobRecord;
+import com.automatch.portal.records.DocumentClaimRecord;
 import com.automatch.portal.records.DocumentRecord;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,6 +24,11 @@ import java.util.stream.Collectors;
 public class DocumentService {
 
     private final DocumentDAO documentDAO;
+    private final BlobService blobService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${documents.verification-queue.lease-minutes:15}")
+    private int claimLeaseMinutes;
 
     @Transactional
     public DocumentRecord save(DocumentRecord documentRecord) {
@@ -47,6 +57,8 @@ public class DocumentService {
         // Validar datas
         validateDocumentDates(documentModel.getIssueDate(), documentModel.getExpiryDate());
 
+        blobService.validateImageReference(documentModel.getDocumentImageUrl(), null, documentModel.getUserId());
+
         documentModel.setIsVerified(false);
         documentModel.setCreatedAt(LocalDateTime.now());
         documentModel.setUpdatedAt(LocalDateTime.now());
@@ -177,6 +189,13 @@ public class DocumentService {
             throw new IllegalArgumentException("Cannot verify an expired document");
         }
 
+        // Verificar se outro revisor está com o documento reservado
+        documentDAO.findActiveClaimOwner(uuid)
+                .filter(owner -> !owner.equals(verifierUuid))
+                .ifPresent(owner -> {
+                    throw new IllegalArgumentException("Document is claimed by another reviewer");
+                });
+
         document.setIsVerified(true);
         document.setVerifiedByUserId(verifierUuid);
         document.setVerifiedAt(LocalDateTime.now());
@@ -184,9 +203,36 @@ public class DocumentService {
         document.setUpdatedAt(LocalDateTime.now());
 
         DocumentModel updatedModel = documentDAO.save(document);
+        documentDAO.clearClaim(uuid);
         return DocumentMapper.toRecord(updatedModel);
     }
 
+    /**
+     * Reserva os próximos documentos pendentes para o revisor.
+     * Leases não concluídos voltam para a fila quando expiram.
+     */
+    @Transactional
+    public List<DocumentClaimRecord> claimVerificationBatch(UUID reviewerId, int limit) {
+        if (limit <= 0 || limit > 50) {
+            throw new IllegalArgumentException("Limit must be between 1 and 50");
+        }
+
+        LocalDateTime claimExpiresAt = LocalDateTime.now().plusMinutes(claimLeaseMinutes);
+
+        return documentDAO.claimPending(reviewerId, limit, claimExpiresAt).stream()
+                .map(document -> new DocumentClaimRecord(DocumentMapper.toRecord(document), reviewerId.toString(), claimExpiresAt))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public void releaseVerificationClaim(String id, UUID reviewerId) {
+        UUID uuid = UUID.fromString(id);
+
+        if (!documentDAO.releaseClaim(uuid, reviewerId)) {
+            throw new IllegalArgumentException("Document " + id + " is not claimed by reviewer " + reviewerId);
+        }
+    }
+
     @Transactional
     public DocumentRecord unverifyDocument(String id) {
         UUID uuid = UUID.fromString(id);
@@ -238,6 +284,9 @@ public class DocumentService {
         // Validar datas
         validateDocumentDates(documentRecord.issueDate(), documentRecord.expiryDate());
 
+        blobService.validateImageReference(documentRecord.documentImageUrl(),
+                existingDocument.getDocumentImageUrl(), existingDocument.getUserId());
+
         DocumentModel updatedModel = DocumentMapper.fromRecord(documentRecord);
         updatedModel.setId(uuid);
         updatedModel.setCreatedAt(existingDocument.getCreatedAt());
@@ -351,6 +400,39 @@ public class DocumentService {
         return DocumentMapper.toRecord(updatedModel);
     }
 
+    /**
+     * Substitui a imagem do documento por um arquivo armazenado localmente.
+     * Uma imagem nova invalida a verificação anterior.
+     * O upload é gravado fora de transação; a transação só troca a URL.
+     */
+    public DocumentRecord updateDocumentImage(String id, InputStream content, String contentType) {
+        UUID uuid = UUID.fromString(id);
+        if (documentDAO.findById(uuid).isEmpty()) {
+            throw new IllegalArgumentException("Document not found with ID: " + id);
+        }
+
+        BlobRecord blob = blobService.store(content, contentType, false);
+        return transactionTemplate.execute(status -> replaceDocumentImage(uuid, blob.url()));
+    }
+
+    private DocumentRecord replaceDocumentImage(UUID uuid, String imageUrl) {
+        DocumentModel document = documentDAO.findById(uuid)
+                .orElseThrow(() -> new IllegalArgumentException("Document not found with ID: " + uuid));
+
+        document.setDocumentImageUrl(imageUrl);
+        document.setUpdatedAt(LocalDateTime.now());
+
+        if (Boolean.TRUE.equals(document.getIsVerified())) {
+            document.setIsVerified(false);
+            document.setVerifiedByUserId(null);
+            document.setVerifiedAt(null);
+            document.setVerificationNotes("Auto-unverified due to document image change");
+        }
+
+        DocumentModel updatedModel = documentDAO.save(document);
+        return DocumentMapper.toRecord(updatedModel);
+    }
+
     public int countByUser(String userId) {
         UUID userUuid = UUID.fromString(userId);
         return documentDAO.countByUser(userUuid);
@@ -0,0 +1,109 @@
+package com.automatch.portal.service;
+
+import com.automatch.portal.dao.StudentFavoriteDAO;
+import com.automatch.portal.events.FavoriteChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mantém os contadores de favoritos por instrutor.
+ * Os toggles só acumulam deltas em memória; o flush periódico aplica tudo em lote
+ * na coluna instructors.favorite_count, sem lock de linha por toggle.
+ */
+@Service
+@RequiredArgsConstructor
+public class FavoriteCounterService {
+
+    private static final int TOP_CACHE_SIZE = 100;
+
+    private final StudentFavoriteDAO studentFavoriteDAO;
+
+    private final ConcurrentHashMap<UUID, LongAdder> pendingDeltas = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile List<UUID> topInstructors;
+
+    // Só conta o toggle depois que a transação do favorito for confirmada
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFavoriteChanged(FavoriteChangedEvent event) {
+        LongAdder adder = adderFor(event.instructorId());
+        if (event.added()) {
+            adder.increment();
+        } else {
+            adder.decrement();
+        }
+    }
+
+    public int countByInstructor(UUID instructorId) {
+        long count = studentFavoriteDAO.countByInstructor(instructorId) + pendingDelta(instructorId);
+        return (int) Math.max(count, 0);
+    }
+
+    public List<UUID> getTopInstructors(int limit) {
+        List<UUID> top = topInstructors;
+        if (top == null) {
+            top = refreshTopInstructors();
+        }
+        return top.subList(0, Math.min(limit, top.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${favorites.counter.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<UUID, Long> deltas = new HashMap<>();
+            pendingDeltas.forEach((instructorId, adder) -> {
+                long delta = adder.sumThenReset();
+                if (delta != 0) {
+                    deltas.put(instructorId, delta);
+                }
+            });
+
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            try {
+                studentFavoriteDAO.applyFavoriteCountDeltas(deltas);
+            } catch (RuntimeException e) {
+                // Devolve os deltas para a próxima tentativa
+                deltas.forEach((instructorId, delta) -> adderFor(instructorId).add(delta));
+                throw e;
+            }
+
+            refreshTopInstructors();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private List<UUID> refreshTopInstructors() {
+        List<UUID> top = List.copyOf(studentFavoriteDAO.findTopFavoriteInstructors(TOP_CACHE_SIZE));
+        topInstructors = top;
+        return top;
+    }
+
+    private long pendingDelta(UUID instructorId) {
+        LongAdder adder = pendingDeltas.get(instructorId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    private LongAdder adderFor(UUID instructorId) {
+        return pendingDeltas.computeIfAbsent(instructorId, id -> new LongAdder());
+    }
+}
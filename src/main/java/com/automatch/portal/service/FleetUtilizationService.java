@@ -0,0 +1,135 @@
+package com.automatch.portal.service;
+
+import com.automatch.portal.dao.VehicleUtilizationDAO;
+import com.automatch.portal.events.LessonChangedEvent;
+import com.automatch.portal.model.LessonModel;
+import com.automatch.portal.records.VehicleDailyUtilizationRecord;
+import com.automatch.portal.records.VehicleUtilizationRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Utilização diária da frota (aulas, minutos reservados e concluídos por veículo e dia).
+ * As escritas de aulas aplicam a diferença entre o antes e o depois na mesma transação;
+ * o job de reconciliação recalcula a janela recente a partir de lessons.
+ */
+@Service
+public class FleetUtilizationService {
+
+    private static final int MAX_REPORT_DAYS = 366;
+    private static final int CANCELLED_STATUS_ID = 3;
+
+    private final VehicleUtilizationDAO vehicleUtilizationDAO;
+    private final DailyRollup<int[]> rollup;
+
+    @Value("${fleet.utilization.reconcile-days:35}")
+    private int reconcileDays;
+
+    @Value("${fleet.utilization.backfill-chunk-days:31}")
+    private int backfillChunkDays;
+
+    public FleetUtilizationService(VehicleUtilizationDAO vehicleUtilizationDAO, TransactionTemplate transactionTemplate) {
+        this.vehicleUtilizationDAO = vehicleUtilizationDAO;
+        this.rollup = new DailyRollup<>("Fleet utilization", new UtilizationStore(), transactionTemplate);
+    }
+
+    @EventListener
+    public void onLessonChanged(LessonChangedEvent event) {
+        Map<DailyRollup.Slot, int[]> deltas = rollup.newDeltas();
+        addContribution(deltas, event.before(), -1);
+        addContribution(deltas, event.after(), 1);
+        rollup.apply(deltas);
+    }
+
+    public List<VehicleUtilizationRecord> getFleetReport(LocalDate from, LocalDate to, String instructorId) {
+        DailyRollup.validateRange(from, to, MAX_REPORT_DAYS);
+        UUID instructorUuid = instructorId != null ? UUID.fromString(instructorId) : null;
+        return vehicleUtilizationDAO.findFleetReport(from, to, instructorUuid);
+    }
+
+    public List<VehicleDailyUtilizationRecord> getVehicleDaily(String vehicleId, LocalDate from, LocalDate to) {
+        DailyRollup.validateRange(from, to, MAX_REPORT_DAYS);
+        return vehicleUtilizationDAO.findDaily(UUID.fromString(vehicleId), from, to);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        rollup.backfillIfEmpty(backfillChunkDays);
+    }
+
+    @Scheduled(cron = "${fleet.utilization.reconcile-cron:0 45 2 * * *}")
+    public void reconcile() {
+        rollup.reconcile(reconcileDays, backfillChunkDays);
+    }
+
+    public int rebuild(LocalDate from, LocalDate to) {
+        return rollup.rebuild(from, to, backfillChunkDays);
+    }
+
+    private void addContribution(Map<DailyRollup.Slot, int[]> deltas, LessonModel lesson, int sign) {
+        if (lesson == null || lesson.getVehicleId() == null || lesson.getScheduledAt() == null
+                || lesson.getDeletedAt() != null
+                || Integer.valueOf(CANCELLED_STATUS_ID).equals(lesson.getStatusId())) {
+            return;
+        }
+
+        int minutes = lesson.getDurationMinutes() != null ? lesson.getDurationMinutes() : 0;
+        int[] delta = deltas.computeIfAbsent(
+                new DailyRollup.Slot(lesson.getVehicleId(), lesson.getScheduledAt().toLocalDate()), slot -> new int[3]);
+        delta[0] += sign;
+        delta[1] += sign * minutes;
+        if (lesson.getCompletedAt() != null) {
+            delta[2] += sign * minutes;
+        }
+    }
+
+    // Delta: aulas, minutos reservados, minutos concluídos
+    private class UtilizationStore implements DailyRollup.Store<int[]> {
+
+        @Override
+        public boolean isEmpty() {
+            return vehicleUtilizationDAO.isEmpty();
+        }
+
+        @Override
+        public Optional<LocalDate> findFirstDay() {
+            return vehicleUtilizationDAO.findFirstLessonDay();
+        }
+
+        @Override
+        public Optional<LocalDate> findLastDay() {
+            return vehicleUtilizationDAO.findLastLessonDay();
+        }
+
+        @Override
+        public void lockDays(Collection<LocalDate> days) {
+            vehicleUtilizationDAO.lockDays(days);
+        }
+
+        @Override
+        public void applyDelta(UUID vehicleId, LocalDate day, int[] delta) {
+            vehicleUtilizationDAO.applyDelta(vehicleId, day, delta[0], delta[1], delta[2]);
+        }
+
+        @Override
+        public int rebuildRange(LocalDate from, LocalDate to) {
+            return vehicleUtilizationDAO.rebuildRange(from, to);
+        }
+
+        @Override
+        public boolean isZero(int[] delta) {
+            return delta[0] == 0 && delta[1] == 0 && delta[2] == 0;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.automatch.portal.service;
+
+import com.automatch.portal.dao.ImageDerivativeDAO;
+import com.automatch.portal.events.BlobStoredEvent;
+import com.automatch.portal.infra.storage.BlobContent;
+import com.automatch.portal.mapper.ImageVariants;
+import com.automatch.portal.records.BlobRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gera versões redimensionadas (thumbnail, medium, large) das imagens enviadas,
+ * fora da requisição de upload. O pool é limitado: com a fila cheia a geração é descartada
+ * (nunca roda na thread da requisição) e o backfill periódico gera o que ficou faltando.
+ */
+@Slf4j
+@Service
+public class ImageDerivativeService {
+
+    private static final String OUTPUT_CONTENT_TYPE = "image/jpeg";
+    private static final float JPEG_QUALITY = 0.82f;
+    private static final long MAX_SOURCE_PIXELS = 40_000_000L;
+
+    private final BlobService blobService;
+    private final ImageDerivativeDAO imageDerivativeDAO;
+    private final ThreadPoolExecutor executor;
+    private final TransactionTemplate requiresNew;
+
+    private final Counter generatedCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+
+    @Value("${images.derivatives.backfill-window-hours:48}")
+    private int backfillWindowHours;
+
+    @Value("${images.derivatives.backfill-batch-size:50}")
+    private int backfillBatchSize;
+
+    public ImageDerivativeService(BlobService blobService,
+                                  ImageDerivativeDAO imageDerivativeDAO,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${images.derivatives.workers:2}") int workers,
+                                  @Value("${images.derivatives.queue-capacity:100}") int queueCapacity) {
+        this.blobService = blobService;
+        this.imageDerivativeDAO = imageDerivativeDAO;
+
+        // Gravações sempre na própria transação, nunca na conexão de quem publicou o evento
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivatives-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        meterRegistry.gauge("images.derivatives.queue.size", executor, pool -> pool.getQueue().size());
+        this.generatedCounter = meterRegistry.counter("images.derivatives.generated");
+        this.failedCounter = meterRegistry.counter("images.derivatives.failed");
+        this.droppedCounter = meterRegistry.counter("images.derivatives.dropped");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlobStored(BlobStoredEvent event) {
+        if (event.contentType() == null || !event.contentType().startsWith("image/")) {
+            return;
+        }
+        submit(event.sha256(), event.isPublic());
+    }
+
+    // Reenfileira imagens recentes que ficaram sem versões; para quando a fila enche
+    @Scheduled(fixedDelayString = "${images.derivatives.backfill-interval-ms:600000}",
+            initialDelayString = "${images.derivatives.backfill-interval-ms:600000}")
+    public void backfill() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ImageDerivativeDAO.SourceImage> sources = imageDerivativeDAO.findSourcesMissingDerivatives(
+                ImageVariants.WIDTHS.size(), now.minusHours(backfillWindowHours), now.minusMinutes(5), backfillBatchSize);
+
+        int queued = 0;
+        for (ImageDerivativeDAO.SourceImage source : sources) {
+            if (!submit(source.sha256(), source.isPublic())) {
+                break;
+            }
+            queued++;
+        }
+        if (queued > 0) {
+            log.info("Queued {} images for derivative backfill", queued);
+        }
+    }
+
+    private boolean submit(String sha256, boolean isPublic) {
+        try {
+            executor.execute(() -> generate(sha256, isPublic));
+            return true;
+        } catch (RejectedExecutionException e) {
+            droppedCounter.increment();
+            log.debug("Image derivative queue full, deferring {} to backfill", sha256);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void generate(String sha256, boolean isPublic) {
+        try {
+            BufferedImage source = readSource(sha256);
+            if (source == null) {
+                return;
+            }
+
+            for (int width : ImageVariants.WIDTHS.values()) {
+                if (imageDerivativeDAO.exists(sha256, width)) {
+                    continue;
+                }
+
+                // Imagem já menor que a largura pedida: a própria original atende
+                if (source.getWidth() <= width) {
+                    saveDerivative(sha256, width, sha256);
+                    continue;
+                }
+
+                byte[] encoded = encodeJpeg(resize(source, width));
+                BlobRecord derivative = blobService.storeDerivative(
+                        new ByteArrayInputStream(encoded), OUTPUT_CONTENT_TYPE, isPublic);
+                saveDerivative(sha256, width, derivative.sha256());
+                generatedCounter.increment();
+            }
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("Failed to generate image derivatives for {}", sha256, e);
+        }
+    }
+
+    private void saveDerivative(String sourceSha256, int width, String derivativeSha256) {
+        requiresNew.executeWithoutResult(status -> imageDerivativeDAO.save(sourceSha256, width, derivativeSha256));
+    }
+
+    // Confere as dimensões pelo cabeçalho antes de decodificar, para não estourar a memória
+    private BufferedImage readSource(String sha256) throws IOException {
+        Optional<BlobContent> opened = blobService.openContent(sha256);
+        if (opened.isEmpty()) {
+            return null;
+        }
+
+        try (BlobContent content = opened.get();
+             InputStream input = content.inputStream();
+             ImageInputStream imageInput = ImageIO.createImageInputStream(input)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
+                log.debug("No image reader available for {}", sha256);
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > MAX_SOURCE_PIXELS) {
+                    log.warn("Skipping image derivatives for {}: {} pixels", sha256, pixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Reduz pela metade em passos até chegar perto do alvo: qualidade melhor que um único passo bilinear
+    private BufferedImage resize(BufferedImage source, int targetWidth) {
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(width / 2, targetWidth);
+            height = Math.max(height / 2, targetHeight);
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    // JPEG não tem transparência: fundo branco
+    private BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+}
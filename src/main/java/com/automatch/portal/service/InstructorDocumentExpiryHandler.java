@@ -0,0 +1,57 @@
+package com.automatch.portal.service;
+
+import com.automatch.portal.dao.InstructorDAO;
+import com.automatch.portal.events.InstructorChangedEvent;
+import com.automatch.portal.events.InstructorDocumentExpiryEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reage aos vencimentos encontrados pela varredura: documento de instrutor vencido
+ * derruba a verificação do perfil; documento perto de vencer gera um aviso.
+ */
+@Slf4j
+@Service
+public class InstructorDocumentExpiryHandler {
+
+    private final InstructorDAO instructorDAO;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Counter unverifiedCounter;
+    private final Counter noticeCounter;
+
+    public InstructorDocumentExpiryHandler(InstructorDAO instructorDAO,
+                                           ApplicationEventPublisher eventPublisher,
+                                           MeterRegistry meterRegistry) {
+        this.instructorDAO = instructorDAO;
+        this.eventPublisher = eventPublisher;
+        this.unverifiedCounter = meterRegistry.counter("instructors.verification.expired-documents");
+        this.noticeCounter = meterRegistry.counter("instructors.documents.expiring-notices");
+    }
+
+    @EventListener
+    public void onDocumentExpiry(InstructorDocumentExpiryEvent event) {
+        if (!event.expired()) {
+            noticeCounter.increment();
+            log.info("Instructor {} document {} expires on {}",
+                    event.instructorId(), event.documentId(), event.expiryDate());
+            return;
+        }
+
+        // Só muda quem ainda estava verificado; repetir o evento não tem efeito
+        List<UUID> changed = instructorDAO.setVerifiedBatch(List.of(event.instructorId()), false);
+        if (!changed.isEmpty()) {
+            unverifiedCounter.increment();
+            eventPublisher.publishEvent(new InstructorChangedEvent(event.instructorId()));
+            log.info("Instructor {} unverified: document {} expired on {}",
+                    event.instructorId(), event.documentId(), event.expiryDate());
+        }
+    }
+}
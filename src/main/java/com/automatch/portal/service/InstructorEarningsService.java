@@ -0,0 +1,158 @@
+package com.automatch.portal.service;
+
+import com.automatch.portal.dao.InstructorRevenueDAO;
+import com.automatch.portal.enums.EarningsGranularity;
+import com.automatch.portal.events.LessonChangedEvent;
+import com.automatch.portal.model.LessonModel;
+import com.automatch.portal.records.InstructorEarningsRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Ganhos diários dos instrutores (aulas concluídas e pagas, pelo dia da conclusão).
+ * Conclusão, pagamento, cancelamento e exclusão aplicam a diferença entre o antes e o depois
+ * na mesma transação; o job de reconciliação recalcula a janela recente a partir de lessons.
+ */
+@Service
+public class InstructorEarningsService {
+
+    private static final int CANCELLED_STATUS_ID = 3;
+    private static final String PAYMENT_STATUS_TYPE = "PAYMENT_STATUS";
+    private static final String PAID_STATUS = "PAID";
+    private static final int MAX_DAILY_RANGE_DAYS = 366;
+    private static final int MAX_RANGE_DAYS = 366 * 5;
+
+    private final InstructorRevenueDAO instructorRevenueDAO;
+    private final DailyRollup<Delta> rollup;
+
+    @Value("${instructors.earnings.reconcile-days:35}")
+    private int reconcileDays;
+
+    @Value("${instructors.earnings.backfill-chunk-days:31}")
+    private int backfillChunkDays;
+
+    public InstructorEarningsService(InstructorRevenueDAO instructorRevenueDAO, TransactionTemplate transactionTemplate) {
+        this.instructorRevenueDAO = instructorRevenueDAO;
+        this.rollup = new DailyRollup<>("Instructor earnings", new RevenueStore(), transactionTemplate);
+    }
+
+    @EventListener
+    public void onLessonChanged(LessonChangedEvent event) {
+        Map<DailyRollup.Slot, Delta> deltas = rollup.newDeltas();
+        addContribution(deltas, event.before(), -1);
+        addContribution(deltas, event.after(), 1);
+        rollup.apply(deltas);
+    }
+
+    public List<InstructorEarningsRecord> getEarnings(String instructorId, LocalDate from, LocalDate to, String granularity) {
+        EarningsGranularity parsed = parseGranularity(granularity);
+        DailyRollup.validateRange(from, to, parsed == EarningsGranularity.DAY ? MAX_DAILY_RANGE_DAYS : MAX_RANGE_DAYS);
+        return instructorRevenueDAO.findEarnings(UUID.fromString(instructorId), from, to, parsed);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        rollup.backfillIfEmpty(backfillChunkDays);
+    }
+
+    @Scheduled(cron = "${instructors.earnings.reconcile-cron:0 55 2 * * *}")
+    public void reconcile() {
+        rollup.reconcile(reconcileDays, backfillChunkDays);
+    }
+
+    public int rebuild(LocalDate from, LocalDate to) {
+        return rollup.rebuild(from, to, backfillChunkDays);
+    }
+
+    private void addContribution(Map<DailyRollup.Slot, Delta> deltas, LessonModel lesson, int sign) {
+        if (lesson == null || lesson.getInstructorId() == null || lesson.getCompletedAt() == null
+                || lesson.getDeletedAt() != null
+                || Integer.valueOf(CANCELLED_STATUS_ID).equals(lesson.getStatusId())) {
+            return;
+        }
+
+        BigDecimal amount = lesson.getPrice() != null ? lesson.getPrice() : BigDecimal.ZERO;
+        BigDecimal signedAmount = sign < 0 ? amount.negate() : amount;
+
+        Delta delta = deltas.computeIfAbsent(
+                new DailyRollup.Slot(lesson.getInstructorId(), lesson.getCompletedAt().toLocalDate()), slot -> new Delta());
+        delta.completedLessons += sign;
+        delta.completedAmount = delta.completedAmount.add(signedAmount);
+        Integer paidStatusId = ClassifierRegistry.idOf(PAYMENT_STATUS_TYPE, PAID_STATUS);
+        if (paidStatusId != null && paidStatusId.equals(lesson.getPaymentStatusId())) {
+            delta.paidLessons += sign;
+            delta.paidAmount = delta.paidAmount.add(signedAmount);
+        }
+    }
+
+    private EarningsGranularity parseGranularity(String granularity) {
+        if (granularity == null || granularity.isBlank()) {
+            return EarningsGranularity.DAY;
+        }
+        try {
+            return EarningsGranularity.valueOf(granularity.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown granularity: " + granularity);
+        }
+    }
+
+    private static final class Delta {
+        private int completedLessons;
+        private BigDecimal completedAmount = BigDecimal.ZERO;
+        private int paidLessons;
+        private BigDecimal paidAmount = BigDecimal.ZERO;
+    }
+
+    private class RevenueStore implements DailyRollup.Store<Delta> {
+
+        @Override
+        public boolean isEmpty() {
+            return instructorRevenueDAO.isEmpty();
+        }
+
+        @Override
+        public Optional<LocalDate> findFirstDay() {
+            return instructorRevenueDAO.findFirstCompletedDay();
+        }
+
+        @Override
+        public Optional<LocalDate> findLastDay() {
+            return instructorRevenueDAO.findLastCompletedDay();
+        }
+
+        @Override
+        public void lockDays(Collection<LocalDate> days) {
+            instructorRevenueDAO.lockDays(days);
+        }
+
+        @Override
+        public void applyDelta(UUID instructorId, LocalDate day, Delta delta) {
+            instructorRevenueDAO.applyDelta(instructorId, day,
+                    delta.completedLessons, delta.completedAmount, delta.paidLessons, delta.paidAmount);
+        }
+
+        @Override
+        public int rebuildRange(LocalDate from, LocalDate to) {
+            return instructorRevenueDAO.rebuildRange(from, to, ClassifierRegistry.idOf(PAYMENT_STATUS_TYPE, PAID_STATUS));
+        }
+
+        @Override
+        public boolean isZero(Delta delta) {
+            return delta.completedLessons == 0 && delta.paidLessons == 0
+                    && delta.completedAmount.signum() == 0 && delta.paidAmount.signum() == 0;
+        }
+    }
+}
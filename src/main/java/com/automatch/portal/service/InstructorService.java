@@ -2,11 +2,13 @@ package com.automatch.portal.service;
 
 import com.automatch.portal.dao.InstructorDAO;
 import com.automatch.portal.dao.UserDAO;
+import com.automatch.portal.events.InstructorChangedEvent;
 import com.automatch.portal.mapper.InstructorMapper;
 import com.automatch.portal.model.InstructorModel;
 import com.automatch.portal.model.UserModel;
 import com.automatch.portal.records.InstructorRecord;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +26,7 @@ public class InstructorService {
 
     private final InstructorDAO instructorDAO;
     private final UserDAO userDAO;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public InstructorRecord save(InstructorRecord instructorRecord) {
@@ -64,6 +67,7 @@ public class InstructorService {
         instructorModel.setUpdatedAt(LocalDateTime.now());
 
         InstructorModel savedModel = instructorDAO.save(instructorModel);
+        eventPublisher.publishEvent(new InstructorChangedEvent(userUuid));
         return InstructorMapper.toRecord(savedModel);
     }
 
@@ -99,6 +103,7 @@ public class InstructorService {
         if (!deleted) {
             throw new RuntimeException("Failed to delete instructor with user ID: " + userId);
         }
+        eventPublisher.publishEvent(new InstructorChangedEvent(userUuid));
     }
 
     @Transactional
@@ -119,6 +124,7 @@ public class InstructorService {
         instructor.setUpdatedAt(LocalDateTime.now());
 
         InstructorModel updatedModel = instructorDAO.save(instructor);
+        eventPublisher.publishEvent(new InstructorChangedEvent(userUuid));
         return InstructorMapper.toRecord(updatedModel);
     }
 
@@ -140,6 +146,7 @@ public class InstructorService {
         instructor.setUpdatedAt(LocalDateTime.now());
 
         InstructorModel updatedModel = instructorDAO.save(instructor);
+        eventPublisher.publishEvent(new InstructorChangedEvent(userUuid));
         return InstructorMapper.toRecord(updatedModel);
     }
 
@@ -161,6 +168,7 @@ public class InstructorService {
         instructor.setUpdatedAt(LocalDateTime.now());
 
         InstructorModel updatedModel = instructorDAO.save(instructor);
+        eventPublisher.publishEvent(new InstructorChangedEvent(userUuid));
         return InstructorMapper.toRecord(updatedModel);
     }
 
@@ -189,6 +197,7 @@ public class InstructorService {
         instructor.setUpdatedAt(LocalDateTime.now());
 
         InstructorModel updatedModel = instructorDAO.save(instructor);
+        eventPublisher.publishEvent(new InstructorChangedEvent(userUuid));
         return InstructorMapper.toRecord(updatedModel);
     }
 
@@ -223,6 +232,7 @@ public class InstructorService {
         }
 
         InstructorModel savedModel = instructorDAO.save(updatedModel);
+        eventPublisher.publishEvent(new InstructorChangedEvent(userUuid));
         return InstructorMapper.toRecord(savedModel);
     }
 
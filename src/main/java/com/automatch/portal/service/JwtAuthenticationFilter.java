@@ -1,5 +1,6 @@
 package com.automatch.portal.infra.security;
 
+import com.automatch.portal.model.UserModel;
 import com.automatch.portal.service.AuthorizationService;
 import com.automatch.portal.service.JwtService;
 import jakarta.servlet.FilterChain;
@@ -11,11 +12,13 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -23,6 +26,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final AuthorizationService authorizationService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList revocationList;
 
     @Override
     protected void doFilterInternal(
@@ -39,12 +44,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         final String jwt = authHeader.substring(7);
-        final String userEmail = jwtService.extractUsername(jwt);
+        // Token inválido ou expirado segue sem autenticação (as rotas protegidas respondem 401/403)
+        final Optional<VerifiedToken> verified = jwtService.verify(jwt);
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = authorizationService.loadUserByUsername(userEmail);
+        if (verified.isPresent() && SecurityContextHolder.getContext().getAuthentication() == null) {
+            VerifiedToken token = verified.get();
+            // Consulta só em memória; tokens sem jti (anteriores à revogação) expiram sozinhos
+            boolean revoked = token.tokenId() != null && revocationList.isRevoked(token.tokenId());
+            UserDetails userDetails = revoked ? null : loadPrincipal(token);
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (userDetails != null && belongsTo(token, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -57,4 +66,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    // Conta removida ou inativada depois da emissão do token: segue sem autenticação
+    private UserDetails loadPrincipal(VerifiedToken token) {
+        try {
+            return principalCache.get(token.subject(), authorizationService::loadUserByUsername);
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+
+    // Com a claim uid, um email reaproveitado por outra conta não herda tokens antigos
+    private boolean belongsTo(VerifiedToken token, UserDetails userDetails) {
+        if (token.userId() != null && userDetails instanceof UserModel user) {
+            return token.userId().equals(user.getId());
+        }
+        return true;
+    }
+}
@@ -1,8 +1,13 @@
 package com.automatch.portal.service;
 
+import com.automatch.portal.infra.security.VerifiedToken;
+import com.automatch.portal.model.UserModel;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -14,31 +19,98 @@ import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+
     @Value("${jwt.secret-key}")
     private String secretKey;
 
-    @Value("${jwt.expiration-hours:24}")
-    private int expirationHours;
+    @Value("${jwt.access-token-minutes:15}")
+    private long accessTokenMinutes;
+
+    // Chave e parser são imutáveis e thread-safe: montados uma vez
+    private SecretKey signKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Base64.getDecoder().decode(secretKey);
+        this.signKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser()
+                .verifyWith(signKey)
+                .build();
+    }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        return generateToken(new HashMap<>(), userDetails, UUID.randomUUID());
+    }
+
+    public String generateToken(UserDetails userDetails, UUID tokenId) {
+        return generateToken(new HashMap<>(), userDetails, tokenId);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+        return generateToken(extraClaims, userDetails, UUID.randomUUID());
+    }
+
+    // O jti (tokenId) é o que entra na lista de revogação
+    public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails, UUID tokenId) {
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        if (userDetails instanceof UserModel user) {
+            if (user.getId() != null) {
+                claims.put(USER_ID_CLAIM, user.getId().toString());
+            }
+            if (user.getRole() != null) {
+                claims.put(ROLE_CLAIM, user.getRole().name());
+            }
+        }
+
+        Instant now = Instant.now();
         return Jwts.builder()
-                .claims(extraClaims)
+                .claims(claims)
+                .id(tokenId.toString())
                 .subject(userDetails.getUsername())
-                .issuedAt(Date.from(Instant.now()))
-                .expiration(Date.from(Instant.now().plus(expirationHours, ChronoUnit.HOURS)))
-                .signWith(getSignKey())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(accessTokenMinutes, ChronoUnit.MINUTES)))
+                .signWith(signKey)
                 .compact();
     }
 
+    /**
+     * Verifica assinatura e expiração com um único parse.
+     * Retorna vazio para token inválido, expirado ou malformado.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+
+            String userId = claims.get(USER_ID_CLAIM, String.class);
+            return Optional.of(new VerifiedToken(
+                    claims.getId() != null ? UUID.fromString(claims.getId()) : null,
+                    claims.getSubject(),
+                    userId != null ? UUID.fromString(userId) : null,
+                    claims.get(ROLE_CLAIM, String.class),
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                    claims.getExpiration().toInstant()));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public long getAccessTokenTtlSeconds() {
+        return accessTokenMinutes * 60;
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -52,25 +124,14 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    // O parser já rejeita tokens expirados (ExpiredJwtException)
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private SecretKey getSignKey() {
-        byte[] keyBytes = Base64.getDecoder().decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return verify(token)
+                .map(verified -> verified.subject().equals(userDetails.getUsername()))
+                .orElse(false);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package com.automatch.portal.service;
+
+import com.automatch.portal.dao.UserDAO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Último login gravado em lote, fora do caminho do login.
+ * Vários logins do mesmo usuário entre dois flushes viram uma única linha (o mais recente).
+ * Se a instância cair sem shutdown, perde-se no máximo um intervalo de flush.
+ */
+@Slf4j
+@Service
+public class LastLoginWriteBehind {
+
+    private final UserDAO userDAO;
+    private final Map<UUID, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Timer flushTimer;
+
+    @Value("${users.last-login.batch-size:500}")
+    private int batchSize;
+
+    public LastLoginWriteBehind(UserDAO userDAO, MeterRegistry meterRegistry) {
+        this.userDAO = userDAO;
+        this.flushTimer = meterRegistry.timer("users.last-login.flush.duration");
+        meterRegistry.gauge("users.last-login.pending", pending, Map::size);
+        meterRegistry.gauge("users.last-login.lag.seconds", this, LastLoginWriteBehind::oldestPendingSeconds);
+    }
+
+    public void record(UUID userId) {
+        pending.merge(userId, LocalDateTime.now(), LastLoginWriteBehind::latest);
+    }
+
+    @Scheduled(fixedDelayString = "${users.last-login.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            flushTimer.record(this::drainAndWrite);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // remove(chave, valor): um login que chegou durante o flush continua pendente para o próximo
+    private void drainAndWrite() {
+        Map<UUID, LocalDateTime> batch = new LinkedHashMap<>();
+        for (Map.Entry<UUID, LocalDateTime> entry : pending.entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        List<Map.Entry<UUID, LocalDateTime>> entries = new ArrayList<>(batch.entrySet());
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            List<Map.Entry<UUID, LocalDateTime>> chunk = entries.subList(from, Math.min(from + batchSize, entries.size()));
+            try {
+                userDAO.updateLastLoginBatch(chunk);
+            } catch (RuntimeException e) {
+                // Devolve ao buffer sem sobrescrever logins mais novos
+                chunk.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), LastLoginWriteBehind::latest));
+                log.warn("Failed to flush {} last-login updates, will retry", chunk.size(), e);
+            }
+        }
+    }
+
+    private double oldestPendingSeconds() {
+        LocalDateTime now = LocalDateTime.now();
+        return pending.values().stream()
+                .min(LocalDateTime::compareTo)
+                .map(oldest -> Duration.between(oldest, now).toMillis() / 1000.0)
+                .orElse(0.0);
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
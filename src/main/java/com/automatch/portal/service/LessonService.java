@@ -1,10 +1,13 @@
 package com.automatch.portal.service;
 
 import com.automatch.portal.dao.LessonDAO;
+import com.automatch.portal.dao.VehicleDAO;
+import com.automatch.portal.events.LessonChangedEvent;
 import com.automatch.portal.mapper.LessonMapper;
 import com.automatch.portal.model.LessonModel;
 import com.automatch.portal.records.LessonRecord;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,16 +15,27 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class LessonService {
 
+    private static final int MAX_ASSIGNMENT_ATTEMPTS = 3;
+    private static final String PAYMENT_STATUS_TYPE = "PAYMENT_STATUS";
+    private static final String PENDING_PAYMENT_STATUS = "PENDING";
+    private static final String PAID_PAYMENT_STATUS = "PAID";
+
     private final LessonDAO lessonDAO;
+    private final VehicleDAO vehicleDAO;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public LessonRecord save(LessonRecord lessonRecord) {
@@ -36,6 +50,27 @@ public class LessonService {
         }
     }
 
+    /**
+     * Cria a aula escolhendo automaticamente um veículo do instrutor livre no horário
+     * e compatível com o câmbio/categoria pedidos (filtros opcionais).
+     */
+    @Transactional
+    public LessonRecord createWithAutoAssignedVehicle(LessonRecord lessonRecord, Integer transmissionTypeId, Integer categoryId) {
+        validateLessonRecord(lessonRecord);
+
+        if (lessonRecord.id() != null) {
+            throw new IllegalArgumentException("Automatic vehicle assignment is only available for new lessons");
+        }
+
+        if (lessonRecord.vehicleId() != null) {
+            throw new IllegalArgumentException("Vehicle ID must be empty for automatic assignment");
+        }
+
+        LessonModel lessonModel = LessonMapper.fromRecord(lessonRecord);
+        lessonModel.setVehicleId(assignVehicle(lessonModel, transmissionTypeId, categoryId));
+        return createLesson(lessonModel);
+    }
+
     private LessonRecord createLesson(LessonModel lessonModel) {
         // Verificar conflitos de horário
         if (hasScheduleConflict(lessonModel)) {
@@ -52,6 +87,8 @@ public class LessonService {
             throw new IllegalArgumentException("Lesson duration must be at least 30 minutes");
         }
 
+        reserveVehicle(lessonModel);
+
         lessonModel.setCreatedAt(LocalDateTime.now());
         lessonModel.setUpdatedAt(LocalDateTime.now());
 
@@ -61,10 +98,11 @@ public class LessonService {
         }
 
         if (lessonModel.getPaymentStatusId() == null) {
-            lessonModel.setPaymentStatusId(1); // Status de pagamento: Pendente
+            lessonModel.setPaymentStatusId(ClassifierRegistry.idOf(PAYMENT_STATUS_TYPE, PENDING_PAYMENT_STATUS));
         }
 
         LessonModel savedModel = lessonDAO.save(lessonModel);
+        eventPublisher.publishEvent(LessonChangedEvent.created(savedModel));
         return LessonMapper.toRecord(savedModel);
     }
 
@@ -180,6 +218,7 @@ public class LessonService {
         if (!deleted) {
             throw new RuntimeException("Failed to delete lesson with ID: " + id);
         }
+        eventPublisher.publishEvent(LessonChangedEvent.deleted(lesson));
     }
 
     @Transactional
@@ -201,10 +240,12 @@ public class LessonService {
             throw new IllegalArgumentException("Cannot complete a lesson that hasn't happened yet");
         }
 
+        LessonModel before = LessonMapper.copyOf(lesson);
         lesson.setCompletedAt(LocalDateTime.now());
         lesson.setUpdatedAt(LocalDateTime.now());
 
         LessonModel updatedModel = lessonDAO.save(lesson);
+        eventPublisher.publishEvent(LessonChangedEvent.updated(before, updatedModel));
         return LessonMapper.toRecord(updatedModel);
     }
 
@@ -227,11 +268,13 @@ public class LessonService {
             throw new IllegalArgumentException("Cannot cancel a lesson that has already started");
         }
 
+        LessonModel before = LessonMapper.copyOf(lesson);
         // Alterar status para cancelado (assumindo que 3 é o código para cancelado)
         lesson.setStatusId(3);
         lesson.setUpdatedAt(LocalDateTime.now());
 
         LessonModel updatedModel = lessonDAO.save(lesson);
+        eventPublisher.publishEvent(LessonChangedEvent.updated(before, updatedModel));
         return LessonMapper.toRecord(updatedModel);
     }
 
@@ -259,10 +302,16 @@ public class LessonService {
             throw new IllegalArgumentException("Schedule conflict detected for the new time");
         }
 
+        if (lesson.getVehicleId() != null) {
+            reserveVehicle(lesson.getVehicleId(), lesson.getInstructorId(), newDateTime, newEndTime, uuid);
+        }
+
+        LessonModel before = LessonMapper.copyOf(lesson);
         lesson.setScheduledAt(newDateTime);
         lesson.setUpdatedAt(LocalDateTime.now());
 
         LessonModel updatedModel = lessonDAO.save(lesson);
+        eventPublisher.publishEvent(LessonChangedEvent.updated(before, updatedModel));
         return LessonMapper.toRecord(updatedModel);
     }
 
@@ -276,10 +325,12 @@ public class LessonService {
             throw new IllegalArgumentException("Cannot update payment status of a deleted lesson");
         }
 
+        LessonModel before = LessonMapper.copyOf(lesson);
         lesson.setPaymentStatusId(paymentStatusId);
         lesson.setUpdatedAt(LocalDateTime.now());
 
         LessonModel updatedModel = lessonDAO.save(lesson);
+        eventPublisher.publishEvent(LessonChangedEvent.updated(before, updatedModel));
         return LessonMapper.toRecord(updatedModel);
     }
 
@@ -293,10 +344,12 @@ public class LessonService {
             throw new IllegalArgumentException("Cannot update status of a deleted lesson");
         }
 
+        LessonModel before = LessonMapper.copyOf(lesson);
         lesson.setStatusId(statusId);
         lesson.setUpdatedAt(LocalDateTime.now());
 
         LessonModel updatedModel = lessonDAO.save(lesson);
+        eventPublisher.publishEvent(LessonChangedEvent.updated(before, updatedModel));
         return LessonMapper.toRecord(updatedModel);
     }
 
@@ -366,9 +419,13 @@ public class LessonService {
             if (hasScheduleConflict(updatedModel)) {
                 throw new IllegalArgumentException("Schedule conflict detected for instructor");
             }
+            reserveVehicle(updatedModel);
+        } else if (!Objects.equals(updatedModel.getVehicleId(), existingLesson.getVehicleId())) {
+            reserveVehicle(updatedModel);
         }
 
         LessonModel savedModel = lessonDAO.save(updatedModel);
+        eventPublisher.publishEvent(LessonChangedEvent.updated(existingLesson, savedModel));
         return LessonMapper.toRecord(savedModel);
     }
 
@@ -389,15 +446,22 @@ public class LessonService {
 
     public List<LessonRecord> getInstructorPendingPayment(String instructorId) {
         UUID instructorUuid = UUID.fromString(instructorId);
-        return lessonDAO.findInstructorPendingPayment(instructorUuid).stream()
+        List<Integer> paymentStatusIds = Stream.of(PENDING_PAYMENT_STATUS, PAID_PAYMENT_STATUS)
+                .map(value -> ClassifierRegistry.idOf(PAYMENT_STATUS_TYPE, value))
+                .filter(Objects::nonNull)
+                .toList();
+        return lessonDAO.findInstructorPendingPayment(instructorUuid, paymentStatusIds).stream()
                 .map(LessonMapper::toRecord)
                 .collect(Collectors.toList());
     }
 
-    public boolean checkScheduleConflict(String instructorId, LocalDateTime startTime, Integer durationMinutes) {
+    public boolean checkScheduleConflict(String instructorId, String vehicleId, LocalDateTime startTime, Integer durationMinutes) {
         UUID instructorUuid = UUID.fromString(instructorId);
         LocalDateTime endTime = startTime.plusMinutes(durationMinutes);
-        return lessonDAO.hasScheduleConflict(instructorUuid, startTime, endTime, null);
+        if (lessonDAO.hasScheduleConflict(instructorUuid, startTime, endTime, null)) {
+            return true;
+        }
+        return vehicleId != null && lessonDAO.hasVehicleConflict(UUID.fromString(vehicleId), startTime, endTime, null);
     }
 
     private boolean hasScheduleConflict(LessonModel lesson) {
@@ -406,6 +470,54 @@ public class LessonService {
         return lessonDAO.hasScheduleConflict(lesson.getInstructorId(), startTime, endTime, lesson.getId());
     }
 
+    private void reserveVehicle(LessonModel lesson) {
+        if (lesson.getVehicleId() == null) {
+            return;
+        }
+        LocalDateTime startTime = lesson.getScheduledAt();
+        reserveVehicle(lesson.getVehicleId(), lesson.getInstructorId(), startTime,
+                startTime.plusMinutes(lesson.getDurationMinutes()), lesson.getId());
+    }
+
+    // A trava no veículo garante que duas reservas simultâneas não passem as duas pela checagem
+    private void reserveVehicle(UUID vehicleId, UUID instructorId, LocalDateTime startTime, LocalDateTime endTime,
+                                UUID excludeLessonId) {
+        VehicleDAO.BookingLock vehicle = vehicleDAO.lockForBooking(vehicleId)
+                .orElseThrow(() -> new IllegalArgumentException("Vehicle not found with ID: " + vehicleId));
+
+        // Mesmas regras da atribuição automática: veículo do instrutor da aula, aprovado e disponível
+        if (!vehicle.instructorId().equals(instructorId)) {
+            throw new IllegalArgumentException("Vehicle does not belong to the lesson instructor");
+        }
+        if (!vehicle.approved() || !vehicle.available()) {
+            throw new IllegalArgumentException("Vehicle is not approved or not available");
+        }
+
+        if (lessonDAO.hasVehicleConflict(vehicleId, startTime, endTime, excludeLessonId)) {
+            throw new IllegalArgumentException("Schedule conflict detected for vehicle");
+        }
+    }
+
+    private UUID assignVehicle(LessonModel lesson, Integer transmissionTypeId, Integer categoryId) {
+        LocalDateTime startTime = lesson.getScheduledAt();
+        LocalDateTime endTime = startTime.plusMinutes(lesson.getDurationMinutes());
+        Set<UUID> rejected = new HashSet<>();
+
+        for (int attempt = 0; attempt < MAX_ASSIGNMENT_ATTEMPTS; attempt++) {
+            UUID vehicleId = vehicleDAO.lockFreeVehicle(lesson.getInstructorId(), transmissionTypeId, categoryId,
+                            startTime, endTime, lesson.getId(), rejected)
+                    .orElseThrow(() -> new IllegalArgumentException("No vehicle available for the requested time"));
+
+            // A escolha usa o snapshot do início da consulta; depois da trava, confirma com uma leitura nova
+            if (!lessonDAO.hasVehicleConflict(vehicleId, startTime, endTime, lesson.getId())) {
+                return vehicleId;
+            }
+            rejected.add(vehicleId);
+        }
+
+        throw new IllegalArgumentException("No vehicle available for the requested time");
+    }
+
     private void validateLessonRecord(LessonRecord lessonRecord) {
         if (lessonRecord == null) {
             throw new IllegalArgumentException("Lesson record cannot be null");
@@ -0,0 +1,97 @@
+package com.automatch.portal.service;
+
+import com.automatch.portal.dao.AddressDAO;
+import com.automatch.portal.dao.InstructorDAO;
+import com.automatch.portal.dao.UserDAO;
+import com.automatch.portal.enums.UserRole;
+import com.automatch.portal.events.InstructorChangedEvent;
+import com.automatch.portal.infra.security.PasswordHasher;
+import com.automatch.portal.mapper.AddressMapper;
+import com.automatch.portal.mapper.UserMapper;
+import com.automatch.portal.model.AddressModel;
+import com.automatch.portal.model.InstructorModel;
+import com.automatch.portal.model.UserModel;
+import com.automatch.portal.records.UserRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Cadastro completo (endereço, usuário e perfil de instrutor) numa única transação,
+ * com um INSERT por tabela. O hash da senha é feito antes, para não segurar
+ * a conexão durante o BCrypt; email repetido é detectado pelo índice único.
+ */
+@Service
+@RequiredArgsConstructor
+public class RegistrationService {
+
+    private static final BigDecimal DEFAULT_HOURLY_RATE = new BigDecimal("50.00");
+    private static final String DEFAULT_BIO = "Instrutor de direção";
+
+    private final UserService userService;
+    private final AddressService addressService;
+    private final BlobService blobService;
+    private final AddressDAO addressDAO;
+    private final UserDAO userDAO;
+    private final InstructorDAO instructorDAO;
+    private final PasswordHasher passwordHasher;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserRecord register(UserRecord userRecord) {
+        if (userRecord != null && userRecord.id() != null) {
+            throw new IllegalArgumentException("New users cannot have an ID");
+        }
+        userService.validateUserRecord(userRecord);
+        // ADMIN só é concedido por outro administrador, nunca pelo cadastro público
+        if (userRecord.role() != UserRole.STUDENT && userRecord.role() != UserRole.INSTRUCTOR) {
+            throw new IllegalArgumentException("Role not allowed for registration: " + userRecord.role());
+        }
+        blobService.validateImageReference(userRecord.profileImageUrl(), null, null);
+        if (userRecord.address() != null) {
+            addressService.validateAddressRecord(userRecord.address());
+        }
+
+        UserModel user = UserMapper.fromRecord(userRecord);
+        user.setPassword(passwordHasher.encode(userRecord.password()));
+        user.setIsActive(true);
+
+        try {
+            return transactionTemplate.execute(status -> UserMapper.toRecord(insertAll(user, userRecord)));
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException("Email already exists: " + userRecord.email());
+        }
+    }
+
+    private UserModel insertAll(UserModel user, UserRecord userRecord) {
+        if (userRecord.address() != null) {
+            AddressModel address = AddressMapper.fromRecord(userRecord.address());
+            address.setId(null);
+            user.setAddress(addressDAO.save(address));
+        }
+
+        userDAO.insertNew(user);
+
+        if (user.getRole() == UserRole.INSTRUCTOR) {
+            LocalDateTime now = LocalDateTime.now();
+            InstructorModel instructor = new InstructorModel();
+            instructor.setUser(user);
+            instructor.setHourlyRate(DEFAULT_HOURLY_RATE);
+            instructor.setBio(DEFAULT_BIO);
+            instructor.setYearsExperience(0);
+            instructor.setIsVerified(false);
+            instructor.setAverageRating(BigDecimal.ZERO);
+            instructor.setTotalReviews(0);
+            instructor.setCreatedAt(now);
+            instructor.setUpdatedAt(now);
+            instructorDAO.insertNew(instructor);
+            eventPublisher.publishEvent(new InstructorChangedEvent(user.getId()));
+        }
+        return user;
+    }
+}
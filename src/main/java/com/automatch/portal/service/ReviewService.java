@@ -2,10 +2,12 @@ package com.automatch.portal.service;
 
 import com.automatch.portal.dao.ReviewDAO;
 import com.automatch.portal.dao.LessonDAO;
+import com.automatch.portal.events.InstructorChangedEvent;
 import com.automatch.portal.mapper.ReviewMapper;
 import com.automatch.portal.model.ReviewModel;
 import com.automatch.portal.records.ReviewRecord;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +22,7 @@ public class ReviewService {
 
     private final ReviewDAO reviewDAO;
     private final LessonDAO lessonDAO;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ReviewRecord save(ReviewRecord reviewRecord) {
@@ -245,6 +248,7 @@ public class ReviewService {
     private void updateInstructorAverageRating(UUID instructorId) {
         Double averageRating = reviewDAO.getInstructorAverageRating(instructorId);
         reviewDAO.updateInstructorAverageRating(instructorId, averageRating);
+        eventPublisher.publishEvent(new InstructorChangedEvent(instructorId));
     }
 
     private void validateReviewRecord(ReviewRecord reviewRecord) {
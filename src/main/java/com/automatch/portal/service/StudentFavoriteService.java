@@ -1,10 +1,12 @@
 package com.automatch.portal.service;
 
 import com.automatch.portal.dao.StudentFavoriteDAO;
+import com.automatch.portal.events.FavoriteChangedEvent;
 import com.automatch.portal.mapper.StudentFavoriteMapper;
 import com.automatch.portal.model.StudentFavoriteModel;
 import com.automatch.portal.records.StudentFavoriteRecord;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,7 +19,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class StudentFavoriteService {
 
+    private static final int MAX_SYNC_SIZE = 500;
+
     private final StudentFavoriteDAO studentFavoriteDAO;
+    private final FavoriteCounterService favoriteCounterService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public StudentFavoriteRecord save(StudentFavoriteRecord favoriteRecord) {
@@ -48,6 +54,7 @@ public class StudentFavoriteService {
         favoriteModel.setCreatedAt(LocalDateTime.now());
 
         StudentFavoriteModel savedModel = studentFavoriteDAO.save(favoriteModel);
+        eventPublisher.publishEvent(FavoriteChangedEvent.added(favoriteModel.getStudentId(), favoriteModel.getInstructorId()));
         return StudentFavoriteMapper.toRecord(savedModel);
     }
 
@@ -91,12 +98,12 @@ public class StudentFavoriteService {
 
     public int countByInstructor(String instructorId) {
         UUID instructorUuid = UUID.fromString(instructorId);
-        return studentFavoriteDAO.countByInstructor(instructorUuid);
+        return favoriteCounterService.countByInstructor(instructorUuid);
     }
 
     public int getInstructorPopularity(String instructorId) {
         UUID instructorUuid = UUID.fromString(instructorId);
-        return studentFavoriteDAO.countByInstructor(instructorUuid);
+        return favoriteCounterService.countByInstructor(instructorUuid);
     }
 
     public List<StudentFavoriteRecord> getRecentByStudent(String studentId, int limit) {
@@ -120,6 +127,7 @@ public class StudentFavoriteService {
         if (!deleted) {
             throw new RuntimeException("Failed to delete favorite with ID: " + id);
         }
+        eventPublisher.publishEvent(FavoriteChangedEvent.removed(favorite.getStudentId(), favorite.getInstructorId()));
     }
 
     @Transactional
@@ -131,16 +139,52 @@ public class StudentFavoriteService {
         if (deleted == 0) {
             throw new IllegalArgumentException("Favorite not found for student ID: " + studentId + " and instructor ID: " + instructorId);
         }
+        eventPublisher.publishEvent(FavoriteChangedEvent.removed(studentUuid, instructorUuid));
     }
 
     @Transactional
     public void deleteAllByStudent(String studentId) {
         UUID studentUuid = UUID.fromString(studentId);
-        int deletedCount = studentFavoriteDAO.deleteAllByStudent(studentUuid);
+        List<UUID> removedInstructorIds = studentFavoriteDAO.deleteAllByStudent(studentUuid);
 
-        if (deletedCount == 0) {
+        if (removedInstructorIds.isEmpty()) {
             throw new IllegalArgumentException("No favorites found for student ID: " + studentId);
         }
+        removedInstructorIds.forEach(instructorUuid ->
+                eventPublisher.publishEvent(FavoriteChangedEvent.removed(studentUuid, instructorUuid)));
+    }
+
+    /**
+     * Sincroniza os favoritos do aluno com o conjunto completo enviado pelo cliente.
+     * O diff é feito no banco: um INSERT ... ON CONFLICT DO NOTHING e um DELETE <> ALL.
+     */
+    @Transactional
+    public List<StudentFavoriteRecord> syncFavorites(String studentId, List<String> instructorIds) {
+        if (instructorIds == null) {
+            throw new IllegalArgumentException("Instructor IDs list is required");
+        }
+
+        if (instructorIds.size() > MAX_SYNC_SIZE) {
+            throw new IllegalArgumentException("Cannot sync more than " + MAX_SYNC_SIZE + " favorites at once");
+        }
+
+        UUID studentUuid = UUID.fromString(studentId);
+        List<UUID> desired = instructorIds.stream()
+                .map(UUID::fromString)
+                .distinct()
+                .collect(Collectors.toList());
+
+        List<UUID> removed = studentFavoriteDAO.deleteAllExcept(studentUuid, desired);
+        List<UUID> added = studentFavoriteDAO.insertMissing(studentUuid, desired);
+
+        removed.forEach(instructorUuid ->
+                eventPublisher.publishEvent(FavoriteChangedEvent.removed(studentUuid, instructorUuid)));
+        added.forEach(instructorUuid ->
+                eventPublisher.publishEvent(FavoriteChangedEvent.added(studentUuid, instructorUuid)));
+
+        return studentFavoriteDAO.findByStudent(studentUuid).stream()
+                .map(StudentFavoriteMapper::toRecord)
+                .collect(Collectors.toList());
     }
 
     public List<String> getTopFavoriteInstructors(int limit) {
@@ -148,7 +192,7 @@ public class StudentFavoriteService {
             throw new IllegalArgumentException("Limit must be between 1 and 100");
         }
 
-        return studentFavoriteDAO.findTopFavoriteInstructors(limit).stream()
+        return favoriteCounterService.getTopInstructors(limit).stream()
                 .map(UUID::toString)
                 .collect(Collectors.toList());
     }
@@ -1,18 +1,24 @@
 package com.automatch.portal.service;
 
 import com.automatch.portal.dao.UserDAO;
+import com.automatch.portal.enums.UserRole;
+import com.automatch.portal.events.UserChangedEvent;
+import com.automatch.portal.infra.security.PasswordHasher;
 import com.automatch.portal.mapper.AddressMapper;
 import com.automatch.portal.mapper.UserMapper;
 import com.automatch.portal.model.AddressModel;
 import com.automatch.portal.model.UserModel;
 import com.automatch.portal.records.AddressRecord;
+import com.automatch.portal.records.BlobRecord;
 import com.automatch.portal.records.LoginRequestRecord;
 import com.automatch.portal.records.UserRecord;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -23,8 +29,12 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserDAO userDAO;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final AddressService addressService;
+    private final BlobService blobService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LastLoginWriteBehind lastLoginWriteBehind;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     public UserRecord save(UserRecord userRecord) {
@@ -73,6 +83,8 @@ public class UserService {
     }
 
     private UserRecord createUser(UserModel userModel) {
+        blobService.validateImageReference(userModel.getProfileImageUrl(), null, null);
+
         // Validação de email duplicado
         if (userDAO.existsByEmail(userModel.getEmail())) {
             throw new IllegalArgumentException("Email already exists: " + userModel.getEmail());
@@ -80,7 +92,7 @@ public class UserService {
 
         // Validação de senha
         if (userModel.getPassword() != null && !userModel.getPassword().isBlank()) {
-            String hash = passwordEncoder.encode(userModel.getPassword());
+            String hash = passwordHasher.encode(userModel.getPassword());
             userModel.setPassword(hash);
         } else {
             throw new IllegalArgumentException("Password is required");
@@ -112,6 +124,13 @@ public class UserService {
             throw new IllegalArgumentException("Cannot update a deleted user");
         }
 
+        // Promoção a ADMIN não passa pela edição de perfil
+        if (userRecord.role() == UserRole.ADMIN && existingUser.getRole() != UserRole.ADMIN) {
+            throw new IllegalArgumentException("Role cannot be changed to ADMIN");
+        }
+
+        blobService.validateImageReference(userRecord.profileImageUrl(), existingUser.getProfileImageUrl(), id);
+
         // Validação de email duplicado (se mudou o email)
         if (!existingUser.getEmail().equals(userRecord.email()) &&
                 userDAO.existsByEmail(userRecord.email())) {
@@ -127,7 +146,7 @@ public class UserService {
 
         // Atualizar senha apenas se foi fornecida
         if (userRecord.password() != null && !userRecord.password().isBlank()) {
-            updatedModel.setPassword(passwordEncoder.encode(userRecord.password()));
+            updatedModel.setPassword(passwordHasher.encode(userRecord.password()));
         } else {
             updatedModel.setPassword(existingUser.getPassword());
         }
@@ -147,9 +166,31 @@ public class UserService {
         }
 
         UserModel savedModel = userDAO.save(updatedModel);
+        eventPublisher.publishEvent(new UserChangedEvent(id, existingUser.getEmail()));
+        if (!existingUser.getEmail().equals(userRecord.email())) {
+            eventPublisher.publishEvent(new UserChangedEvent(id, userRecord.email()));
+        }
         return UserMapper.toRecord(savedModel);
     }
 
+    // O upload é gravado fora de transação; a transação só troca a URL
+    public UserRecord updateProfileImage(UUID id, InputStream content, String contentType) {
+        UserModel user = userDAO.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + id));
+
+        if (user.getDeletedAt() != null) {
+            throw new IllegalArgumentException("Cannot update a deleted user");
+        }
+
+        BlobRecord blob = blobService.store(content, contentType, true);
+        transactionTemplate.executeWithoutResult(status -> {
+            userDAO.updateProfileImageUrl(id, blob.url());
+            eventPublisher.publishEvent(new UserChangedEvent(id, user.getEmail()));
+        });
+        user.setProfileImageUrl(blob.url());
+        return UserMapper.toRecord(user);
+    }
+
     public UserRecord login(LoginRequestRecord loginRequest) {
         UserModel user = userDAO.findByEmail(loginRequest.email())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid email or password"));
@@ -166,11 +207,16 @@ public class UserService {
             throw new IllegalArgumentException("Invalid email or password");
         }
 
-        if (!passwordEncoder.matches(loginRequest.password(), user.getPassword())) {
+        if (!passwordHasher.matches(loginRequest.password(), user.getPassword())) {
             throw new IllegalArgumentException("Invalid email or password");
         }
 
-        userDAO.updateLastLogin(user.getId());
+        // Login é o único momento com a senha em claro: aproveita para atualizar hashes antigos
+        if (passwordHasher.needsUpgrade(user.getPassword())) {
+            userDAO.updatePassword(user.getId(), passwordHasher.encode(loginRequest.password()));
+        }
+
+        lastLoginWriteBehind.record(user.getId());
 
         return UserMapper.toRecord(user);
     }
@@ -206,6 +252,7 @@ public class UserService {
         if (!deleted) {
             throw new RuntimeException("Failed to delete user with ID: " + id);
         }
+        eventPublisher.publishEvent(new UserChangedEvent(id, user.getEmail()));
     }
 
     @Transactional
@@ -236,6 +283,7 @@ public class UserService {
         if (!deactivated) {
             throw new RuntimeException("Failed to deactivate user with ID: " + id);
         }
+        eventPublisher.publishEvent(new UserChangedEvent(id, user.getEmail()));
     }
 
     public UserRecord findByEmail(String email) {
@@ -252,7 +300,7 @@ public class UserService {
         userDAO.updateLastLogin(userId);
     }
 
-    private void validateUserRecord(UserRecord userRecord) {
+    void validateUserRecord(UserRecord userRecord) {
         if (userRecord == null) {
             throw new IllegalArgumentException("User record cannot be null");
         }
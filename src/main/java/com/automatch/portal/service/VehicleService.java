@@ -3,11 +3,16 @@ package com.automatch.portal.service;
 import com.automatch.portal.dao.VehicleDAO;
 import com.automatch.portal.mapper.VehicleMapper;
 import com.automatch.portal.model.VehicleModel;
+import com.automatch.portal.records.BlobRecord;
+import com.automatch.portal.records.PageRecord;
 import com.automatch.portal.records.VehicleRecord;
+import com.automatch.portal.records.VehicleSearchFilterRecord;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,7 +23,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class VehicleService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final VehicleDAO vehicleDAO;
+    private final BlobService blobService;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     public VehicleRecord save(VehicleRecord vehicleRecord) {
@@ -42,6 +51,8 @@ public class VehicleService {
             throw new IllegalArgumentException("Instructor ID is required");
         }
 
+        blobService.validateImageReference(vehicleModel.getVehicleImageUrl(), null, vehicleModel.getInstructorId());
+
         // Verificar se o instructor existe (opcional - adicione um service se necessário)
         // instructorService.validateInstructorExists(vehicleModel.getInstructorId());
 
@@ -80,6 +91,31 @@ public class VehicleService {
                 .collect(Collectors.toList());
     }
 
+    public PageRecord<VehicleRecord> search(VehicleSearchFilterRecord filter, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        if (filter.minYear() != null && filter.maxYear() != null && filter.minYear() > filter.maxYear()) {
+            throw new IllegalArgumentException("Minimum year must be less than or equal to maximum year");
+        }
+
+        // Uma linha extra indica se existe próxima página, sem COUNT(*)
+        List<VehicleRecord> vehicles = vehicleDAO.search(filter, size + 1, page * size).stream()
+                .map(VehicleMapper::toRecord)
+                .collect(Collectors.toList());
+
+        boolean hasNext = vehicles.size() > size;
+        if (hasNext) {
+            vehicles = vehicles.subList(0, size);
+        }
+        return new PageRecord<>(vehicles, page, size, hasNext);
+    }
+
     public List<VehicleRecord> getApprovedVehicles() {
         return vehicleDAO.findApproved().stream()
                 .map(VehicleMapper::toRecord)
@@ -119,6 +155,25 @@ public class VehicleService {
         return VehicleMapper.toRecord(updatedModel);
     }
 
+    // O upload é gravado fora de transação; a transação só troca a URL
+    public VehicleRecord updateVehicleImage(String id, InputStream content, String contentType) {
+        UUID uuid = UUID.fromString(id);
+        if (vehicleDAO.findById(uuid).isEmpty()) {
+            throw new IllegalArgumentException("Vehicle not found with ID: " + id);
+        }
+
+        BlobRecord blob = blobService.store(content, contentType, true);
+        return transactionTemplate.execute(status -> {
+            VehicleModel vehicle = vehicleDAO.findById(uuid)
+                    .orElseThrow(() -> new IllegalArgumentException("Vehicle not found with ID: " + id));
+            vehicle.setVehicleImageUrl(blob.url());
+            vehicle.setUpdatedAt(LocalDateTime.now());
+
+            VehicleModel updatedModel = vehicleDAO.save(vehicle);
+            return VehicleMapper.toRecord(updatedModel);
+        });
+    }
+
     @Transactional
     public VehicleRecord disapproveVehicle(String id) {
         UUID uuid = UUID.fromString(id);
@@ -182,6 +237,9 @@ public class VehicleService {
             throw new IllegalArgumentException("Cannot update a deleted vehicle");
         }
 
+        blobService.validateImageReference(vehicleRecord.vehicleImageUrl(),
+                existingVehicle.getVehicleImageUrl(), existingVehicle.getInstructorId());
+
         // Verificar se a nova placa já existe (exceto para este veículo)
         if (!existingVehicle.getLicensePlate().equals(vehicleRecord.licensePlate()) &&
                 vehicleDAO.existsByLicensePlate(vehicleRecord.licensePlate())) {
@@ -0,0 +1,89 @@
+package com.automatch.portal.service.autocomplete;
+
+import com.automatch.portal.records.AutocompleteSuggestionRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Snapshot imutável: chaves normalizadas ordenadas num array, com a sugestão de cada chave
+ * no array paralelo. Um prefixo vira uma busca binária e uma varredura contígua.
+ * A mesma sugestão pode aparecer sob várias chaves (ex.: nome e sobrenome).
+ */
+final class AutocompleteIndex {
+
+    static final AutocompleteIndex EMPTY = new AutocompleteIndex(List.of());
+
+    // Prefixos muito curtos casam com muitas chaves: o ranking considera só as primeiras
+    private static final int MAX_SCAN = 4096;
+
+    static final Comparator<AutocompleteSuggestionRecord> RANKING =
+            Comparator.comparingDouble(AutocompleteSuggestionRecord::score).reversed()
+                    .thenComparing(AutocompleteSuggestionRecord::label);
+
+    record Entry(String key, AutocompleteSuggestionRecord suggestion) {}
+
+    private final String[] keys;
+    private final AutocompleteSuggestionRecord[] suggestions;
+
+    AutocompleteIndex(List<Entry> entries) {
+        Entry[] sorted = entries.toArray(new Entry[0]);
+        Arrays.sort(sorted, Comparator.comparing(Entry::key));
+
+        this.keys = new String[sorted.length];
+        this.suggestions = new AutocompleteSuggestionRecord[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            keys[i] = sorted[i].key();
+            suggestions[i] = sorted[i].suggestion();
+        }
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    List<AutocompleteSuggestionRecord> search(String prefix, int limit) {
+        int from = lowerBound(prefix);
+        if (from >= keys.length || !keys[from].startsWith(prefix)) {
+            return List.of();
+        }
+
+        // Heap mínimo com as melhores "limit" sugestões vistas até agora
+        PriorityQueue<AutocompleteSuggestionRecord> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        Set<AutocompleteSuggestionRecord> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        int end = Math.min(keys.length, from + MAX_SCAN);
+        for (int i = from; i < end && keys[i].startsWith(prefix); i++) {
+            if (!seen.add(suggestions[i])) {
+                continue;
+            }
+            top.add(suggestions[i]);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<AutocompleteSuggestionRecord> result = new ArrayList<>(top);
+        result.sort(RANKING);
+        return result;
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
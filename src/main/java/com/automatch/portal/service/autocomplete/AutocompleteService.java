@@ -0,0 +1,201 @@
+package com.automatch.portal.service.autocomplete;
+
+import com.automatch.portal.dao.AutocompleteDAO;
+import com.automatch.portal.events.InstructorChangedEvent;
+import com.automatch.portal.events.UserChangedEvent;
+import com.automatch.portal.records.AutocompleteSuggestionRecord;
+import com.automatch.portal.util.TextNormalizer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Autocomplete da busca pública (cidades, bairros e nomes de instrutores), servido só da memória.
+ * Cidades e bairros são ordenados pela quantidade de instrutores; instrutores pela nota.
+ * Escritas enfileiram o instrutor alterado; o refresh relê só esses instrutores
+ * e publica um novo snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+public class AutocompleteService {
+
+    public static final String CITY = "city";
+    public static final String NEIGHBORHOOD = "neighborhood";
+    public static final String INSTRUCTOR = "instructor";
+
+    private static final int MAX_LIMIT = 20;
+
+    private record Indexes(AutocompleteIndex cities, AutocompleteIndex neighborhoods, AutocompleteIndex instructors) {
+        static final Indexes EMPTY = new Indexes(AutocompleteIndex.EMPTY, AutocompleteIndex.EMPTY, AutocompleteIndex.EMPTY);
+    }
+
+    private final AutocompleteDAO autocompleteDAO;
+
+    private final Queue<UUID> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private Map<UUID, AutocompleteDAO.InstructorEntry> entries = new HashMap<>();
+    private volatile Indexes indexes = Indexes.EMPTY;
+
+    public List<AutocompleteSuggestionRecord> suggest(String query, String type, int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        String prefix = TextNormalizer.key(query);
+        if (prefix == null) {
+            return List.of();
+        }
+
+        Indexes current = indexes;
+        if (type == null || type.isBlank()) {
+            List<AutocompleteSuggestionRecord> merged = new ArrayList<>();
+            merged.addAll(current.cities().search(prefix, limit));
+            merged.addAll(current.neighborhoods().search(prefix, limit));
+            merged.addAll(current.instructors().search(prefix, limit));
+            // Contagens e notas não são comparáveis: cidades, depois bairros, depois instrutores
+            return merged.size() > limit ? merged.subList(0, limit) : merged;
+        }
+
+        return switch (type.trim().toLowerCase(Locale.ROOT)) {
+            case CITY -> current.cities().search(prefix, limit);
+            case NEIGHBORHOOD -> current.neighborhoods().search(prefix, limit);
+            case INSTRUCTOR -> current.instructors().search(prefix, limit);
+            default -> throw new IllegalArgumentException("Unknown autocomplete type: " + type);
+        };
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInstructorChanged(InstructorChangedEvent event) {
+        pendingChanges.add(event.instructorId());
+    }
+
+    // Nome, endereço ou status do usuário; quem não é instrutor some na releitura
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.userId() != null) {
+            pendingChanges.add(event.userId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${autocomplete.rebuild-cron:0 40 3 * * *}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            Map<UUID, AutocompleteDAO.InstructorEntry> fresh = new HashMap<>();
+            for (AutocompleteDAO.InstructorEntry entry : autocompleteDAO.findAllEntries()) {
+                fresh.put(entry.id(), entry);
+            }
+            entries = fresh;
+            indexes = buildIndexes(fresh);
+        } finally {
+            rebuildLock.unlock();
+        }
+
+        // Mudanças confirmadas durante a carga são relidas
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${autocomplete.refresh-interval-ms:5000}")
+    public void refresh() {
+        if (pendingChanges.isEmpty()) {
+            return;
+        }
+
+        rebuildLock.lock();
+        try {
+            Set<UUID> changed = new HashSet<>();
+            UUID id;
+            while ((id = pendingChanges.poll()) != null) {
+                changed.add(id);
+            }
+
+            changed.forEach(entries::remove);
+            for (AutocompleteDAO.InstructorEntry entry : autocompleteDAO.findEntries(changed)) {
+                entries.put(entry.id(), entry);
+            }
+            indexes = buildIndexes(entries);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Indexes buildIndexes(Map<UUID, AutocompleteDAO.InstructorEntry> source) {
+        Map<String, Place> cities = new LinkedHashMap<>();
+        Map<String, Place> neighborhoods = new LinkedHashMap<>();
+        List<AutocompleteIndex.Entry> instructorEntries = new ArrayList<>();
+
+        for (AutocompleteDAO.InstructorEntry entry : source.values()) {
+            if (entry.cityKey() != null) {
+                cities.computeIfAbsent(entry.cityKey(), key -> new Place(key, entry.city(), null)).count++;
+            }
+            if (entry.neighborhoodKey() != null) {
+                neighborhoods.computeIfAbsent(entry.neighborhoodKey() + '|' + entry.cityKey(),
+                        key -> new Place(entry.neighborhoodKey(), entry.neighborhood(), entry.city())).count++;
+            }
+
+            String nameKey = TextNormalizer.key(entry.fullName());
+            if (nameKey != null) {
+                AutocompleteSuggestionRecord suggestion = new AutocompleteSuggestionRecord(
+                        INSTRUCTOR, entry.fullName(), entry.city(), entry.id().toString(), entry.averageRating());
+                // Indexado a partir de cada palavra: "silva" encontra "João da Silva"
+                for (int start = 0; start >= 0; start = nextWord(nameKey, start)) {
+                    instructorEntries.add(new AutocompleteIndex.Entry(nameKey.substring(start), suggestion));
+                }
+            }
+        }
+
+        return new Indexes(
+                placeIndex(CITY, cities),
+                placeIndex(NEIGHBORHOOD, neighborhoods),
+                new AutocompleteIndex(instructorEntries));
+    }
+
+    private AutocompleteIndex placeIndex(String type, Map<String, Place> places) {
+        List<AutocompleteIndex.Entry> indexEntries = new ArrayList<>(places.size());
+        for (Place place : places.values()) {
+            indexEntries.add(new AutocompleteIndex.Entry(place.key,
+                    new AutocompleteSuggestionRecord(type, place.label, place.detail, null, place.count)));
+        }
+        return new AutocompleteIndex(indexEntries);
+    }
+
+    private static int nextWord(String key, int from) {
+        int space = key.indexOf(' ', from);
+        return space >= 0 ? space + 1 : -1;
+    }
+
+    private static final class Place {
+        private final String key;
+        private final String label;
+        private final String detail;
+        private int count;
+
+        private Place(String key, String label, String detail) {
+            this.key = key;
+            this.label = label;
+            this.detail = detail;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.automatch.portal.service.payment;
+
+import com.automatch.portal.controller.unauthenticated.PaymentWebhookController;
+import com.automatch.portal.records.FakePaymentRequestRecord;
+import com.automatch.portal.records.PaymentWebhookRecord;
+import com.automatch.portal.records.PaymentWebhookResultRecord;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Provedor de pagamentos falso para ambientes locais e de teste (perfil fake-payments).
+ * Assina e envia os callbacks pelo endpoint real, exercitando assinatura, parse e idempotência.
+ */
+@Service
+@Profile("fake-payments")
+public class FakePaymentProvider {
+
+    private static final int MAX_DELIVERIES = 50;
+
+    private final PaymentWebhookSigner signer;
+    private final ObjectMapper objectMapper;
+    private final RestClient restClient;
+
+    public FakePaymentProvider(PaymentWebhookSigner signer,
+                               ObjectMapper objectMapper,
+                               @Value("${payments.fake.webhook-url:http://localhost:${server.port:8080}/webhooks/payments}") String webhookUrl) {
+        this.signer = signer;
+        this.objectMapper = objectMapper;
+        this.restClient = RestClient.create(webhookUrl);
+    }
+
+    public List<PaymentWebhookResultRecord> send(FakePaymentRequestRecord request) {
+        if (request == null || request.lessonId() == null) {
+            throw new IllegalArgumentException("Lesson ID is required");
+        }
+        if (request.amount() == null) {
+            throw new IllegalArgumentException("Amount is required");
+        }
+
+        int deliveries = request.deliveries() != null ? request.deliveries() : 1;
+        if (deliveries < 1 || deliveries > MAX_DELIVERIES) {
+            throw new IllegalArgumentException("Deliveries must be between 1 and " + MAX_DELIVERIES);
+        }
+
+        String status = request.status() != null ? request.status().toUpperCase(Locale.ROOT) : "PAID";
+        String transactionId = request.transactionId() != null ? request.transactionId() : "fake-" + UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+
+        PaymentWebhookRecord callback = new PaymentWebhookRecord(
+                transactionId,
+                request.lessonId(),
+                request.amount(),
+                status,
+                request.paymentMethod(),
+                "PAID".equals(status) ? now : null,
+                now);
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(callback);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize fake payment callback", e);
+        }
+        String signature = signer.sign(body);
+
+        List<PaymentWebhookResultRecord> results = new ArrayList<>(deliveries);
+        for (int i = 0; i < deliveries; i++) {
+            results.add(restClient.post()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(PaymentWebhookController.SIGNATURE_HEADER, signature)
+                    .body(body)
+                    .retrieve()
+                    .body(PaymentWebhookResultRecord.class));
+        }
+        return results;
+    }
+}
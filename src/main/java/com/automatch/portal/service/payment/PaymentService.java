@@ -0,0 +1,124 @@
+package com.automatch.portal.service.payment;
+
+import com.automatch.portal.dao.PaymentDAO;
+import com.automatch.portal.enums.PaymentIngestOutcome;
+import com.automatch.portal.mapper.PaymentMapper;
+import com.automatch.portal.records.ClassifierRecord;
+import com.automatch.portal.records.PaymentRecord;
+import com.automatch.portal.records.PaymentWebhookRecord;
+import com.automatch.portal.records.PaymentWebhookResultRecord;
+import com.automatch.portal.service.ClassifierRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Ingestão idempotente dos callbacks do provedor: cada callback é um único upsert por transaction_id.
+ * Callbacks repetidos ou atrasados não mudam nada; o status chega às aulas pelo PaymentStatusPropagator.
+ */
+@Slf4j
+@Service
+public class PaymentService {
+
+    private static final String PAYMENT_STATUS_TYPE = "PAYMENT_STATUS";
+    private static final String PAYMENT_METHOD_TYPE = "PAYMENT_METHOD";
+
+    private final PaymentDAO paymentDAO;
+    private final Map<PaymentIngestOutcome, Counter> outcomeCounters =
+            new EnumMap<>(PaymentIngestOutcome.class);
+
+    public PaymentService(PaymentDAO paymentDAO, MeterRegistry meterRegistry) {
+        this.paymentDAO = paymentDAO;
+        for (PaymentIngestOutcome outcome : PaymentIngestOutcome.values()) {
+            outcomeCounters.put(outcome, meterRegistry.counter("payments.webhook.ingested",
+                    "outcome", outcome.name().toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    public PaymentWebhookResultRecord ingest(PaymentWebhookRecord callback) {
+        validateCallback(callback);
+
+        UUID lessonId = parseLessonId(callback.lessonId());
+        Integer statusId = resolveClassifier(PAYMENT_STATUS_TYPE, callback.status())
+                .orElseThrow(() -> new IllegalArgumentException("Unknown payment status: " + callback.status()));
+        Integer paymentMethodId = null;
+        if (callback.paymentMethod() != null && !callback.paymentMethod().isBlank()) {
+            paymentMethodId = resolveClassifier(PAYMENT_METHOD_TYPE, callback.paymentMethod())
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown payment method: " + callback.paymentMethod()));
+        }
+        LocalDateTime eventAt = callback.occurredAt() != null ? callback.occurredAt() : LocalDateTime.now();
+
+        Optional<Boolean> inserted;
+        try {
+            inserted = paymentDAO.upsertFromProvider(lessonId, callback.amount(), statusId, paymentMethodId,
+                    callback.transactionId().trim(), callback.paidAt(), eventAt);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Lesson not found with ID: " + callback.lessonId());
+        }
+
+        PaymentIngestOutcome outcome = inserted
+                .map(created -> created ? PaymentIngestOutcome.CREATED : PaymentIngestOutcome.UPDATED)
+                .orElse(PaymentIngestOutcome.IGNORED);
+        outcomeCounters.get(outcome).increment();
+        log.debug("Payment callback {} for lesson {}: {}", callback.transactionId(), lessonId, outcome);
+        return new PaymentWebhookResultRecord(callback.transactionId(), outcome);
+    }
+
+    public PaymentRecord getByTransactionId(String transactionId) {
+        return paymentDAO.findByTransactionId(transactionId)
+                .map(PaymentMapper::toRecord)
+                .orElseThrow(() -> new IllegalArgumentException("Payment not found with transaction ID: " + transactionId));
+    }
+
+    public PaymentRecord getByLessonId(String lessonId) {
+        return paymentDAO.findByLessonId(parseLessonId(lessonId))
+                .map(PaymentMapper::toRecord)
+                .orElseThrow(() -> new IllegalArgumentException("Payment not found for lesson: " + lessonId));
+    }
+
+    private void validateCallback(PaymentWebhookRecord callback) {
+        if (callback == null) {
+            throw new IllegalArgumentException("Payment callback cannot be null");
+        }
+        if (callback.transactionId() == null || callback.transactionId().isBlank()) {
+            throw new IllegalArgumentException("Transaction ID is required");
+        }
+        if (callback.transactionId().trim().length() > 255) {
+            throw new IllegalArgumentException("Transaction ID cannot exceed 255 characters");
+        }
+        if (callback.lessonId() == null) {
+            throw new IllegalArgumentException("Lesson ID is required");
+        }
+        if (callback.amount() == null || callback.amount().compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Amount must be zero or positive");
+        }
+        if (callback.status() == null || callback.status().isBlank()) {
+            throw new IllegalArgumentException("Payment status is required");
+        }
+    }
+
+    private UUID parseLessonId(String lessonId) {
+        try {
+            return UUID.fromString(lessonId);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid lesson ID format: " + lessonId);
+        }
+    }
+
+    // Resolvido pelo snapshot em memória: nenhum acesso ao banco além do upsert
+    private Optional<Integer> resolveClassifier(String type, String value) {
+        return ClassifierRegistry.snapshot()
+                .find(type, value.trim().toUpperCase(Locale.ROOT))
+                .map(ClassifierRecord::id);
+    }
+}
@@ -0,0 +1,94 @@
+package com.automatch.portal.service.payment;
+
+import com.automatch.portal.dao.LessonDAO;
+import com.automatch.portal.dao.PaymentDAO;
+import com.automatch.portal.events.LessonChangedEvent;
+import com.automatch.portal.mapper.LessonMapper;
+import com.automatch.portal.model.LessonModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Leva o status dos pagamentos para lessons.payment_status_id em lotes.
+ * Cada lote é um UPDATE só, e cada aula é escrita uma vez por lote, por mais callbacks que tenham chegado.
+ * Os eventos de alteração da aula são publicados na mesma transação, como nas escritas do LessonService.
+ */
+@Slf4j
+@Service
+public class PaymentStatusPropagator {
+
+    private final LessonDAO lessonDAO;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReentrantLock propagationLock = new ReentrantLock();
+
+    private final Timer propagationTimer;
+    private final Counter propagatedCounter;
+
+    @Value("${payments.propagation.batch-size:500}")
+    private int batchSize;
+
+    public PaymentStatusPropagator(LessonDAO lessonDAO,
+                                   PaymentDAO paymentDAO,
+                                   TransactionTemplate transactionTemplate,
+                                   ApplicationEventPublisher eventPublisher,
+                                   MeterRegistry meterRegistry) {
+        this.lessonDAO = lessonDAO;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.propagationTimer = meterRegistry.timer("payments.propagation.duration");
+        this.propagatedCounter = meterRegistry.counter("payments.propagation.lessons");
+        meterRegistry.gauge("payments.propagation.pending", paymentDAO, PaymentDAO::countPendingSync);
+    }
+
+    @Scheduled(fixedDelayString = "${payments.propagation.interval-ms:1000}")
+    public void propagate() {
+        // Uma rodada por instância; entre instâncias o SKIP LOCKED separa os lotes
+        if (!propagationLock.tryLock()) {
+            return;
+        }
+        try {
+            propagationTimer.record(this::drain);
+        } finally {
+            propagationLock.unlock();
+        }
+    }
+
+    // Continua enquanto o lote vier cheio de pagamentos; o número de aulas alteradas pode ser menor
+    private void drain() {
+        int total = 0;
+        LessonDAO.PaymentStatusBatch batch;
+        do {
+            batch = transactionTemplate.execute(status -> applyBatch());
+            total += batch.changes().size();
+        } while (batch.claimed() == batchSize);
+
+        if (total > 0) {
+            log.debug("Propagated payment status to {} lessons", total);
+        }
+    }
+
+    private LessonDAO.PaymentStatusBatch applyBatch() {
+        LessonDAO.PaymentStatusBatch batch = lessonDAO.applyPendingPaymentStatuses(batchSize);
+        List<LessonDAO.PaymentStatusChange> changes = batch.changes();
+        for (LessonDAO.PaymentStatusChange change : changes) {
+            LessonModel after = change.lesson();
+            LessonModel before = LessonMapper.copyOf(after);
+            before.setPaymentStatusId(change.previousPaymentStatusId());
+            before.setPaymentMethodId(change.previousPaymentMethodId());
+            eventPublisher.publishEvent(LessonChangedEvent.updated(before, after));
+        }
+        propagatedCounter.increment(changes.size());
+        return batch;
+    }
+}
@@ -0,0 +1,67 @@
+package com.automatch.portal.service.payment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Assinatura HMAC-SHA256 (hex) do corpo bruto dos callbacks.
+ * Sem segredo configurado nenhum callback é aceito.
+ */
+@Slf4j
+@Component
+public class PaymentWebhookSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final Mac prototype;
+
+    public PaymentWebhookSigner(@Value("${payments.webhook.secret:}") String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("payments.webhook.secret is not set: payment callbacks will be rejected");
+            this.prototype = null;
+            return;
+        }
+
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            this.prototype = mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialize payment webhook signer", e);
+        }
+    }
+
+    public String sign(byte[] body) {
+        if (prototype == null) {
+            throw new IllegalStateException("Payment webhook secret is not configured");
+        }
+        return HexFormat.of().formatHex(newMac().doFinal(body));
+    }
+
+    // Comparação em tempo constante
+    public boolean verify(byte[] body, String signature) {
+        if (prototype == null || signature == null || signature.isBlank()) {
+            return false;
+        }
+        byte[] expected = HexFormat.of().formatHex(newMac().doFinal(body)).getBytes(StandardCharsets.US_ASCII);
+        byte[] received = signature.trim().toLowerCase().getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, received);
+    }
+
+    // Mac não é thread-safe: cada chamada usa um clone já inicializado
+    private Mac newMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC implementation does not support cloning", e);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.automatch.portal.service.recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Matriz esparsa aluno x instrutor indexada por inteiros.
+ * Não é thread-safe: quem usa deve serializar as escritas. O cálculo das linhas
+ * de vizinhos roda em paralelo (fork-join), apenas lendo a matriz.
+ */
+final class FavoriteGraph {
+
+    private static final int LEAF_SIZE = 64;
+
+    private final Map<UUID, Integer> instructorPositions = new HashMap<>();
+    private final List<UUID> instructorIds = new ArrayList<>();
+    private final Map<UUID, Integer> studentPositions = new HashMap<>();
+    private final List<IntSortedSet> studentItems = new ArrayList<>();
+    private final List<IntSortedSet> itemStudents = new ArrayList<>();
+
+    boolean add(UUID studentId, UUID instructorId, IntSortedSet dirty) {
+        int student = studentSlot(studentId);
+        int item = instructorSlot(instructorId);
+        if (!studentItems.get(student).add(item)) {
+            return false;
+        }
+        itemStudents.get(item).add(student);
+        markDirty(student, dirty);
+        return true;
+    }
+
+    boolean remove(UUID studentId, UUID instructorId, IntSortedSet dirty) {
+        Integer student = studentPositions.get(studentId);
+        Integer item = instructorPositions.get(instructorId);
+        if (student == null || item == null || !studentItems.get(student).remove(item)) {
+            return false;
+        }
+        itemStudents.get(item).remove(student);
+        dirty.add(item);
+        markDirty(student, dirty);
+        return true;
+    }
+
+    SimilarityIndex buildIndex(int neighbors) {
+        int size = instructorIds.size();
+        int[] items = new int[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = i;
+        }
+
+        int[][] ids = new int[size][];
+        float[][] scores = new float[size][];
+        int[][] common = new int[size][];
+        computeRows(items, neighbors, ids, scores, common);
+        return snapshot(ids, scores, common);
+    }
+
+    // Recalcula só as linhas marcadas; as demais são reaproveitadas do snapshot anterior
+    SimilarityIndex refreshIndex(SimilarityIndex previous, IntSortedSet dirty, int neighbors) {
+        int size = instructorIds.size();
+        int[][] ids = Arrays.copyOf(previous.neighborIds(), size);
+        float[][] scores = Arrays.copyOf(previous.neighborScores(), size);
+        int[][] common = Arrays.copyOf(previous.neighborCommon(), size);
+        computeRows(dirty.toArray(), neighbors, ids, scores, common);
+        return snapshot(ids, scores, common);
+    }
+
+    private SimilarityIndex snapshot(int[][] ids, float[][] scores, int[][] common) {
+        return new SimilarityIndex(
+                Map.copyOf(instructorPositions),
+                instructorIds.toArray(new UUID[0]),
+                ids, scores, common);
+    }
+
+    private void computeRows(int[] items, int neighbors, int[][] ids, float[][] scores, int[][] common) {
+        if (items.length == 0) {
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new RowTask(items, 0, items.length, neighbors, ids, scores, common));
+    }
+
+    // Todos os instrutores do aluno passam a ter contagens diferentes com o item alterado
+    private void markDirty(int student, IntSortedSet dirty) {
+        IntSortedSet items = studentItems.get(student);
+        for (int n = 0; n < items.size(); n++) {
+            dirty.add(items.get(n));
+        }
+    }
+
+    private int instructorSlot(UUID instructorId) {
+        Integer position = instructorPositions.get(instructorId);
+        if (position == null) {
+            position = instructorIds.size();
+            instructorPositions.put(instructorId, position);
+            instructorIds.add(instructorId);
+            itemStudents.add(new IntSortedSet());
+        }
+        return position;
+    }
+
+    private int studentSlot(UUID studentId) {
+        Integer position = studentPositions.get(studentId);
+        if (position == null) {
+            position = studentItems.size();
+            studentPositions.put(studentId, position);
+            studentItems.add(new IntSortedSet());
+        }
+        return position;
+    }
+
+    private final class RowTask extends RecursiveAction {
+
+        private final int[] items;
+        private final int from;
+        private final int to;
+        private final int neighbors;
+        private final int[][] ids;
+        private final float[][] scores;
+        private final int[][] common;
+
+        RowTask(int[] items, int from, int to, int neighbors, int[][] ids, float[][] scores, int[][] common) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.neighbors = neighbors;
+            this.ids = ids;
+            this.scores = scores;
+            this.common = common;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                RowBuilder builder = new RowBuilder(instructorIds.size(), neighbors);
+                for (int n = from; n < to; n++) {
+                    builder.build(items[n], ids, scores, common);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                    new RowTask(items, from, middle, neighbors, ids, scores, common),
+                    new RowTask(items, middle, to, neighbors, ids, scores, common));
+        }
+    }
+
+    /**
+     * Calcula a linha de co-ocorrência de um item e mantém os top-K por similaridade
+     * de cosseno em um min-heap de arrays primitivos. Uma instância por folha do fork-join.
+     */
+    private final class RowBuilder {
+
+        private final int[] counts;
+        private final int[] touched;
+        private final int[] heapItems;
+        private final float[] heapScores;
+        private final int[] heapCommon;
+        private int heapSize;
+
+        RowBuilder(int size, int neighbors) {
+            this.counts = new int[size];
+            this.touched = new int[size];
+            this.heapItems = new int[neighbors];
+            this.heapScores = new float[neighbors];
+            this.heapCommon = new int[neighbors];
+        }
+
+        void build(int item, int[][] ids, float[][] scores, int[][] common) {
+            IntSortedSet students = itemStudents.get(item);
+            int touchedCount = 0;
+
+            for (int s = 0; s < students.size(); s++) {
+                IntSortedSet items = studentItems.get(students.get(s));
+                for (int n = 0; n < items.size(); n++) {
+                    int other = items.get(n);
+                    if (other != item && counts[other]++ == 0) {
+                        touched[touchedCount++] = other;
+                    }
+                }
+            }
+
+            heapSize = 0;
+            double degree = students.size();
+            for (int t = 0; t < touchedCount; t++) {
+                int other = touched[t];
+                int together = counts[other];
+                counts[other] = 0;
+                float score = (float) (together / Math.sqrt(degree * itemStudents.get(other).size()));
+                offer(other, score, together);
+            }
+
+            int[] rowIds = new int[heapSize];
+            float[] rowScores = new float[heapSize];
+            int[] rowCommon = new int[heapSize];
+            for (int n = heapSize - 1; n >= 0; n--) {
+                rowIds[n] = heapItems[0];
+                rowScores[n] = heapScores[0];
+                rowCommon[n] = heapCommon[0];
+                pollRoot();
+            }
+
+            ids[item] = rowIds;
+            scores[item] = rowScores;
+            common[item] = rowCommon;
+        }
+
+        private void offer(int item, float score, int together) {
+            if (heapItems.length == 0) {
+                return;
+            }
+            if (heapSize < heapItems.length) {
+                set(heapSize, item, score, together);
+                siftUp(heapSize++);
+            } else if (score > heapScores[0]) {
+                set(0, item, score, together);
+                siftDown(0);
+            }
+        }
+
+        private void pollRoot() {
+            heapSize--;
+            if (heapSize > 0) {
+                set(0, heapItems[heapSize], heapScores[heapSize], heapCommon[heapSize]);
+                siftDown(0);
+            }
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (heapScores[parent] <= heapScores[index]) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= heapSize) {
+                    return;
+                }
+                int smallest = left;
+                int right = left + 1;
+                if (right < heapSize && heapScores[right] < heapScores[left]) {
+                    smallest = right;
+                }
+                if (heapScores[index] <= heapScores[smallest]) {
+                    return;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void set(int index, int item, float score, int together) {
+            heapItems[index] = item;
+            heapScores[index] = score;
+            heapCommon[index] = together;
+        }
+
+        private void swap(int a, int b) {
+            int item = heapItems[a];
+            float score = heapScores[a];
+            int together = heapCommon[a];
+            set(a, heapItems[b], heapScores[b], heapCommon[b]);
+            set(b, item, score, together);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.automatch.portal.service.recommendation;
+
+import com.automatch.portal.dao.StudentFavoriteDAO;
+import com.automatch.portal.events.FavoriteChangedEvent;
+import com.automatch.portal.records.SimilarInstructorRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * "Alunos que favoritaram X também favoritaram": similaridade item a item
+ * (cosseno sobre co-ocorrência em student_favorites).
+ * As consultas leem apenas o snapshot publicado; as mudanças de favoritos
+ * entram numa fila e são aplicadas no refresh incremental.
+ */
+@Service
+@RequiredArgsConstructor
+public class InstructorSimilarityService {
+
+    private final StudentFavoriteDAO studentFavoriteDAO;
+
+    @Value("${recommendations.neighbors-per-instructor:50}")
+    private int neighborsPerInstructor;
+
+    private final Queue<FavoriteChangedEvent> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private FavoriteGraph graph = new FavoriteGraph();
+    private volatile SimilarityIndex index = SimilarityIndex.EMPTY;
+
+    public List<SimilarInstructorRecord> getSimilarInstructors(String instructorId, int limit) {
+        if (limit <= 0 || limit > neighborsPerInstructor) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + neighborsPerInstructor);
+        }
+
+        UUID instructorUuid = UUID.fromString(instructorId);
+        return index.top(instructorUuid, limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFavoriteChanged(FavoriteChangedEvent event) {
+        pendingChanges.add(event);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    // Reconstrução completa: corrige a deriva dos scores de itens que não foram recalculados
+    @Scheduled(cron = "${recommendations.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            FavoriteGraph fresh = new FavoriteGraph();
+            IntSortedSet ignored = new IntSortedSet();
+            studentFavoriteDAO.forEachFavoritePair((studentId, instructorId) -> fresh.add(studentId, instructorId, ignored));
+
+            graph = fresh;
+            index = fresh.buildIndex(neighborsPerInstructor);
+        } finally {
+            rebuildLock.unlock();
+        }
+
+        // Mudanças confirmadas durante a carga são reaplicadas (add/remove são idempotentes)
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${recommendations.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (pendingChanges.isEmpty()) {
+            return;
+        }
+
+        rebuildLock.lock();
+        try {
+            IntSortedSet dirty = new IntSortedSet();
+            FavoriteChangedEvent change;
+            while ((change = pendingChanges.poll()) != null) {
+                if (change.added()) {
+                    graph.add(change.studentId(), change.instructorId(), dirty);
+                } else {
+                    graph.remove(change.studentId(), change.instructorId(), dirty);
+                }
+            }
+
+            if (dirty.size() > 0) {
+                index = graph.refreshIndex(index, dirty, neighborsPerInstructor);
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+}
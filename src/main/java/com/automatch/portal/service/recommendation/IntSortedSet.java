@@ -0,0 +1,50 @@
+package com.automatch.portal.service.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de inteiros primitivos mantido em um array ordenado.
+ * Usado como linha/coluna da matriz esparsa aluno x instrutor.
+ */
+final class IntSortedSet {
+
+    private int[] values = new int[4];
+    private int size;
+
+    boolean add(int value) {
+        int pos = Arrays.binarySearch(values, 0, size, value);
+        if (pos >= 0) {
+            return false;
+        }
+        pos = -pos - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        System.arraycopy(values, pos, values, pos + 1, size - pos);
+        values[pos] = value;
+        size++;
+        return true;
+    }
+
+    boolean remove(int value) {
+        int pos = Arrays.binarySearch(values, 0, size, value);
+        if (pos < 0) {
+            return false;
+        }
+        System.arraycopy(values, pos + 1, values, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
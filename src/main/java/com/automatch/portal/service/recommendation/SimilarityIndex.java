@@ -0,0 +1,66 @@
+package com.automatch.portal.service.recommendation;
+
+import com.automatch.portal.records.SimilarInstructorRecord;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Snapshot imutável das listas de vizinhos pré-calculadas.
+ * A posição i de cada array corresponde ao instrutor ids[i].
+ */
+final class SimilarityIndex {
+
+    static final SimilarityIndex EMPTY = new SimilarityIndex(Map.of(), new UUID[0], new int[0][], new float[0][], new int[0][]);
+
+    private final Map<UUID, Integer> positions;
+    private final UUID[] ids;
+    private final int[][] neighborIds;
+    private final float[][] neighborScores;
+    private final int[][] neighborCommon;
+
+    SimilarityIndex(Map<UUID, Integer> positions, UUID[] ids, int[][] neighborIds, float[][] neighborScores, int[][] neighborCommon) {
+        this.positions = positions;
+        this.ids = ids;
+        this.neighborIds = neighborIds;
+        this.neighborScores = neighborScores;
+        this.neighborCommon = neighborCommon;
+    }
+
+    List<SimilarInstructorRecord> top(UUID instructorId, int limit) {
+        Integer position = positions.get(instructorId);
+        if (position == null || neighborIds[position] == null) {
+            return Collections.emptyList();
+        }
+
+        int[] neighbors = neighborIds[position];
+        int count = Math.min(limit, neighbors.length);
+        List<SimilarInstructorRecord> result = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            result.add(new SimilarInstructorRecord(
+                    ids[neighbors[n]].toString(),
+                    neighborScores[position][n],
+                    neighborCommon[position][n]));
+        }
+        return result;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    int[][] neighborIds() {
+        return neighborIds;
+    }
+
+    float[][] neighborScores() {
+        return neighborScores;
+    }
+
+    int[][] neighborCommon() {
+        return neighborCommon;
+    }
+}
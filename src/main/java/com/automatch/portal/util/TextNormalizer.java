@@ -0,0 +1,74 @@
+package com.automatch.portal.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Chaves de comparação para texto digitado pelo usuário: sem acento, minúsculo,
+ * sem espaços sobrando. "São Paulo", " sao  paulo" e "SAO PAULO" geram a mesma chave.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+
+    // Nome do estado (já normalizado) -> sigla
+    private static final Map<String, String> STATE_CODES = Map.ofEntries(
+            Map.entry("acre", "ac"),
+            Map.entry("alagoas", "al"),
+            Map.entry("amapa", "ap"),
+            Map.entry("amazonas", "am"),
+            Map.entry("bahia", "ba"),
+            Map.entry("ceara", "ce"),
+            Map.entry("distrito federal", "df"),
+            Map.entry("espirito santo", "es"),
+            Map.entry("goias", "go"),
+            Map.entry("maranhao", "ma"),
+            Map.entry("mato grosso", "mt"),
+            Map.entry("mato grosso do sul", "ms"),
+            Map.entry("minas gerais", "mg"),
+            Map.entry("para", "pa"),
+            Map.entry("paraiba", "pb"),
+            Map.entry("parana", "pr"),
+            Map.entry("pernambuco", "pe"),
+            Map.entry("piaui", "pi"),
+            Map.entry("rio de janeiro", "rj"),
+            Map.entry("rio grande do norte", "rn"),
+            Map.entry("rio grande do sul", "rs"),
+            Map.entry("rondonia", "ro"),
+            Map.entry("roraima", "rr"),
+            Map.entry("santa catarina", "sc"),
+            Map.entry("sao paulo", "sp"),
+            Map.entry("sergipe", "se"),
+            Map.entry("tocantins", "to")
+    );
+
+    private TextNormalizer() {
+    }
+
+    public static String key(String value) {
+        if (value == null) {
+            return null;
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        String key = WHITESPACE.matcher(folded.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        return key.isEmpty() ? null : key;
+    }
+
+    // Estado por extenso ou sigla: ambos viram a sigla
+    public static String stateKey(String value) {
+        String key = key(value);
+        return key != null ? STATE_CODES.getOrDefault(key, key) : null;
+    }
+
+    public static String zipKey(String value) {
+        if (value == null) {
+            return null;
+        }
+        String digits = NON_DIGITS.matcher(value).replaceAll("");
+        return digits.isEmpty() ? null : digits;
+    }
+}
@@ -0,0 +1,21 @@
+/* ==========================================================================
+   V10__vehicle_daily_utilization.sql
+   ========================================================================== */
+
+-- Agregado diário por veículo, mantido pelas escritas de aulas e reconciliado por job
+CREATE TABLE vehicle_daily_utilization (
+    vehicle_id UUID NOT NULL REFERENCES vehicles(id),
+    day DATE NOT NULL,
+    lessons_count INTEGER NOT NULL DEFAULT 0,
+    booked_minutes INTEGER NOT NULL DEFAULT 0,
+    completed_minutes INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (vehicle_id, day)
+);
+
+-- Relatório da frota por período
+CREATE INDEX idx_vehicle_daily_utilization_day ON vehicle_daily_utilization(day);
+
+-- Reconstrução por faixa de datas (job de backfill/reconciliação)
+CREATE INDEX idx_lessons_vehicle_scheduled ON lessons(scheduled_at)
+    WHERE vehicle_id IS NOT NULL AND deleted_at IS NULL AND status_id IS DISTINCT FROM 3;
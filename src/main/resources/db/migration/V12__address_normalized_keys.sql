@@ -0,0 +1,20 @@
+/* ==========================================================================
+   V12__address_normalized_keys.sql
+   ========================================================================== */
+
+-- Chaves normalizadas (sem acento, minúsculas; CEP só com dígitos), preenchidas pela aplicação.
+-- Linhas existentes são preenchidas no startup (AddressKeyBackfill)
+ALTER TABLE addresses
+    ADD COLUMN city_key VARCHAR(100),
+    ADD COLUMN state_key VARCHAR(50),
+    ADD COLUMN neighborhood_key VARCHAR(100),
+    ADD COLUMN zip_key VARCHAR(20);
+
+-- text_pattern_ops atende igualdade e busca por prefixo (LIKE 'abc%')
+CREATE INDEX idx_addresses_city_key ON addresses(city_key text_pattern_ops);
+CREATE INDEX idx_addresses_state_key ON addresses(state_key text_pattern_ops);
+CREATE INDEX idx_addresses_neighborhood_key ON addresses(neighborhood_key text_pattern_ops);
+CREATE INDEX idx_addresses_zip_key ON addresses(zip_key);
+
+-- Substituído por idx_addresses_city_key
+DROP INDEX IF EXISTS idx_addresses_city_lower;
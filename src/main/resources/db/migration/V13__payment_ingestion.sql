@@ -0,0 +1,31 @@
+/* ==========================================================================
+   V13__payment_ingestion.sql
+   ========================================================================== */
+
+-- Horário do evento no provedor: callbacks fora de ordem não regridem o status
+ALTER TABLE payments ADD COLUMN provider_event_at TIMESTAMP;
+
+-- Pagamentos cujo status ainda não foi propagado para lessons.payment_status_id
+ALTER TABLE payments ADD COLUMN lesson_synced BOOLEAN NOT NULL DEFAULT TRUE;
+
+CREATE INDEX idx_payments_lesson_unsynced ON payments(updated_at) WHERE lesson_synced = FALSE;
+
+-- Valores aceitos nos callbacks; ids resolvidos pelo ClassifierRegistry, nunca fixos no código
+INSERT INTO classifier (type, value, description)
+SELECT v.type, v.value, v.description
+FROM (VALUES
+    ('PAYMENT_STATUS', 'PENDING', 'Pagamento pendente'),
+    ('PAYMENT_STATUS', 'PAID', 'Pagamento confirmado'),
+    ('PAYMENT_STATUS', 'FAILED', 'Pagamento recusado'),
+    ('PAYMENT_STATUS', 'REFUNDED', 'Pagamento estornado'),
+    ('PAYMENT_METHOD', 'PIX', 'Pix'),
+    ('PAYMENT_METHOD', 'CREDIT_CARD', 'Cartão de crédito'),
+    ('PAYMENT_METHOD', 'DEBIT_CARD', 'Cartão de débito'),
+    ('PAYMENT_METHOD', 'BOLETO', 'Boleto bancário'),
+    ('PAYMENT_METHOD', 'CASH', 'Dinheiro')
+) AS v(type, value, description)
+WHERE NOT EXISTS (SELECT 1 FROM classifier c WHERE c.type = v.type AND c.value = v.value);
+
+-- Uma aula pode ter várias transações (nova tentativa após recusa); a unicidade fica só em transaction_id
+ALTER TABLE payments DROP CONSTRAINT IF EXISTS payments_lesson_id_key;
+CREATE INDEX idx_payments_lesson ON payments(lesson_id);
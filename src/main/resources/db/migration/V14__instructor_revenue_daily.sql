@@ -0,0 +1,19 @@
+/* ==========================================================================
+   V14__instructor_revenue_daily.sql
+   ========================================================================== */
+
+-- Ganhos diários por instrutor (dia de conclusão da aula), mantidos pelas escritas de aulas e reconciliados por job
+CREATE TABLE instructor_revenue_daily (
+    instructor_id UUID NOT NULL REFERENCES instructors(user_id),
+    day DATE NOT NULL,
+    completed_lessons INTEGER NOT NULL DEFAULT 0,
+    completed_amount DECIMAL(12,2) NOT NULL DEFAULT 0,
+    paid_lessons INTEGER NOT NULL DEFAULT 0,
+    paid_amount DECIMAL(12,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (instructor_id, day)
+);
+
+-- Reconstrução por faixa de datas (job de backfill/reconciliação)
+CREATE INDEX idx_lessons_completed_at ON lessons(completed_at)
+    WHERE completed_at IS NOT NULL AND deleted_at IS NULL AND status_id IS DISTINCT FROM 3;
@@ -0,0 +1,19 @@
+/* ==========================================================================
+   V15__blob_references.sql
+   ========================================================================== */
+
+-- Quem enviou cada conteúdo pelo upload genérico: só o próprio autor pode apontar suas linhas para ele
+CREATE TABLE blob_uploads (
+    sha256 CHAR(64) NOT NULL REFERENCES blobs(sha256),
+    user_id UUID NOT NULL REFERENCES users(id),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (sha256, user_id)
+);
+
+-- /public/blob só serve hashes referenciados pela URL pública de um perfil ou veículo ativo
+CREATE INDEX idx_users_profile_image_url ON users(profile_image_url)
+    WHERE deleted_at IS NULL;
+CREATE INDEX idx_vehicles_vehicle_image_url ON vehicles(vehicle_image_url)
+    WHERE deleted_at IS NULL;
+
+-- blobs.is_public passa a registrar apenas o pedido do primeiro upload; não decide mais o acesso
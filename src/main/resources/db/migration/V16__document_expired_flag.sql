@@ -0,0 +1,15 @@
+/* ==========================================================================
+   V16__document_expired_flag.sql
+   ========================================================================== */
+
+-- Vencimento materializado pela varredura diária: CURRENT_DATE não pode ir no predicado de índice
+ALTER TABLE user_documents ADD COLUMN is_expired BOOLEAN NOT NULL DEFAULT FALSE;
+
+UPDATE user_documents
+SET is_expired = true
+WHERE expiry_date IS NOT NULL AND expiry_date < CURRENT_DATE;
+
+-- Fila de verificação: só pendentes não vencidos, na ordem de chegada
+DROP INDEX idx_user_docs_pending_queue;
+CREATE INDEX idx_user_docs_pending_queue ON user_documents(created_at)
+    WHERE is_verified = false AND deleted_at IS NULL AND is_expired = false;
@@ -0,0 +1,7 @@
+/* ==========================================================================
+   V2__instructor_stats_indexes.sql
+   ========================================================================== */
+
+-- Índices usados pelas subconsultas de estatísticas do instrutor
+CREATE INDEX idx_lessons_instructor ON lessons(instructor_id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_student_favorites_instructor ON student_favorites(instructor_id, created_at);
@@ -0,0 +1,17 @@
+/* ==========================================================================
+   V3__instructor_favorite_count.sql
+   ========================================================================== */
+
+-- Contador de favoritos mantido pela aplicação (flush em lote)
+ALTER TABLE instructors ADD COLUMN favorite_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE instructors i
+SET favorite_count = f.total
+FROM (
+    SELECT instructor_id, COUNT(*) AS total
+    FROM student_favorites
+    GROUP BY instructor_id
+) f
+WHERE i.user_id = f.instructor_id;
+
+CREATE INDEX idx_instructors_favorite_count ON instructors(favorite_count DESC) WHERE deleted_at IS NULL;
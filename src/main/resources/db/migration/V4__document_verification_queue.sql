@@ -0,0 +1,11 @@
+/* ==========================================================================
+   V4__document_verification_queue.sql
+   ========================================================================== */
+
+-- Lease de revisão: quem pegou o documento e até quando
+ALTER TABLE user_documents ADD COLUMN claimed_by_user_id UUID REFERENCES users(id);
+ALTER TABLE user_documents ADD COLUMN claim_expires_at TIMESTAMP;
+
+-- Fila de verificação: só documentos pendentes, na ordem de chegada
+CREATE INDEX idx_user_docs_pending_queue ON user_documents(created_at)
+    WHERE is_verified = false AND deleted_at IS NULL;
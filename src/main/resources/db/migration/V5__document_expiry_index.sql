@@ -0,0 +1,7 @@
+/* ==========================================================================
+   V5__document_expiry_index.sql
+   ========================================================================== */
+
+-- Varredura de vencimento: só documentos ativos com data de validade
+CREATE INDEX idx_user_docs_expiry ON user_documents(expiry_date, id)
+    WHERE expiry_date IS NOT NULL AND deleted_at IS NULL;
@@ -0,0 +1,12 @@
+/* ==========================================================================
+   V6__blobs.sql
+   ========================================================================== */
+
+-- Metadados dos arquivos armazenados (conteúdo endereçado por SHA-256)
+CREATE TABLE blobs (
+    sha256 CHAR(64) PRIMARY KEY,
+    size_bytes BIGINT NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    is_public BOOLEAN DEFAULT false,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,12 @@
+/* ==========================================================================
+   V7__image_derivatives.sql
+   ========================================================================== */
+
+-- Miniaturas e versões otimizadas geradas a partir de cada imagem enviada
+CREATE TABLE image_derivatives (
+    source_sha256 CHAR(64) NOT NULL REFERENCES blobs(sha256),
+    width INTEGER NOT NULL,
+    derivative_sha256 CHAR(64) NOT NULL REFERENCES blobs(sha256),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (source_sha256, width)
+);
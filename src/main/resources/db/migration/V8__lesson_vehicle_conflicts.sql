@@ -0,0 +1,23 @@
+/* ==========================================================================
+   V8__lesson_vehicle_conflicts.sql
+   ========================================================================== */
+
+-- Fim da aula materializado para que a sobreposição de horários use índice
+ALTER TABLE lessons
+    ADD COLUMN ends_at TIMESTAMP
+    GENERATED ALWAYS AS (scheduled_at + make_interval(mins => COALESCE(duration_minutes, 0))) STORED;
+
+-- Conflitos só consideram aulas ativas; aulas passadas ficam fora da faixa ends_at > início
+CREATE INDEX idx_lessons_vehicle_booking ON lessons(vehicle_id, ends_at)
+    INCLUDE (scheduled_at)
+    WHERE vehicle_id IS NOT NULL AND deleted_at IS NULL AND completed_at IS NULL
+      AND status_id IS DISTINCT FROM 3;
+
+CREATE INDEX idx_lessons_instructor_booking ON lessons(instructor_id, ends_at)
+    INCLUDE (scheduled_at)
+    WHERE deleted_at IS NULL AND completed_at IS NULL
+      AND status_id IS DISTINCT FROM 3;
+
+-- Seleção de veículos para atribuição automática
+CREATE INDEX idx_vehicles_assignable ON vehicles(instructor_id, transmission_type_id, category_id)
+    WHERE deleted_at IS NULL AND is_approved = true AND is_available = true;
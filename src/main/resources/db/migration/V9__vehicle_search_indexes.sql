@@ -0,0 +1,18 @@
+/* ==========================================================================
+   V9__vehicle_search_indexes.sql
+   ========================================================================== */
+
+-- Booleano isolado não é seletivo; substituído pelos índices parciais abaixo
+DROP INDEX IF EXISTS idx_vehicles_available;
+
+-- Busca padrão: veículos reservados (aprovados e disponíveis) por câmbio, categoria e ano
+CREATE INDEX idx_vehicles_bookable_search ON vehicles(transmission_type_id, category_id, year)
+    WHERE deleted_at IS NULL AND is_approved = true AND is_available = true;
+
+-- Ordem da paginação quando nenhum filtro seletivo é informado
+CREATE INDEX idx_vehicles_created ON vehicles(created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+-- Filtro por cidade do instrutor: addresses -> users -> vehicles(instructor_id)
+CREATE INDEX idx_addresses_city_lower ON addresses(LOWER(city));
+CREATE INDEX idx_users_address ON users(address_id);
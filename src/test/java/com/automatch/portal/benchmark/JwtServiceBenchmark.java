@@ -0,0 +1,138 @@
+package com.automatch.portal.benchmark;
+
+import com.automatch.portal.enums.UserRole;
+import com.automatch.portal.infra.security.VerifiedToken;
+import com.automatch.portal.model.UserModel;
+import com.automatch.portal.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Tokens verificados por segundo no filtro de autenticação: o parse único com chave e parser
+ * em cache (verify) contra o caminho antigo, que decodificava a chave, montava um JwtParser novo
+ * e fazia três parses completos por requisição.
+ * Fora do surefire; rodar pelo main com o classpath de teste.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private LegacyJwtVerifier legacyVerifier;
+    private UserModel user;
+    private String validToken;
+    private String tamperedToken;
+
+    @Setup
+    public void setup() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        String secretKey = Base64.getEncoder().encodeToString(key);
+
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", secretKey);
+        ReflectionTestUtils.setField(jwtService, "accessTokenMinutes", 15L);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+        legacyVerifier = new LegacyJwtVerifier(secretKey);
+
+        user = new UserModel();
+        user.setId(UUID.randomUUID());
+        user.setEmail("benchmark@automatch.com");
+        user.setRole(UserRole.STUDENT);
+
+        validToken = jwtService.generateToken(user);
+        // Troca um caractere no meio da assinatura: o último pode carregar só bits de preenchimento
+        int index = validToken.length() - 5;
+        char replacement = validToken.charAt(index) == 'A' ? 'B' : 'A';
+        tamperedToken = validToken.substring(0, index) + replacement + validToken.substring(index + 1);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verify() {
+        return jwtService.verify(validToken);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifyTampered() {
+        return jwtService.verify(tamperedToken);
+    }
+
+    // Caminho antigo do filtro: extractUsername e depois isTokenValid (subject + expiração)
+    @Benchmark
+    public boolean legacyRequest() {
+        String username = legacyVerifier.extractUsername(validToken);
+        return username != null && legacyVerifier.isTokenValid(validToken, user.getUsername());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    // Cópia do JwtService anterior ao cache de chave e parser
+    static final class LegacyJwtVerifier {
+
+        private final String secretKey;
+
+        LegacyJwtVerifier(String secretKey) {
+            this.secretKey = secretKey;
+        }
+
+        String extractUsername(String token) {
+            return extractClaim(token, Claims::getSubject);
+        }
+
+        boolean isTokenValid(String token, String expectedUsername) {
+            String username = extractUsername(token);
+            return username.equals(expectedUsername) && !extractClaim(token, Claims::getExpiration).before(new Date());
+        }
+
+        private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+            Claims claims = Jwts.parser()
+                    .verifyWith(getSignKey())
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+            return claimsResolver.apply(claims);
+        }
+
+        private SecretKey getSignKey() {
+            byte[] keyBytes = Base64.getDecoder().decode(secretKey);
+            return Keys.hmacShaKeyFor(keyBytes);
+        }
+    }
+}
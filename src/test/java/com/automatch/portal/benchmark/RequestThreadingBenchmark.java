@@ -0,0 +1,124 @@
+package com.automatch.portal.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requisições por segundo com o Tomcat em platform threads (pool padrão de 200) contra virtual threads
+ * (spring.threads.virtual.enabled), para {@value #REQUESTS} requisições simultâneas:
+ * io = espera de rede sem limite de conexões; pool = espera dentro de um pool de 10 conexões
+ * (o Hikari padrão); cpu = trabalho de CPU, como hash de senha.
+ * Fora do surefire; rodar pelo main com o classpath de teste.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class RequestThreadingBenchmark {
+
+    static final int REQUESTS = 1000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int DB_POOL_SIZE = 10;
+    private static final long IO_WAIT_MS = 5;
+    private static final long QUERY_MS = 2;
+    private static final int CPU_ROUNDS = 2000;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"io", "pool", "cpu"})
+    private String workload;
+
+    private ExecutorService executor;
+    private Semaphore connections;
+
+    @Setup
+    public void setup() {
+        executor = "virtual".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        connections = new Semaphore(DB_POOL_SIZE, true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public long handleRequests() throws InterruptedException, ExecutionException {
+        List<Future<Long>> responses = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            int request = i;
+            responses.add(executor.submit(() -> handle(request)));
+        }
+
+        long checksum = 0;
+        for (Future<Long> response : responses) {
+            checksum += response.get();
+        }
+        return checksum;
+    }
+
+    private long handle(int request) throws InterruptedException, NoSuchAlgorithmException {
+        switch (workload) {
+            case "io" -> Thread.sleep(IO_WAIT_MS);
+            case "pool" -> {
+                connections.acquire();
+                try {
+                    Thread.sleep(QUERY_MS);
+                } finally {
+                    connections.release();
+                }
+            }
+            default -> {
+                return hash(request);
+            }
+        }
+        return request;
+    }
+
+    private static long hash(int request) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] value = Integer.toString(request).getBytes(StandardCharsets.UTF_8);
+        for (int round = 0; round < CPU_ROUNDS; round++) {
+            value = digest.digest(value);
+        }
+        return value[0];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RequestThreadingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
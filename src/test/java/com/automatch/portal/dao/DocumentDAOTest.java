@@ -0,0 +1,94 @@
+package com.automatch.portal.dao;
+
+import com.automatch.portal.model.DocumentModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DocumentDAOTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private DocumentDAO documentDAO;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(TestDatabase.dataSource());
+        documentDAO = new DocumentDAO(jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate));
+    }
+
+    @Test
+    void expiredPendingDocumentsLeaveTheQueue() {
+        UUID valid = insertDocument(LocalDate.now().plusYears(1));
+        UUID noExpiry = insertDocument(null);
+        UUID expired = insertDocument(LocalDate.now().plusDays(1));
+        // Venceu depois de gravado: só a varredura percebe
+        jdbcTemplate.update("UPDATE user_documents SET expiry_date = CURRENT_DATE - 1 WHERE id = ?", expired);
+
+        while (documentDAO.flagExpiredBatch(100) == 100) {
+            // outros testes podem ter deixado vencidos
+        }
+
+        assertTrue(isExpired(expired));
+        assertFalse(isExpired(valid));
+        assertFalse(isExpired(noExpiry));
+
+        Set<UUID> claimed = claimAll();
+        assertTrue(claimed.contains(valid));
+        assertTrue(claimed.contains(noExpiry));
+        assertFalse(claimed.contains(expired));
+    }
+
+    @Test
+    void renewingTheExpiryDateClearsTheFlag() {
+        UUID id = insertDocument(LocalDate.now().minusDays(3));
+        assertTrue(isExpired(id));
+
+        DocumentModel document = documentDAO.findById(id).orElseThrow();
+        document.setExpiryDate(LocalDate.now().plusYears(5));
+        documentDAO.save(document);
+
+        assertFalse(isExpired(id));
+        assertTrue(claimAll().contains(id));
+    }
+
+    private Set<UUID> claimAll() {
+        return documentDAO.claimPending(insertUser(), 10_000, LocalDateTime.now().plusMinutes(5)).stream()
+                .map(DocumentModel::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private boolean isExpired(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT is_expired FROM user_documents WHERE id = ?", Boolean.class, id);
+    }
+
+    private UUID insertDocument(LocalDate expiryDate) {
+        Integer typeId = jdbcTemplate.queryForObject(
+                "INSERT INTO classifier (type, value) VALUES ('DOCUMENT_TYPE', ?) RETURNING id",
+                Integer.class, UUID.randomUUID().toString());
+
+        DocumentModel document = new DocumentModel();
+        document.setUserId(insertUser());
+        document.setDocumentTypeId(typeId);
+        document.setDocumentNumber(UUID.randomUUID().toString());
+        document.setDocumentImageUrl("https://cdn.example.com/doc.png");
+        document.setExpiryDate(expiryDate);
+        return documentDAO.save(document).getId();
+    }
+
+    private UUID insertUser() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, role) VALUES (?, 'Test', ?, 'STUDENT')",
+                id, id + "@example.com");
+        return id;
+    }
+}
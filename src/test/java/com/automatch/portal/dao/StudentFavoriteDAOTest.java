@@ -0,0 +1,60 @@
+package com.automatch.portal.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StudentFavoriteDAOTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private StudentFavoriteDAO studentFavoriteDAO;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(TestDatabase.dataSource());
+        studentFavoriteDAO = new StudentFavoriteDAO(jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate));
+    }
+
+    @Test
+    void favoritePairsSkipDeletedAndInactiveInstructors() {
+        UUID student = insertUser("STUDENT");
+        UUID active = insertInstructor();
+        UUID deleted = insertInstructor();
+        UUID inactive = insertInstructor();
+        jdbcTemplate.update("UPDATE instructors SET deleted_at = now() WHERE user_id = ?", deleted);
+        jdbcTemplate.update("UPDATE users SET is_active = false WHERE id = ?", inactive);
+        for (UUID instructor : new UUID[]{active, deleted, inactive}) {
+            jdbcTemplate.update("INSERT INTO student_favorites (id, student_id, instructor_id) VALUES (?, ?, ?)",
+                    UUID.randomUUID(), student, instructor);
+        }
+
+        Set<UUID> favorites = new HashSet<>();
+        studentFavoriteDAO.forEachFavoritePair((studentId, instructorId) -> {
+            if (studentId.equals(student)) {
+                favorites.add(instructorId);
+            }
+        });
+
+        assertEquals(Set.of(active), favorites);
+    }
+
+    private UUID insertInstructor() {
+        UUID id = insertUser("INSTRUCTOR");
+        jdbcTemplate.update("INSERT INTO instructors (user_id, hourly_rate) VALUES (?, 100)", id);
+        return id;
+    }
+
+    private UUID insertUser(String role) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, role) VALUES (?, 'Test', ?, ?)",
+                id, id + "@example.com", role);
+        return id;
+    }
+}
@@ -0,0 +1,44 @@
+package com.automatch.portal.dao;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Postgres embutido com as migrations aplicadas, compartilhado pelos testes da JVM.
+ * Os testes isolam seus dados com ids aleatórios em vez de limpar tabelas.
+ */
+public final class TestDatabase {
+
+    private static DataSource dataSource;
+
+    private TestDatabase() {
+    }
+
+    public static synchronized DataSource dataSource() {
+        if (dataSource == null) {
+            try {
+                EmbeddedPostgres postgres = EmbeddedPostgres.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        postgres.close();
+                    } catch (IOException ignored) {
+                        // processo já está encerrando
+                    }
+                }));
+                dataSource = postgres.getPostgresDatabase();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to start embedded Postgres", e);
+            }
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+        }
+        return dataSource;
+    }
+}
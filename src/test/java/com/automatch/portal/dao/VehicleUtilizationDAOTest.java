@@ -0,0 +1,119 @@
+package com.automatch.portal.dao;
+
+import com.automatch.portal.records.VehicleDailyUtilizationRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VehicleUtilizationDAOTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private VehicleUtilizationDAO vehicleUtilizationDAO;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(TestDatabase.dataSource());
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(TestDatabase.dataSource()));
+        vehicleUtilizationDAO = new VehicleUtilizationDAO(jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate));
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void rebuildWritesAbsoluteValuesAndDropsStaleRows() {
+        UUID vehicleId = insertVehicle();
+        LocalDate day = randomDay();
+        insertLesson(vehicleId, day, 50);
+        vehicleUtilizationDAO.applyDelta(vehicleId, day, 7, 700, 0);
+        vehicleUtilizationDAO.applyDelta(vehicleId, day.plusDays(1), 1, 60, 0);
+
+        transactionTemplate.execute(status -> vehicleUtilizationDAO.rebuildRange(day, day.plusDays(2)));
+
+        List<VehicleDailyUtilizationRecord> rows = vehicleUtilizationDAO.findDaily(vehicleId, day, day.plusDays(1));
+        assertEquals(List.of(new VehicleDailyUtilizationRecord(day, 1, 50, 0)), rows);
+    }
+
+    @Test
+    void rebuildWaitsForDeltaInFlight() throws Exception {
+        UUID vehicleId = insertVehicle();
+        LocalDate day = randomDay();
+        CountDownLatch applied = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> writer = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            insertLesson(vehicleId, day, 50);
+            vehicleUtilizationDAO.lockDays(List.of(day));
+            vehicleUtilizationDAO.applyDelta(vehicleId, day, 1, 50, 0);
+            applied.countDown();
+            await(release);
+        }));
+        applied.await(10, TimeUnit.SECONDS);
+
+        Future<Integer> rebuild = executor.submit(() ->
+                transactionTemplate.execute(status -> vehicleUtilizationDAO.rebuildRange(day, day.plusDays(1))));
+        assertThrows(TimeoutException.class, () -> rebuild.get(300, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        writer.get(10, TimeUnit.SECONDS);
+        rebuild.get(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of(new VehicleDailyUtilizationRecord(day, 1, 50, 0)),
+                vehicleUtilizationDAO.findDaily(vehicleId, day, day));
+    }
+
+    private UUID insertVehicle() {
+        UUID instructorId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, role) VALUES (?, 'Instructor', ?, 'INSTRUCTOR')",
+                instructorId, instructorId + "@example.com");
+        jdbcTemplate.update("INSERT INTO instructors (user_id, hourly_rate) VALUES (?, 100)", instructorId);
+
+        UUID vehicleId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO vehicles (id, instructor_id, license_plate, model) VALUES (?, ?, ?, 'Onix')",
+                vehicleId, instructorId, vehicleId.toString().substring(0, 8));
+        return vehicleId;
+    }
+
+    private void insertLesson(UUID vehicleId, LocalDate day, int minutes) {
+        jdbcTemplate.update("""
+                INSERT INTO lessons (id, vehicle_id, scheduled_at, duration_minutes)
+                VALUES (?, ?, ?, ?)
+                """, UUID.randomUUID(), vehicleId, day.atTime(10, 0), minutes);
+    }
+
+    // Dias espalhados para que a reconstrução de um teste não apague linhas de outro
+    private static LocalDate randomDay() {
+        return LocalDate.of(2100, 1, 1).plusDays(ThreadLocalRandom.current().nextInt(300_000));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
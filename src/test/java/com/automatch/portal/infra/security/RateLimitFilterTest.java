@@ -0,0 +1,93 @@
+package com.automatch.portal.infra.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(new RateLimiter(), new ObjectMapper(),
+            new SimpleMeterRegistry(), true, 0,
+            100, 100,   // auth
+            1, 1,       // account
+            100, 100,   // session
+            100, 100,   // public
+            100, 100);  // blob
+
+    @Test
+    void appliesAccountLimitToChunkedLogin() throws Exception {
+        assertEquals(200, login("10.0.0.1", "{\"email\":\"maria@automatch.com\"}", true).getStatus());
+
+        MockHttpServletResponse second = login("10.0.0.2", "{\"email\":\"Maria@automatch.com \"}", true);
+        assertEquals(429, second.getStatus());
+        assertNotNull(second.getHeader("Retry-After"));
+    }
+
+    @Test
+    void rejectsOversizedLoginBody() throws Exception {
+        String padded = "{\"email\":\"maria@automatch.com\",\"pad\":\"" + "x".repeat(20_000) + "\"}";
+
+        assertEquals(413, login("10.0.0.1", padded, false).getStatus());
+        assertEquals(413, login("10.0.0.1", padded, true).getStatus());
+    }
+
+    @Test
+    void controllerStillReadsLoginBody() throws Exception {
+        MockHttpServletRequest request = loginRequest("10.0.0.1", "{\"email\":\"joao@automatch.com\"}", false);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        byte[] body = chain.getRequest().getInputStream().readAllBytes();
+        assertEquals("{\"email\":\"joao@automatch.com\"}", new String(body, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void ignoresProtectedPaths() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/protected/lesson");
+        request.setServletPath("/protected/lesson");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertNull(response.getHeader("Retry-After"));
+    }
+
+    private MockHttpServletResponse login(String ip, String body, boolean chunked) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(loginRequest(ip, body, chunked), response, new MockFilterChain());
+        return response;
+    }
+
+    // Chunked: sem Content-Length, o tamanho só aparece lendo o corpo
+    private static MockHttpServletRequest loginRequest(String ip, String body, boolean chunked) {
+        MockHttpServletRequest request = chunked ? new MockHttpServletRequest("POST", "/auth/login") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+        } : new MockHttpServletRequest("POST", "/auth/login");
+        request.setServletPath("/auth/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,81 @@
+package com.automatch.portal.infra.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private final RateLimiter rateLimiter = new RateLimiter();
+
+    @Test
+    void allowsBurstUpToCapacity() {
+        RateLimiter.Rule rule = new RateLimiter.Rule("test", 3, 60);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(rule, "10.0.0.1"));
+        }
+        assertTrue(rateLimiter.tryAcquire(rule, "10.0.0.1") > 0);
+    }
+
+    @Test
+    void waitIsAtMostOneEmissionInterval() {
+        RateLimiter.Rule rule = new RateLimiter.Rule("test", 1, 60);
+
+        assertEquals(0, rateLimiter.tryAcquire(rule, "10.0.0.1"));
+        long wait = rateLimiter.tryAcquire(rule, "10.0.0.1");
+
+        assertTrue(wait > 0);
+        assertTrue(wait <= TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void rejectedRequestDoesNotConsumeToken() {
+        RateLimiter.Rule rule = new RateLimiter.Rule("test", 1, 60);
+
+        rateLimiter.tryAcquire(rule, "10.0.0.1");
+        long first = rateLimiter.tryAcquire(rule, "10.0.0.1");
+        long second = rateLimiter.tryAcquire(rule, "10.0.0.1");
+
+        assertTrue(second <= first);
+    }
+
+    @Test
+    void refillsAfterReportedWait() throws InterruptedException {
+        RateLimiter.Rule rule = new RateLimiter.Rule("test", 1, 6000);
+
+        assertEquals(0, rateLimiter.tryAcquire(rule, "10.0.0.1"));
+        long wait = rateLimiter.tryAcquire(rule, "10.0.0.1");
+        assertTrue(wait > 0);
+
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(wait) + 5);
+        assertEquals(0, rateLimiter.tryAcquire(rule, "10.0.0.1"));
+    }
+
+    @Test
+    void keysAndRulesHaveSeparateBuckets() {
+        RateLimiter.Rule auth = new RateLimiter.Rule("auth", 1, 60);
+        RateLimiter.Rule session = new RateLimiter.Rule("session", 1, 60);
+
+        assertEquals(0, rateLimiter.tryAcquire(auth, "10.0.0.1"));
+        assertTrue(rateLimiter.tryAcquire(auth, "10.0.0.1") > 0);
+
+        assertEquals(0, rateLimiter.tryAcquire(auth, "10.0.0.2"));
+        assertEquals(0, rateLimiter.tryAcquire(session, "10.0.0.1"));
+    }
+
+    @Test
+    void evictsRefilledBuckets() throws InterruptedException {
+        RateLimiter.Rule rule = new RateLimiter.Rule("test", 1, 6000);
+
+        rateLimiter.tryAcquire(rule, "10.0.0.1");
+        assertEquals(1, rateLimiter.size());
+
+        Thread.sleep(20);
+        rateLimiter.evictIdle();
+        assertEquals(0, rateLimiter.size());
+    }
+}
@@ -0,0 +1,57 @@
+package com.automatch.portal.infra.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidBloomFilterTest {
+
+    private static final int INSERTIONS = 10_000;
+
+    @Test
+    void neverReportsInsertedValueAsAbsent() {
+        UuidBloomFilter filter = new UuidBloomFilter(INSERTIONS, 0.01);
+        List<UUID> inserted = new ArrayList<>(INSERTIONS);
+        for (int i = 0; i < INSERTIONS; i++) {
+            UUID value = UUID.randomUUID();
+            inserted.add(value);
+            filter.put(value);
+        }
+
+        for (UUID value : inserted) {
+            assertTrue(filter.mightContain(value));
+        }
+    }
+
+    @Test
+    void keepsFalsePositivesNearConfiguredRate() {
+        UuidBloomFilter filter = new UuidBloomFilter(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put(UUID.randomUUID());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < INSERTIONS; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        // 1% esperado; folga larga para não oscilar com a aleatoriedade
+        assertTrue(falsePositives < INSERTIONS * 0.03, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        UuidBloomFilter filter = new UuidBloomFilter(0, 0.01);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(filter.mightContain(UUID.randomUUID()));
+        }
+    }
+}
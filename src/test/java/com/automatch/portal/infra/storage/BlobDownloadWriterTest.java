@@ -0,0 +1,62 @@
+package com.automatch.portal.infra.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BlobDownloadWriterTest {
+
+    private final BlobDownloadWriter writer = new BlobDownloadWriter();
+
+    @TempDir
+    Path root;
+
+    @Test
+    void handsRangeToTomcatSendfileWhenSupported() throws Exception {
+        LocalFileBlobStore store = new LocalFileBlobStore(root.toString());
+        StoredBlob blob = store.put(new ByteArrayInputStream("0123456789".getBytes(StandardCharsets.US_ASCII)), 1024);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/public/blob/" + blob.sha256());
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try (BlobContent content = store.open(blob.sha256()).orElseThrow()) {
+            writer.write(blob.sha256(), "image/png", "public", content, request, response);
+            assertEquals(content.file().orElseThrow().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        }
+
+        assertEquals(206, response.getStatus());
+        assertEquals(4, response.getContentLengthLong());
+        assertEquals(2L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(6L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void copiesBodyWithoutSendfile() throws Exception {
+        LocalFileBlobStore store = new LocalFileBlobStore(root.toString());
+        StoredBlob blob = store.put(new ByteArrayInputStream("0123456789".getBytes(StandardCharsets.US_ASCII)), 1024);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/public/blob/" + blob.sha256());
+        request.addHeader("Range", "bytes=-3");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try (BlobContent content = store.open(blob.sha256()).orElseThrow()) {
+            writer.write(blob.sha256(), "image/png", "public", content, request, response);
+        }
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 7-9/10", response.getHeader("Content-Range"));
+        assertEquals("789", response.getContentAsString());
+        assertNull(request.getAttribute("org.apache.tomcat.sendfile.filename"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.automatch.portal.infra.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalFileBlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void storesOnceAndCopiesRequestedRange() throws Exception {
+        LocalFileBlobStore store = new LocalFileBlobStore(root.toString());
+        byte[] data = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+        StoredBlob first = store.put(new ByteArrayInputStream(data), 1024);
+        StoredBlob second = store.put(new ByteArrayInputStream(data), 1024);
+
+        assertTrue(first.created());
+        assertFalse(second.created());
+        assertEquals(first.sha256(), second.sha256());
+
+        try (BlobContent content = store.open(first.sha256()).orElseThrow()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            content.transferTo(2, 5, Channels.newChannel(out));
+            assertEquals("23456", out.toString(StandardCharsets.US_ASCII));
+            assertTrue(content.file().isPresent());
+        }
+    }
+
+    @Test
+    void failsInsteadOfTruncatingWhenFileIsShort() throws Exception {
+        LocalFileBlobStore store = new LocalFileBlobStore(root.toString());
+        StoredBlob blob = store.put(new ByteArrayInputStream(new byte[4096]), 8192);
+
+        try (BlobContent content = store.open(blob.sha256()).orElseThrow()) {
+            long size = content.size();
+            Files.write(content.file().orElseThrow(), new byte[100]);
+
+            assertThrows(EOFException.class,
+                    () -> content.transferTo(0, size, Channels.newChannel(new ByteArrayOutputStream())));
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.automatch.portal.service;
+
+import com.automatch.portal.dao.BlobDAO;
+import com.automatch.portal.dao.ImageDerivativeDAO;
+import com.automatch.portal.dao.TestDatabase;
+import com.automatch.portal.enums.UserRole;
+import com.automatch.portal.infra.storage.BlobStore;
+import com.automatch.portal.infra.storage.StoredBlob;
+import com.automatch.portal.mapper.BlobMapper;
+import com.automatch.portal.model.BlobModel;
+import com.automatch.portal.model.UserModel;
+import com.automatch.portal.records.BlobRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BlobServiceTest {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private JdbcTemplate jdbcTemplate;
+    private BlobStore blobStore;
+    private BlobService blobService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(TestDatabase.dataSource());
+        BlobDAO blobDAO = new BlobDAO(jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate));
+        blobStore = mock(BlobStore.class);
+        blobService = new BlobService(blobStore, blobDAO, mock(ImageDerivativeDAO.class),
+                mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    void publicUploadOfSameBytesDoesNotExposePrivateDocument() throws Exception {
+        String sha = randomSha();
+        UserModel owner = user(UserRole.STUDENT);
+        UserModel stranger = user(UserRole.STUDENT);
+
+        BlobRecord document = upload(sha, false, owner);
+        insertDocument(owner, document.url());
+
+        BlobRecord reupload = upload(sha, true, stranger);
+
+        assertEquals(BlobMapper.PUBLIC_PATH + sha, reupload.url());
+        BlobModel blob = blobService.findBlob(sha).orElseThrow();
+        assertFalse(blobService.isPublic(blob));
+        assertFalse(blobService.canRead(blob, null));
+        assertTrue(blobService.canRead(blob, owner));
+    }
+
+    @Test
+    void publicWhileProfileReferencesIt() throws Exception {
+        String sha = randomSha();
+        UserModel owner = user(UserRole.STUDENT);
+        upload(sha, true, owner);
+        BlobModel blob = blobService.findBlob(sha).orElseThrow();
+
+        jdbcTemplate.update("UPDATE users SET profile_image_url = ? WHERE id = ?",
+                BlobMapper.PUBLIC_PATH + sha, owner.getId());
+        assertTrue(blobService.canRead(blob, null));
+
+        jdbcTemplate.update("UPDATE users SET profile_image_url = NULL WHERE id = ?", owner.getId());
+        assertFalse(blobService.canRead(blob, null));
+    }
+
+    @Test
+    void privateBlobReadableByReferencingOwnerUploaderAndAdmin() throws Exception {
+        String sha = randomSha();
+        UserModel uploader = user(UserRole.STUDENT);
+        UserModel instructor = user(UserRole.INSTRUCTOR);
+        UserModel stranger = user(UserRole.STUDENT);
+        UserModel admin = user(UserRole.ADMIN);
+
+        BlobRecord stored = upload(sha, false, uploader);
+        insertVehicle(instructor, stored.url());
+        BlobModel blob = blobService.findBlob(sha).orElseThrow();
+
+        assertTrue(blobService.canRead(blob, uploader));
+        assertTrue(blobService.canRead(blob, instructor));
+        assertTrue(blobService.canRead(blob, admin));
+        assertFalse(blobService.canRead(blob, stranger));
+        assertFalse(blobService.canRead(blob, null));
+    }
+
+    @Test
+    void deletedDocumentNoLongerGrantsAccess() throws Exception {
+        String sha = randomSha();
+        UserModel owner = user(UserRole.STUDENT);
+        UserModel reader = user(UserRole.STUDENT);
+
+        BlobRecord stored = upload(sha, false, owner);
+        UUID documentId = insertDocument(reader, stored.url());
+        BlobModel blob = blobService.findBlob(sha).orElseThrow();
+        assertTrue(blobService.canRead(blob, reader));
+
+        jdbcTemplate.update("UPDATE user_documents SET deleted_at = now() WHERE id = ?", documentId);
+        assertFalse(blobService.canRead(blob, reader));
+    }
+
+    @Test
+    void imageReferenceRequiresOwnUpload() throws Exception {
+        String sha = randomSha();
+        UserModel owner = user(UserRole.STUDENT);
+        UserModel stranger = user(UserRole.STUDENT);
+        BlobRecord stored = upload(sha, false, owner);
+
+        assertDoesNotThrow(() -> blobService.validateImageReference(stored.url(), null, owner.getId()));
+        assertThrows(IllegalArgumentException.class,
+                () -> blobService.validateImageReference(stored.url(), null, stranger.getId()));
+        assertThrows(IllegalArgumentException.class,
+                () -> blobService.validateImageReference(BlobMapper.PUBLIC_PATH + sha, null, null));
+        // Sem mudança ou fora do armazenamento interno, segue como antes
+        assertDoesNotThrow(() -> blobService.validateImageReference(stored.url(), stored.url(), stranger.getId()));
+        assertDoesNotThrow(() -> blobService.validateImageReference("https://cdn.example.com/a.png", null, null));
+    }
+
+    private BlobRecord upload(String sha, boolean isPublic, UserModel uploader) throws Exception {
+        when(blobStore.put(any(InputStream.class), anyLong())).thenReturn(new StoredBlob(sha, 4, true));
+        return blobService.upload(new ByteArrayInputStream(new byte[4]), "image/png", isPublic, uploader);
+    }
+
+    private UserModel user(UserRole role) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, role) VALUES (?, ?, ?, ?)",
+                id, "Test " + role, id + "@example.com", role.name());
+        UserModel user = new UserModel();
+        user.setId(id);
+        user.setRole(role);
+        return user;
+    }
+
+    private UUID insertDocument(UserModel owner, String imageUrl) {
+        Integer typeId = jdbcTemplate.queryForObject(
+                "INSERT INTO classifier (type, value) VALUES ('DOCUMENT_TYPE', ?) RETURNING id",
+                Integer.class, UUID.randomUUID().toString());
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO user_documents (id, user_id, document_type_id, document_number, document_image_url)
+                VALUES (?, ?, ?, ?, ?)
+                """, id, owner.getId(), typeId, id.toString(), imageUrl);
+        return id;
+    }
+
+    private void insertVehicle(UserModel instructor, String imageUrl) {
+        jdbcTemplate.update("INSERT INTO instructors (user_id, hourly_rate) VALUES (?, 100)", instructor.getId());
+        jdbcTemplate.update("""
+                INSERT INTO vehicles (id, instructor_id, license_plate, model, vehicle_image_url)
+                VALUES (?, ?, ?, 'Onix', ?)
+                """, UUID.randomUUID(), instructor.getId(),
+                UUID.randomUUID().toString().substring(0, 8), imageUrl);
+    }
+
+    private static String randomSha() {
+        return String.format("%064x", new BigInteger(1, randomBytes()));
+    }
+
+    private static byte[] randomBytes() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,76 @@
+package com.automatch.portal.service;
+
+import com.automatch.portal.dao.AddressDAO;
+import com.automatch.portal.dao.InstructorDAO;
+import com.automatch.portal.dao.UserDAO;
+import com.automatch.portal.enums.UserRole;
+import com.automatch.portal.infra.security.PasswordHasher;
+import com.automatch.portal.records.UserRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RegistrationServiceTest {
+
+    @Mock
+    private UserService userService;
+    @Mock
+    private AddressService addressService;
+    @Mock
+    private BlobService blobService;
+    @Mock
+    private AddressDAO addressDAO;
+    @Mock
+    private UserDAO userDAO;
+    @Mock
+    private InstructorDAO instructorDAO;
+    @Mock
+    private PasswordHasher passwordHasher;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private RegistrationService registrationService;
+
+    @Test
+    void refusesSelfRegisteredAdmin() {
+        UserRecord admin = user(UserRole.ADMIN);
+
+        assertThrows(IllegalArgumentException.class, () -> registrationService.register(admin));
+        verifyNoInteractions(passwordHasher, transactionTemplate, userDAO, instructorDAO);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registersStudent() {
+        when(passwordHasher.encode("secret123")).thenReturn("hashed");
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+
+        UserRecord saved = registrationService.register(user(UserRole.STUDENT));
+
+        assertEquals(UserRole.STUDENT, saved.role());
+        verify(userDAO).insertNew(any());
+        verifyNoInteractions(instructorDAO);
+    }
+
+    private static UserRecord user(UserRole role) {
+        return new UserRecord(null, "Maria Souza", "maria@automatch.com", "secret123", "11999990000",
+                role, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,63 @@
+package com.automatch.portal.service.autocomplete;
+
+import com.automatch.portal.records.AutocompleteSuggestionRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutocompleteIndexTest {
+
+    private static final AutocompleteSuggestionRecord SAO_PAULO = city("São Paulo", 120);
+    private static final AutocompleteSuggestionRecord SAO_BERNARDO = city("São Bernardo do Campo", 30);
+    private static final AutocompleteSuggestionRecord SANTOS = city("Santos", 30);
+    private static final AutocompleteSuggestionRecord SALVADOR = city("Salvador", 80);
+    private static final AutocompleteSuggestionRecord ZE_MARIA =
+            new AutocompleteSuggestionRecord("instructor", "Zé Maria Souza", "São Paulo", "1", 4.8);
+
+    private final AutocompleteIndex index = new AutocompleteIndex(List.of(
+            new AutocompleteIndex.Entry("sao paulo", SAO_PAULO),
+            new AutocompleteIndex.Entry("sao bernardo do campo", SAO_BERNARDO),
+            new AutocompleteIndex.Entry("santos", SANTOS),
+            new AutocompleteIndex.Entry("salvador", SALVADOR),
+            new AutocompleteIndex.Entry("ze maria souza", ZE_MARIA),
+            new AutocompleteIndex.Entry("souza", ZE_MARIA)
+    ));
+
+    @Test
+    void returnsOnlyKeysWithPrefix() {
+        assertEquals(List.of(SAO_PAULO, SAO_BERNARDO), index.search("sao", 10));
+        assertEquals(List.of(SANTOS), index.search("san", 10));
+    }
+
+    @Test
+    void handlesPrefixesOutsideKeyRange() {
+        assertTrue(index.search("aaa", 10).isEmpty());
+        assertTrue(index.search("zz", 10).isEmpty());
+        assertTrue(index.search("sao paulo e regiao", 10).isEmpty());
+        assertTrue(AutocompleteIndex.EMPTY.search("sao", 10).isEmpty());
+    }
+
+    @Test
+    void ranksByScoreThenLabel() {
+        assertEquals(List.of(SAO_PAULO, SALVADOR, SANTOS, SAO_BERNARDO, ZE_MARIA), index.search("s", 10));
+    }
+
+    @Test
+    void keepsBestSuggestionsWithinLimit() {
+        assertEquals(List.of(SAO_PAULO, SALVADOR), index.search("sa", 2));
+    }
+
+    @Test
+    void suggestionUnderSeveralKeysAppearsOnce() {
+        assertEquals(5, index.search("", 10).size());
+        assertEquals(List.of(ZE_MARIA), index.search("souza", 10));
+        assertEquals(6, index.size());
+    }
+
+    private static AutocompleteSuggestionRecord city(String label, double score) {
+        return new AutocompleteSuggestionRecord("city", label, null, null, score);
+    }
+}
@@ -0,0 +1,153 @@
+package com.automatch.portal.service.payment;
+
+import com.automatch.portal.dao.ClassifierDAO;
+import com.automatch.portal.dao.LessonDAO;
+import com.automatch.portal.dao.PaymentDAO;
+import com.automatch.portal.dao.TestDatabase;
+import com.automatch.portal.enums.PaymentIngestOutcome;
+import com.automatch.portal.records.PaymentWebhookRecord;
+import com.automatch.portal.records.PaymentWebhookResultRecord;
+import com.automatch.portal.service.ClassifierRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+// Idempotência vem do upsert, então a ingestão roda contra o banco com as migrations
+class PaymentServiceTest {
+
+    private static final LocalDateTime T1 = LocalDateTime.of(2026, 3, 1, 10, 0);
+    private static final LocalDateTime T2 = T1.plusMinutes(5);
+    private static final LocalDateTime T3 = T1.plusMinutes(10);
+
+    private JdbcTemplate jdbcTemplate;
+    private PaymentDAO paymentDAO;
+    private LessonDAO lessonDAO;
+    private PaymentService paymentService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(TestDatabase.dataSource());
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+        new ClassifierRegistry(new ClassifierDAO(jdbcTemplate, named)).reload();
+        paymentDAO = new PaymentDAO(jdbcTemplate, named);
+        lessonDAO = new LessonDAO(jdbcTemplate, named);
+        paymentService = new PaymentService(paymentDAO, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void duplicateCallbackIsIgnored() {
+        UUID lessonId = insertLesson();
+        String tx = "tx-" + UUID.randomUUID();
+
+        assertEquals(PaymentIngestOutcome.CREATED, ingest(tx, lessonId, "PAID", T1).outcome());
+        assertEquals(PaymentIngestOutcome.IGNORED, ingest(tx, lessonId, "PAID", T1).outcome());
+        assertEquals(PaymentIngestOutcome.IGNORED, ingest(tx, lessonId, "paid", T2).outcome());
+
+        assertEquals(1, countPayments(tx));
+        assertEquals(statusId("PAID"), paymentStatusOf(tx));
+    }
+
+    @Test
+    void olderCallbackDoesNotRegressStatus() {
+        UUID lessonId = insertLesson();
+        String tx = "tx-" + UUID.randomUUID();
+
+        assertEquals(PaymentIngestOutcome.CREATED, ingest(tx, lessonId, "PAID", T2).outcome());
+        assertEquals(PaymentIngestOutcome.IGNORED, ingest(tx, lessonId, "PENDING", T1).outcome());
+        assertEquals(statusId("PAID"), paymentStatusOf(tx));
+
+        assertEquals(PaymentIngestOutcome.UPDATED, ingest(tx, lessonId, "REFUNDED", T3).outcome());
+        assertEquals(statusId("REFUNDED"), paymentStatusOf(tx));
+    }
+
+    @Test
+    void propagationClaimsPaymentsEvenWhenLessonIsUnchanged() {
+        drainPending();
+        UUID lessonId = insertLesson();
+        String tx = "tx-" + UUID.randomUUID();
+        ingest(tx, lessonId, "PAID", T1);
+
+        LessonDAO.PaymentStatusBatch first = lessonDAO.applyPendingPaymentStatuses(10);
+        assertEquals(1, first.claimed());
+        assertEquals(1, first.changes().size());
+        assertEquals(statusId("PAID"), first.changes().get(0).lesson().getPaymentStatusId());
+        assertNull(first.changes().get(0).previousPaymentStatusId());
+
+        // Segunda transação com o status que a aula já tem: o pagamento é consumido, a aula não muda
+        ingest("tx-" + UUID.randomUUID(), lessonId, "PAID", T2);
+        LessonDAO.PaymentStatusBatch second = lessonDAO.applyPendingPaymentStatuses(10);
+        assertEquals(1, second.claimed());
+        assertEquals(0, second.changes().size());
+
+        assertEquals(0, lessonDAO.applyPendingPaymentStatuses(10).claimed());
+    }
+
+    @Test
+    void unknownLessonIsRejected() {
+        PaymentDAO stub = mock(PaymentDAO.class);
+        when(stub.upsertFromProvider(any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("payments_lesson_id_fkey"));
+        PaymentService service = new PaymentService(stub, new SimpleMeterRegistry());
+
+        assertThrows(IllegalArgumentException.class, () -> service.ingest(callback("tx-1", UUID.randomUUID(), "PAID", T1)));
+    }
+
+    @Test
+    void unknownStatusIsRejectedBeforeWriting() {
+        PaymentDAO stub = mock(PaymentDAO.class);
+        PaymentService service = new PaymentService(stub, new SimpleMeterRegistry());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.ingest(callback("tx-1", UUID.randomUUID(), "SETTLED", T1)));
+        verifyNoInteractions(stub);
+    }
+
+    private PaymentWebhookResultRecord ingest(String tx, UUID lessonId, String status, LocalDateTime occurredAt) {
+        return paymentService.ingest(callback(tx, lessonId, status, occurredAt));
+    }
+
+    private static PaymentWebhookRecord callback(String tx, UUID lessonId, String status, LocalDateTime occurredAt) {
+        return new PaymentWebhookRecord(tx, lessonId.toString(), new BigDecimal("120.00"), status, "PIX",
+                null, occurredAt);
+    }
+
+    private UUID insertLesson() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO lessons (id, scheduled_at, duration_minutes, price) VALUES (?, ?, 50, 120.00)",
+                id, T1);
+        return id;
+    }
+
+    private void drainPending() {
+        while (lessonDAO.applyPendingPaymentStatuses(1000).claimed() > 0) {
+            // consome o que outros testes deixaram pendente
+        }
+    }
+
+    private int countPayments(String tx) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payments WHERE transaction_id = ?", Integer.class, tx);
+    }
+
+    private Integer paymentStatusOf(String tx) {
+        return jdbcTemplate.queryForObject("SELECT status_id FROM payments WHERE transaction_id = ?", Integer.class, tx);
+    }
+
+    private static Integer statusId(String value) {
+        return ClassifierRegistry.idOf("PAYMENT_STATUS", value);
+    }
+}
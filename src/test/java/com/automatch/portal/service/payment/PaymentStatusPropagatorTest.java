@@ -0,0 +1,43 @@
+package com.automatch.portal.service.payment;
+
+import com.automatch.portal.dao.LessonDAO;
+import com.automatch.portal.dao.PaymentDAO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentStatusPropagatorTest {
+
+    @Test
+    void keepsDrainingWhileBatchesAreFullEvenWithoutLessonChanges() {
+        LessonDAO lessonDAO = mock(LessonDAO.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        // Lotes cheios de pagamentos cujas aulas já estavam com o status: nenhuma alteração, mas há mais a consumir
+        when(lessonDAO.applyPendingPaymentStatuses(2)).thenReturn(
+                new LessonDAO.PaymentStatusBatch(2, List.of()),
+                new LessonDAO.PaymentStatusBatch(2, List.of()),
+                new LessonDAO.PaymentStatusBatch(1, List.of()));
+
+        PaymentStatusPropagator propagator = new PaymentStatusPropagator(lessonDAO, mock(PaymentDAO.class),
+                transactionTemplate, mock(ApplicationEventPublisher.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(propagator, "batchSize", 2);
+
+        propagator.propagate();
+
+        verify(lessonDAO, times(3)).applyPendingPaymentStatuses(2);
+    }
+}
@@ -0,0 +1,53 @@
+package com.automatch.portal.service.payment;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaymentWebhookSignerTest {
+
+    private static final byte[] BODY = "{\"transactionId\":\"tx-1\",\"status\":\"PAID\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void signsWithHexHmacSha256() {
+        // RFC 4231, caso 2
+        PaymentWebhookSigner signer = new PaymentWebhookSigner("Jefe");
+        assertEquals("5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843",
+                signer.sign("what do ya want for nothing?".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    void verifiesOwnSignatureIgnoringCaseAndSpaces() {
+        PaymentWebhookSigner signer = new PaymentWebhookSigner("secret");
+        String signature = signer.sign(BODY);
+
+        assertTrue(signer.verify(BODY, signature));
+        assertTrue(signer.verify(BODY, " " + signature.toUpperCase() + " "));
+    }
+
+    @Test
+    void rejectsTamperedBodyOrForeignSecret() {
+        PaymentWebhookSigner signer = new PaymentWebhookSigner("secret");
+        String signature = signer.sign(BODY);
+
+        byte[] tampered = BODY.clone();
+        tampered[tampered.length - 3] = 'X';
+        assertFalse(signer.verify(tampered, signature));
+        assertFalse(new PaymentWebhookSigner("other").verify(BODY, signature));
+        assertFalse(signer.verify(BODY, null));
+        assertFalse(signer.verify(BODY, ""));
+    }
+
+    @Test
+    void withoutSecretRejectsEverything() {
+        PaymentWebhookSigner signer = new PaymentWebhookSigner("");
+
+        assertFalse(signer.verify(BODY, "00"));
+        assertThrows(IllegalStateException.class, () -> signer.sign(BODY));
+    }
+}
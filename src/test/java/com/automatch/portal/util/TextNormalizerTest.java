@@ -0,0 +1,50 @@
+package com.automatch.portal.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TextNormalizerTest {
+
+    @Test
+    void foldsAccentsCaseAndWhitespace() {
+        assertEquals("sao paulo", TextNormalizer.key("São Paulo"));
+        assertEquals("sao paulo", TextNormalizer.key("  SAO   paulo "));
+        assertEquals("goiania", TextNormalizer.key("Goiânia"));
+        assertEquals("jacarei", TextNormalizer.key("Jacareí"));
+    }
+
+    @Test
+    void blankTextHasNoKey() {
+        assertNull(TextNormalizer.key(null));
+        assertNull(TextNormalizer.key(""));
+        assertNull(TextNormalizer.key("   "));
+    }
+
+    @Test
+    void stateNamesAndCodesShareKey() {
+        assertEquals("sp", TextNormalizer.stateKey("São Paulo"));
+        assertEquals("sp", TextNormalizer.stateKey("SP"));
+        assertEquals("sp", TextNormalizer.stateKey(" sp "));
+        assertEquals("ms", TextNormalizer.stateKey("Mato Grosso do Sul"));
+        assertEquals("mt", TextNormalizer.stateKey("mato grosso"));
+        assertEquals("pa", TextNormalizer.stateKey("Pará"));
+        assertEquals("pb", TextNormalizer.stateKey("Paraíba"));
+    }
+
+    @Test
+    void unknownStateKeepsNormalizedText() {
+        assertEquals("buenos aires", TextNormalizer.stateKey("Buenos Aires"));
+        assertNull(TextNormalizer.stateKey(" "));
+    }
+
+    @Test
+    void zipKeyKeepsOnlyDigits() {
+        assertEquals("01310100", TextNormalizer.zipKey("01310-100"));
+        assertEquals("01310100", TextNormalizer.zipKey(" 01.310-100 "));
+        assertEquals("01310100", TextNormalizer.zipKey("01310100"));
+        assertNull(TextNormalizer.zipKey("--"));
+        assertNull(TextNormalizer.zipKey(null));
+    }
+}